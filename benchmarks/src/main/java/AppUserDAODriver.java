@@ -0,0 +1,38 @@
+import benchmarks.AppUserDAOWorkload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AppUserDAODriver implements AppUserDAOWorkload {
+    private AppUserDAO appUserDAO;
+    private int nextId;
+
+    @Override
+    public void load(String implementation, int size) {
+        appUserDAO = BenchmarkData.appUserDAO(implementation);
+        List<AppUser> appUsers = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            appUsers.add(BenchmarkData.appUser(i));
+        }
+        appUserDAO.persistAll(appUsers);
+        nextId = size + 1;
+    }
+
+    @Override
+    public Object findByUsername(String username) {
+        return appUserDAO.findByUsername(username);
+    }
+
+    @Override
+    public Object findAll() {
+        return appUserDAO.findAll();
+    }
+
+    @Override
+    public Object persistAndRemove() {
+        AppUser appUser = BenchmarkData.appUser(nextId++);
+        appUserDAO.persist(appUser);
+        appUserDAO.remove(appUser.getUsername());
+        return appUser;
+    }
+}
@@ -0,0 +1,97 @@
+import java.time.LocalDate;
+
+/**
+ * Deterministic fixtures and DAO factories shared by the workload drivers. Every creator
+ * owns about {@link #ITEMS_PER_CREATOR} items, deadlines spread over a year and a third of
+ * the items are done.
+ */
+final class BenchmarkData {
+    static final LocalDate BASE_DATE = LocalDate.of(2026, 1, 1);
+    static final int ITEMS_PER_CREATOR = 100;
+
+    private static final String[] TITLE_WORDS = {"Send invoice", "Review report", "Call customer", "Plan sprint", "Fix build"};
+    /** Hashed once, so loading millions of users measures the DAOs rather than PBKDF2. */
+    private static final String PASSWORD_HASH = PasswordHasher.defaultHasher().hash("secret");
+
+    private BenchmarkData() {
+    }
+
+    static Person person(int id) {
+        return new Person(id, "First" + id, "Last" + (id % 1000), "person" + id + "@example.com");
+    }
+
+    static Person[] people(int count) {
+        Person[] people = new Person[count];
+        for (int i = 0; i < count; i++) {
+            people[i] = person(i + 1);
+        }
+        return people;
+    }
+
+    static int creatorCount(int size) {
+        return Math.max(1, size / ITEMS_PER_CREATOR);
+    }
+
+    static TodoItem todoItem(int id, Person creator) {
+        TodoItem todoItem = new TodoItem(id, TITLE_WORDS[id % TITLE_WORDS.length] + " #" + id, "Description " + id,
+                BASE_DATE.plusDays(id % 365), creator);
+        todoItem.setDone(id % 3 == 0);
+        return todoItem;
+    }
+
+    static AppUser appUser(int id) {
+        return AppUser.withPasswordHash("user" + id, PASSWORD_HASH, id % 50 == 0 ? AppRole.ROLE_APP_ADMIN : AppRole.ROLE_APP_USER);
+    }
+
+    static TodoItemTask todoItemTask(int id, TodoItem todoItem, Person assignee) {
+        return new TodoItemTask(id, todoItem, assignee);
+    }
+
+    static TodoItemDAO todoItemDAO(String implementation) {
+        switch (implementation) {
+            case "collection":
+                return new TodoItemDAOCollection();
+            case "indexed":
+                return new TodoItemDAOIndexed();
+            case "concurrent":
+                return new TodoItemDAOConcurrent();
+            case "columnar":
+                return new TodoItemDAOColumnar();
+            default:
+                throw new IllegalArgumentException("Unknown TodoItemDAO implementation: " + implementation);
+        }
+    }
+
+    static PersonDAO personDAO(String implementation) {
+        switch (implementation) {
+            case "collection":
+                return new PersonDAOCollection();
+            case "indexed":
+                return new PersonDAOIndexed();
+            case "concurrent":
+                return new PersonDAOConcurrent();
+            default:
+                throw new IllegalArgumentException("Unknown PersonDAO implementation: " + implementation);
+        }
+    }
+
+    static AppUserDAO appUserDAO(String implementation) {
+        switch (implementation) {
+            case "collection":
+                return new AppUserDAOCollection();
+            case "concurrent":
+                return new AppUserDAOConcurrent();
+            default:
+                throw new IllegalArgumentException("Unknown AppUserDAO implementation: " + implementation);
+        }
+    }
+
+    static TodoItemTaskDAO todoItemTaskDAO(String implementation) {
+        switch (implementation) {
+            case "collection":
+                return new TodoItemTaskDAOCollection();
+            default:
+                throw new IllegalArgumentException("Unknown TodoItemTaskDAO implementation: " + implementation);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import benchmarks.ColdStartWorkload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class ColdStartDriver implements ColdStartWorkload {
+    private String implementation;
+    private Path directory;
+    private Path snapshot;
+    private Path personLog;
+    private Path todoItemLog;
+
+    @Override
+    public void load(String implementation, int size) {
+        this.implementation = implementation;
+        int creators = BenchmarkData.creatorCount(size);
+        Person[] people = BenchmarkData.people(creators);
+        TodoItem[] todoItems = new TodoItem[size];
+        for (int i = 0; i < size; i++) {
+            todoItems[i] = BenchmarkData.todoItem(i + 1, people[i % creators]);
+        }
+        try {
+            directory = Files.createTempDirectory("todo-cold-start");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshot = directory.resolve("todo.snapshot");
+        personLog = directory.resolve("people.wal");
+        todoItemLog = directory.resolve("todo-items.wal");
+
+        PersonDAO personDAO = BenchmarkData.personDAO(implementation);
+        TodoItemDAO todoItemDAO = BenchmarkData.todoItemDAO(implementation);
+        personDAO.persistAll(Arrays.asList(people));
+        todoItemDAO.persistAll(Arrays.asList(todoItems));
+        Snapshot.write(snapshot, personDAO, new AppUserDAOCollection(), todoItemDAO, new TodoItemTaskDAOCollection());
+
+        try (WriteAheadLog personWal = new WriteAheadLog(personLog, FsyncPolicy.NEVER);
+             WriteAheadLog todoItemWal = new WriteAheadLog(todoItemLog, FsyncPolicy.NEVER)) {
+            PersonDAO durablePeople = new DurablePersonDAO(BenchmarkData.personDAO(implementation), personWal);
+            TodoItemDAO durableItems = new DurableTodoItemDAO(BenchmarkData.todoItemDAO(implementation), todoItemWal,
+                    durablePeople);
+            Person[] loggedPeople = BenchmarkData.people(creators);
+            for (Person person : loggedPeople) {
+                durablePeople.persist(person);
+            }
+            for (int i = 0; i < size; i++) {
+                durableItems.persist(BenchmarkData.todoItem(i + 1, loggedPeople[i % creators]));
+            }
+        }
+    }
+
+    @Override
+    public Object loadSnapshot() {
+        TodoItemDAO todoItemDAO = BenchmarkData.todoItemDAO(implementation);
+        Snapshot.load(snapshot, BenchmarkData.personDAO(implementation), new AppUserDAOCollection(), todoItemDAO,
+                new TodoItemTaskDAOCollection());
+        return todoItemDAO;
+    }
+
+    @Override
+    public Object replayLog() {
+        try (WriteAheadLog personWal = new WriteAheadLog(personLog, FsyncPolicy.NEVER);
+             WriteAheadLog todoItemWal = new WriteAheadLog(todoItemLog, FsyncPolicy.NEVER)) {
+            PersonDAO people = new DurablePersonDAO(BenchmarkData.personDAO(implementation), personWal);
+            return new DurableTodoItemDAO(BenchmarkData.todoItemDAO(implementation), todoItemWal, people);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (Path file : new Path[]{snapshot, personLog, todoItemLog, directory}) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
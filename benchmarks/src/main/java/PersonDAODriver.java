@@ -0,0 +1,38 @@
+import benchmarks.PersonDAOWorkload;
+
+import java.util.Arrays;
+
+public class PersonDAODriver implements PersonDAOWorkload {
+    private PersonDAO personDAO;
+    private int nextId;
+
+    @Override
+    public void load(String implementation, int size) {
+        personDAO = BenchmarkData.personDAO(implementation);
+        personDAO.persistAll(Arrays.asList(BenchmarkData.people(size)));
+        nextId = size + 1;
+    }
+
+    @Override
+    public Object findById(int id) {
+        return personDAO.findById(id);
+    }
+
+    @Override
+    public Object findByEmail(String email) {
+        return personDAO.findByEmail(email);
+    }
+
+    @Override
+    public Object findAll() {
+        return personDAO.findAll();
+    }
+
+    @Override
+    public Object persistAndRemove() {
+        Person person = BenchmarkData.person(nextId++);
+        personDAO.persist(person);
+        personDAO.remove(person.getId());
+        return person;
+    }
+}
@@ -0,0 +1,25 @@
+import benchmarks.SequencerWorkload;
+
+public class SequencerDriver implements SequencerWorkload {
+    @Override
+    public void reset() {
+        PersonIdSequencer.setCurrentId(0);
+        TodoItemIdSequencer.setCurrentId(0);
+        TodoItemTaskSequencer.setCurrentId(0);
+    }
+
+    @Override
+    public int nextPersonId() {
+        return PersonIdSequencer.nextId();
+    }
+
+    @Override
+    public int nextTodoItemId() {
+        return TodoItemIdSequencer.nextId();
+    }
+
+    @Override
+    public int nextTodoItemTaskId() {
+        return TodoItemTaskSequencer.nextId();
+    }
+}
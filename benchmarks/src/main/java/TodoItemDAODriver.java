@@ -0,0 +1,141 @@
+import benchmarks.TodoItemDAOWorkload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TodoItemDAODriver implements TodoItemDAOWorkload {
+    private TodoItemDAO todoItemDAO;
+    private TodoItem[] todoItems;
+    private int creators;
+    private int nextId;
+    private PageCursor pageCursor;
+
+    @Override
+    public void load(String implementation, int size) {
+        todoItemDAO = BenchmarkData.todoItemDAO(implementation);
+        creators = BenchmarkData.creatorCount(size);
+        Person[] people = BenchmarkData.people(creators);
+        todoItems = new TodoItem[size];
+        for (int i = 0; i < size; i++) {
+            todoItems[i] = BenchmarkData.todoItem(i + 1, people[i % creators]);
+        }
+        todoItemDAO.persistAll(Arrays.asList(todoItems));
+        nextId = size + 1;
+    }
+
+    @Override
+    public int creatorCount() {
+        return creators;
+    }
+
+    @Override
+    public Object findById(int id) {
+        return todoItemDAO.findById(id);
+    }
+
+    @Override
+    public Object findAll() {
+        return todoItemDAO.findAll();
+    }
+
+    @Override
+    public Object findAllByDoneStatus(boolean done) {
+        return todoItemDAO.findAllByDoneStatus(done);
+    }
+
+    @Override
+    public Object findByTitleContains(String title) {
+        return todoItemDAO.findByTitleContains(title);
+    }
+
+    @Override
+    public Object findByPersonId(int personId) {
+        return todoItemDAO.findByPersonId(personId);
+    }
+
+    @Override
+    public Object findByDeadlineBefore(int dayOffset) {
+        return todoItemDAO.findByDeadlineBefore(BenchmarkData.BASE_DATE.plusDays(dayOffset));
+    }
+
+    @Override
+    public Object findByDeadlineAfter(int dayOffset) {
+        return todoItemDAO.findByDeadlineAfter(BenchmarkData.BASE_DATE.plusDays(dayOffset));
+    }
+
+    @Override
+    public Object findByDeadlineBetween(int fromDayOffset, int toDayOffset) {
+        return todoItemDAO.findByDeadlineBetween(BenchmarkData.BASE_DATE.plusDays(fromDayOffset),
+                BenchmarkData.BASE_DATE.plusDays(toDayOffset));
+    }
+
+    @Override
+    public Object streamFirstOpen(int limit) {
+        return todoItemDAO.streamByDoneStatus(false).limit(limit).collect(Collectors.toList());
+    }
+
+    @Override
+    public long streamCountByPersonId(int personId) {
+        return todoItemDAO.streamByPersonId(personId).count();
+    }
+
+    @Override
+    public Object findPageByPersonId(int personId, int pageSize) {
+        return todoItemDAO.findPageByPersonId(personId, PageOrder.DEADLINE, null, pageSize);
+    }
+
+    @Override
+    public Object findNextPage(int pageSize) {
+        Page<TodoItem> page = todoItemDAO.findPage(PageOrder.DEADLINE, pageCursor, pageSize);
+        pageCursor = page.getNextCursor();
+        return page;
+    }
+
+    @Override
+    public Object query(int personId, int dayOffset, String title) {
+        TodoItemQuery query = new TodoItemQuery()
+                .done(false)
+                .creatorId(personId)
+                .deadlineBefore(BenchmarkData.BASE_DATE.plusDays(dayOffset))
+                .titleContains(title);
+        return todoItemDAO.query(query).collect(Collectors.toList());
+    }
+
+    @Override
+    public Object persistAllAndRemoveAll(int batchSize) {
+        List<TodoItem> batch = new ArrayList<>(batchSize);
+        List<Integer> ids = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            TodoItem todoItem = BenchmarkData.todoItem(nextId++, todoItems[i % todoItems.length].getCreator());
+            batch.add(todoItem);
+            ids.add(todoItem.getId());
+        }
+        todoItemDAO.persistAll(batch);
+        todoItemDAO.removeAll(ids);
+        return batch;
+    }
+
+    @Override
+    public Object persistAndRemove() {
+        TodoItem todoItem = BenchmarkData.todoItem(nextId++, todoItems[0].getCreator());
+        todoItemDAO.persist(todoItem);
+        todoItemDAO.remove(todoItem.getId());
+        return todoItem;
+    }
+
+    @Override
+    public Object toggleDone(int index) {
+        TodoItem todoItem = todoItems[index];
+        todoItem.setDone(!todoItem.isDone());
+        return todoItem;
+    }
+
+    @Override
+    public Object moveDeadline(int index, int dayOffset) {
+        TodoItem todoItem = todoItems[index];
+        todoItem.setDeadLine(BenchmarkData.BASE_DATE.plusDays(dayOffset));
+        return todoItem;
+    }
+}
@@ -0,0 +1,64 @@
+import benchmarks.TodoItemTaskDAOWorkload;
+
+import java.util.Arrays;
+
+public class TodoItemTaskDAODriver implements TodoItemTaskDAOWorkload {
+    private TodoItemTaskDAO todoItemTaskDAO;
+    private TodoItemTask[] tasks;
+    private Person[] people;
+    private int nextId;
+
+    @Override
+    public void load(String implementation, int size) {
+        todoItemTaskDAO = BenchmarkData.todoItemTaskDAO(implementation);
+        people = BenchmarkData.people(BenchmarkData.creatorCount(size));
+        tasks = new TodoItemTask[size];
+        for (int i = 0; i < size; i++) {
+            Person person = people[i % people.length];
+            TodoItem todoItem = BenchmarkData.todoItem(i + 1, person);
+            tasks[i] = BenchmarkData.todoItemTask(i + 1, todoItem, i % 4 == 0 ? null : person);
+        }
+        todoItemTaskDAO.persistAll(Arrays.asList(tasks));
+        nextId = size + 1;
+    }
+
+    @Override
+    public int assigneeCount() {
+        return people.length;
+    }
+
+    @Override
+    public Object findById(int id) {
+        return todoItemTaskDAO.findById(id);
+    }
+
+    @Override
+    public Object findAll() {
+        return todoItemTaskDAO.findAll();
+    }
+
+    @Override
+    public Object findByAssignedStatus(boolean status) {
+        return todoItemTaskDAO.findByAssignedStatus(status);
+    }
+
+    @Override
+    public Object findByPersonId(int personId) {
+        return todoItemTaskDAO.findByPersonId(personId);
+    }
+
+    @Override
+    public Object persistAndRemove() {
+        TodoItemTask task = BenchmarkData.todoItemTask(nextId++, tasks[0].getTodoItem(), null);
+        todoItemTaskDAO.persist(task);
+        todoItemTaskDAO.remove(task.getId());
+        return task;
+    }
+
+    @Override
+    public Object reassign(int index, int assigneeIndex) {
+        TodoItemTask task = tasks[index];
+        task.setAssignee(task.isAssigned() ? null : people[assigneeIndex]);
+        return task;
+    }
+}
@@ -0,0 +1,8 @@
+package benchmarks;
+
+public interface AppUserDAOWorkload {
+    void load(String implementation, int size);
+    Object findByUsername(String username);
+    Object findAll();
+    Object persistAndRemove();
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the DAO benchmarks once and the sequencer benchmark at 1 to 64 threads, always with
+ * the GC profiler (allocation rate) and JSON results under {@code target/jmh}, so runs of
+ * different builds can be diffed. Regular JMH options are honoured, e.g.
+ * {@code java -jar target/benchmarks.jar -p size=1000,100000 TodoItemDAOBenchmark}.
+ */
+public class BenchmarkRunner {
+    private static final int[] SEQUENCER_THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final String DAO_BENCHMARKS = "benchmarks\\.((TodoItem|TodoItemTask|Person|AppUser)DAO|ColdStart)Benchmark";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        File output = new File("target/jmh");
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + output);
+        }
+        if (!commandLine.getIncludes().isEmpty()) {
+            new Runner(profiled(commandLine, new File(output, "custom.json")).build()).run();
+            return;
+        }
+        new Runner(profiled(commandLine, new File(output, "dao.json"))
+                .include(DAO_BENCHMARKS)
+                .build()).run();
+        for (int threads : SEQUENCER_THREADS) {
+            new Runner(profiled(commandLine, new File(output, "sequencer-" + threads + "t.json"))
+                    .include(SequencerBenchmark.class.getName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+    private static ChainedOptionsBuilder profiled(CommandLineOptions commandLine, File result) {
+        return new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath());
+    }
+}
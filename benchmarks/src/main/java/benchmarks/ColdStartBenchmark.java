@@ -0,0 +1,58 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the person and item DAOs from disk, once from a snapshot and once by replaying a
+ * write-ahead log of individual persists of the same data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColdStartBenchmark {
+    @Param({"indexed", "concurrent"})
+    public String impl;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private ColdStartWorkload workload;
+
+    @Setup(Level.Trial)
+    public void load() {
+        workload = Workloads.create(ColdStartWorkload.class);
+        workload.load(impl, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        workload.close();
+    }
+
+    @Benchmark
+    public Object loadSnapshot() {
+        return workload.loadSnapshot();
+    }
+
+    @Benchmark
+    public Object replayLog() {
+        return workload.replayLog();
+    }
+}
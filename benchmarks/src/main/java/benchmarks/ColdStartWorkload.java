@@ -0,0 +1,8 @@
+package benchmarks;
+
+public interface ColdStartWorkload {
+    void load(String implementation, int size);
+    Object loadSnapshot();
+    Object replayLog();
+    void close();
+}
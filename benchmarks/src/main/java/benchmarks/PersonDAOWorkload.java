@@ -0,0 +1,9 @@
+package benchmarks;
+
+public interface PersonDAOWorkload {
+    void load(String implementation, int size);
+    Object findById(int id);
+    Object findByEmail(String email);
+    Object findAll();
+    Object persistAndRemove();
+}
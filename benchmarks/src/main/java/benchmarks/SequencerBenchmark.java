@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id allocation under contention; {@link BenchmarkRunner} repeats it at 1 to 64 threads.
+ * The sequencers are reset every iteration so a long run cannot exhaust the int id space.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequencerBenchmark {
+    private SequencerWorkload workload;
+
+    @Setup(Level.Trial)
+    public void create() {
+        workload = Workloads.create(SequencerWorkload.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        workload.reset();
+    }
+
+    @Benchmark
+    public int personIdSequencer() {
+        return workload.nextPersonId();
+    }
+
+    @Benchmark
+    public int todoItemIdSequencer() {
+        return workload.nextTodoItemId();
+    }
+
+    @Benchmark
+    public int todoItemTaskSequencer() {
+        return workload.nextTodoItemTaskId();
+    }
+}
@@ -0,0 +1,8 @@
+package benchmarks;
+
+public interface SequencerWorkload {
+    void reset();
+    int nextPersonId();
+    int nextTodoItemId();
+    int nextTodoItemTaskId();
+}
@@ -0,0 +1,130 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoItemDAOBenchmark {
+    @Param({"collection", "indexed", "concurrent", "columnar"})
+    public String impl;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private TodoItemDAOWorkload workload;
+    private final Workloads.KeySource keys = new Workloads.KeySource();
+
+    @Setup(Level.Trial)
+    public void load() {
+        workload = Workloads.create(TodoItemDAOWorkload.class);
+        workload.load(impl, size);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return workload.findById(keys.next(size) + 1);
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return workload.findAll();
+    }
+
+    @Benchmark
+    public Object findAllByDoneStatus() {
+        return workload.findAllByDoneStatus(true);
+    }
+
+    @Benchmark
+    public Object findByTitleContains() {
+        return workload.findByTitleContains("invoice #12");
+    }
+
+    @Benchmark
+    public Object findByTitleContainsShortQuery() {
+        return workload.findByTitleContains("#7");
+    }
+
+    @Benchmark
+    public Object findByPersonId() {
+        return workload.findByPersonId(keys.next(workload.creatorCount()) + 1);
+    }
+
+    @Benchmark
+    public Object findByDeadlineBefore() {
+        return workload.findByDeadlineBefore(7);
+    }
+
+    @Benchmark
+    public Object findByDeadlineAfter() {
+        return workload.findByDeadlineAfter(357);
+    }
+
+    @Benchmark
+    public Object findByDeadlineBetween() {
+        int from = keys.next(358);
+        return workload.findByDeadlineBetween(from, from + 7);
+    }
+
+    @Benchmark
+    public Object streamFirstOpen() {
+        return workload.streamFirstOpen(20);
+    }
+
+    @Benchmark
+    public long streamCountByPersonId() {
+        return workload.streamCountByPersonId(keys.next(workload.creatorCount()) + 1);
+    }
+
+    @Benchmark
+    public Object findPageByPersonId() {
+        return workload.findPageByPersonId(keys.next(workload.creatorCount()) + 1, 20);
+    }
+
+    @Benchmark
+    public Object findNextPage() {
+        return workload.findNextPage(20);
+    }
+
+    @Benchmark
+    public Object query() {
+        return workload.query(keys.next(workload.creatorCount()) + 1, 180, "invoice");
+    }
+
+    @Benchmark
+    public Object persistAllAndRemoveAll() {
+        return workload.persistAllAndRemoveAll(1000);
+    }
+
+    @Benchmark
+    public Object persistAndRemove() {
+        return workload.persistAndRemove();
+    }
+
+    @Benchmark
+    public Object toggleDone() {
+        return workload.toggleDone(keys.next(size));
+    }
+
+    @Benchmark
+    public Object moveDeadline() {
+        return workload.moveDeadline(keys.next(size), keys.next(365));
+    }
+}
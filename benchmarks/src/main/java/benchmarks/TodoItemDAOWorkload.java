@@ -0,0 +1,23 @@
+package benchmarks;
+
+public interface TodoItemDAOWorkload {
+    void load(String implementation, int size);
+    int creatorCount();
+    Object findById(int id);
+    Object findAll();
+    Object findAllByDoneStatus(boolean done);
+    Object findByTitleContains(String title);
+    Object findByPersonId(int personId);
+    Object findByDeadlineBefore(int dayOffset);
+    Object findByDeadlineAfter(int dayOffset);
+    Object findByDeadlineBetween(int fromDayOffset, int toDayOffset);
+    Object streamFirstOpen(int limit);
+    long streamCountByPersonId(int personId);
+    Object findPageByPersonId(int personId, int pageSize);
+    Object findNextPage(int pageSize);
+    Object query(int personId, int dayOffset, String title);
+    Object persistAllAndRemoveAll(int batchSize);
+    Object persistAndRemove();
+    Object toggleDone(int index);
+    Object moveDeadline(int index, int dayOffset);
+}
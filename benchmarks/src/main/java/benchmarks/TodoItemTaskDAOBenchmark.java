@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoItemTaskDAOBenchmark {
+    @Param({"collection"})
+    public String impl;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private TodoItemTaskDAOWorkload workload;
+    private final Workloads.KeySource keys = new Workloads.KeySource();
+
+    @Setup(Level.Trial)
+    public void load() {
+        workload = Workloads.create(TodoItemTaskDAOWorkload.class);
+        workload.load(impl, size);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return workload.findById(keys.next(size) + 1);
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return workload.findAll();
+    }
+
+    @Benchmark
+    public Object findUnassigned() {
+        return workload.findByAssignedStatus(false);
+    }
+
+    @Benchmark
+    public Object findByPersonId() {
+        return workload.findByPersonId(keys.next(workload.assigneeCount()) + 1);
+    }
+
+    @Benchmark
+    public Object persistAndRemove() {
+        return workload.persistAndRemove();
+    }
+
+    @Benchmark
+    public Object reassign() {
+        return workload.reassign(keys.next(size), keys.next(workload.assigneeCount()));
+    }
+}
@@ -0,0 +1,12 @@
+package benchmarks;
+
+public interface TodoItemTaskDAOWorkload {
+    void load(String implementation, int size);
+    int assigneeCount();
+    Object findById(int id);
+    Object findAll();
+    Object findByAssignedStatus(boolean status);
+    Object findByPersonId(int personId);
+    Object persistAndRemove();
+    Object reassign(int index, int assigneeIndex);
+}
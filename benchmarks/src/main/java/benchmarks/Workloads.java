@@ -0,0 +1,33 @@
+package benchmarks;
+
+/**
+ * JMH only accepts benchmark classes in a named package, while the code under test lives in
+ * the default package, which named packages cannot import. Each benchmark therefore drives
+ * a default-package class through a workload interface declared here; the driver is loaded
+ * once per trial and every operation costs one monomorphic interface call.
+ */
+final class Workloads {
+    private Workloads() {
+    }
+
+    static <T> T create(Class<T> workloadType) {
+        String driverName = workloadType.getSimpleName().replace("Workload", "Driver");
+        try {
+            return workloadType.cast(Class.forName(driverName).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create workload driver " + driverName, e);
+        }
+    }
+
+    /** Cheap per-thread pseudo-random source so key selection does not dominate the measurement. */
+    static final class KeySource {
+        private long state = 0x9E3779B97F4A7C15L;
+
+        int next(int bound) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            return (int) ((state >>> 1) % bound);
+        }
+    }
+}
@@ -1,25 +1,44 @@
 import java.util.Objects;
 
+/**
+ * Application login. The password is never stored: the constructor and
+ * {@link #setPassword} keep a salted {@link PasswordHasher} hash, and
+ * {@link #verifyPassword} checks a candidate against it.
+ */
 public class AppUser {
     private String username;
-    private String password;
+    private String passwordHash;
     private AppRole role;
+    private volatile int credentialEpoch;
+    private volatile AppUserOwner owner;
 
     public AppUser(String username, String password, AppRole role) {
+        this(username, password, role, true);
+    }
+
+    private AppUser(String username, String password, AppRole role, boolean plain) {
         if (username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException("Username cannot be null or empty.");
         }
-        if (password == null || password.trim().isEmpty()) {
+        if (plain && (password == null || password.trim().isEmpty())) {
             throw new IllegalArgumentException("Password cannot be null or empty.");
         }
+        if (!plain) {
+            PasswordHasher.checkHash(password);
+        }
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null.");
         }
         this.username = username;
-        this.password = password;
+        this.passwordHash = plain ? PasswordHasher.defaultHasher().hash(password) : password;
         this.role = role;
     }
 
+    /** Rebuilds a user from a hash made by {@link PasswordHasher}, as loaded from storage. */
+    public static AppUser withPasswordHash(String username, String passwordHash, AppRole role) {
+        return new AppUser(username, passwordHash, role, false);
+    }
+
     public String getUsername() {
         return username;
     }
@@ -28,18 +47,58 @@ public class AppUser {
         if (username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException("Username cannot be null or empty.");
         }
+        if (owner != null && !this.username.equals(username)) {
+            owner.usernameChanging(this, username);
+        }
         this.username = username;
     }
 
-    public String getPassword() {
-        return password;
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public boolean verifyPassword(String password) {
+        return PasswordHasher.verify(password, passwordHash);
     }
 
-    public void setPassword(String password) {
+    /**
+     * Hashes the password with a fresh salt, so the stored hash changes even for the same
+     * password, and then advances the {@link #getCredentialEpoch credential epoch}.
+     */
+    public synchronized void setPassword(String password) {
         if (password == null || password.trim().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty.");
         }
-        this.password = password;
+        setPasswordHash(PasswordHasher.defaultHasher().hash(password));
+        credentialEpoch++;
+    }
+
+    /**
+     * Counts the password changes made through {@link #setPassword}. It is advanced after the
+     * new hash is stored, so a hash read after the epoch is at least as new as it.
+     */
+    int getCredentialEpoch() {
+        return credentialEpoch;
+    }
+
+    /**
+     * Replaces the hash with another hash of the same password, unless the hash is no longer
+     * {@code expectedHash}. This is not a password change, so the epoch stays as it is.
+     */
+    synchronized boolean rehashPassword(String expectedHash, String passwordHash) {
+        if (!this.passwordHash.equals(expectedHash)) {
+            return false;
+        }
+        setPasswordHash(passwordHash);
+        return true;
+    }
+
+    void setPasswordHash(String passwordHash) {
+        PasswordHasher.checkHash(passwordHash);
+        if (owner != null && !this.passwordHash.equals(passwordHash)) {
+            owner.passwordChanging(this, passwordHash);
+        }
+        this.passwordHash = passwordHash;
     }
 
     public AppRole getRole() {
@@ -50,9 +109,20 @@ public class AppUser {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null.");
         }
+        if (owner != null && this.role != role) {
+            owner.roleChanging(this, role);
+        }
         this.role = role;
     }
 
+    AppUserOwner getOwner() {
+        return owner;
+    }
+
+    void setOwner(AppUserOwner owner) {
+        this.owner = owner;
+    }
+
     @Override
     public String toString() {
         return "AppUser{" +
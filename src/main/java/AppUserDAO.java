@@ -1,8 +1,23 @@
 import java.util.Collection;
+import java.util.stream.Stream;
 
+/**
+ * {@link #findAll} returns the DAO's {@link #readView}: an unmodifiable collection of the users
+ * stored now that shares them as {@link ReadView} describes, in no specified order.
+ *
+ * <p>{@link #findByRole} returns a detached copy of the users with a role in time proportional
+ * to their number, and {@link #countByRole} counts them in constant time; both follow
+ * {@link AppUser#setRole} on stored users.
+ */
 public interface AppUserDAO {
     AppUser persist(AppUser appUser);
+    Collection<AppUser> persistAll(Collection<AppUser> appUsers);
     AppUser findByUsername(String username);
     Collection<AppUser> findAll();
+    Collection<AppUser> findByRole(AppRole role);
+    int countByRole(AppRole role);
+    ReadView<AppUser> readView();
+    Stream<AppUser> stream();
     void remove(String username);
+    void removeAll(Collection<String> usernames);
 }
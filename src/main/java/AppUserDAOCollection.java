@@ -1,16 +1,31 @@
-import com.todoapp.AppUser;
-import com.todoapp.data.AppUserDAO;
-
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * {@link AppUserDAO} over a map keyed on the case-folded username, with one partition of that
+ * map per role, so role lookups never scan the other users.
+ */
 public class AppUserDAOCollection implements AppUserDAO {
-    private Collection<AppUser> appUsers;
+    private Map<String, AppUser> appUsers;
+    private final Map<AppRole, Map<String, AppUser>> appUsersByRole;
+    private final AppUserOwner usernameIndexMaintainer;
+    private volatile PersistentMap<String, AppUser> published;
 
     public AppUserDAOCollection() {
-        this.appUsers = new ArrayList<>();
+        this.appUsers = new LinkedHashMap<>();
+        this.appUsersByRole = new EnumMap<>(AppRole.class);
+        for (AppRole role : AppRole.values()) {
+            appUsersByRole.put(role, new LinkedHashMap<>());
+        }
+        this.usernameIndexMaintainer = new UsernameIndexMaintainer();
+        this.published = PersistentMap.empty();
     }
 
     @Override
@@ -18,27 +33,90 @@ public class AppUserDAOCollection implements AppUserDAO {
         if (appUser == null) {
             throw new IllegalArgumentException("AppUser cannot be null.");
         }
-        if (findByUsername(appUser.getUsername()) != null) {
+        String key = CaseFolding.fold(appUser.getUsername());
+        if (appUsers.containsKey(key)) {
             throw new IllegalArgumentException("AppUser with this username already exists.");
         }
-        appUsers.add(appUser);
+        if (appUser.getOwner() != null) {
+            throw new IllegalArgumentException("AppUser is already stored in another DAO.");
+        }
+        appUsers.put(key, appUser);
+        appUsersByRole.get(appUser.getRole()).put(key, appUser);
+        appUser.setOwner(usernameIndexMaintainer);
+        published = published.with(key, appUser);
         return appUser;
     }
 
+    @Override
+    public Collection<AppUser> persistAll(Collection<AppUser> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("AppUsers cannot be null.");
+        }
+        List<String> keys = new ArrayList<>(batch.size());
+        Set<String> batchKeys = new HashSet<>();
+        for (AppUser appUser : batch) {
+            if (appUser == null) {
+                throw new IllegalArgumentException("AppUser cannot be null.");
+            }
+            String key = CaseFolding.fold(appUser.getUsername());
+            if (appUsers.containsKey(key) || !batchKeys.add(key)) {
+                throw new IllegalArgumentException("AppUser with this username already exists.");
+            }
+            if (appUser.getOwner() != null) {
+                throw new IllegalArgumentException("AppUser is already stored in another DAO.");
+            }
+            keys.add(key);
+        }
+        PersistentMap<String, AppUser> next = published;
+        int i = 0;
+        for (AppUser appUser : batch) {
+            String key = keys.get(i++);
+            appUsers.put(key, appUser);
+            appUsersByRole.get(appUser.getRole()).put(key, appUser);
+            appUser.setOwner(usernameIndexMaintainer);
+            next = next.with(key, appUser);
+        }
+        published = next;
+        return batch;
+    }
+
     @Override
     public AppUser findByUsername(String username) {
         if (username == null) {
             throw new IllegalArgumentException("Username cannot be null.");
         }
-        Optional<AppUser> foundUser = appUsers.stream()
-                .filter(appUser -> appUser.getUsername().equalsIgnoreCase(username))
-                .findFirst();
-        return foundUser.orElse(null);
+        return appUsers.get(CaseFolding.fold(username));
     }
 
     @Override
     public Collection<AppUser> findAll() {
-        return new ArrayList<>(appUsers);
+        return readView();
+    }
+
+    @Override
+    public Collection<AppUser> findByRole(AppRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null.");
+        }
+        return new ArrayList<>(appUsersByRole.get(role).values());
+    }
+
+    @Override
+    public int countByRole(AppRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null.");
+        }
+        return appUsersByRole.get(role).size();
+    }
+
+    @Override
+    public ReadView<AppUser> readView() {
+        return published.values();
+    }
+
+    @Override
+    public Stream<AppUser> stream() {
+        return appUsers.values().stream();
     }
 
     @Override
@@ -46,7 +124,51 @@ public class AppUserDAOCollection implements AppUserDAO {
         if (username == null) {
             throw new IllegalArgumentException("Username cannot be null.");
         }
-        appUsers.removeIf(appUser -> appUser.getUsername().equalsIgnoreCase(username));
+        String key = CaseFolding.fold(username);
+        AppUser removed = appUsers.remove(key);
+        if (removed != null) {
+            appUsersByRole.get(removed.getRole()).remove(key);
+            removed.setOwner(null);
+            published = published.without(key);
+        }
     }
-}
 
+    @Override
+    public void removeAll(Collection<String> usernames) {
+        for (String key : BatchKeys.usernames(usernames)) {
+            AppUser removed = appUsers.remove(key);
+            if (removed != null) {
+                appUsersByRole.get(removed.getRole()).remove(key);
+                removed.setOwner(null);
+                published = published.without(key);
+            }
+        }
+    }
+
+    private class UsernameIndexMaintainer implements AppUserOwner {
+        @Override
+        public void usernameChanging(AppUser appUser, String username) {
+            String oldKey = CaseFolding.fold(appUser.getUsername());
+            String newKey = CaseFolding.fold(username);
+            if (oldKey.equals(newKey)) {
+                return;
+            }
+            if (appUsers.containsKey(newKey)) {
+                throw new IllegalArgumentException("AppUser with this username already exists.");
+            }
+            appUsers.remove(oldKey);
+            appUsers.put(newKey, appUser);
+            Map<String, AppUser> partition = appUsersByRole.get(appUser.getRole());
+            partition.remove(oldKey);
+            partition.put(newKey, appUser);
+            published = published.without(oldKey).with(newKey, appUser);
+        }
+
+        @Override
+        public void roleChanging(AppUser appUser, AppRole role) {
+            String key = CaseFolding.fold(appUser.getUsername());
+            appUsersByRole.get(appUser.getRole()).remove(key);
+            appUsersByRole.get(role).put(key, appUser);
+        }
+    }
+}
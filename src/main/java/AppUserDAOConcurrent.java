@@ -0,0 +1,249 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link AppUserDAO} keyed on the case-folded username. Writers lock the stripes
+ * of the usernames they touch; reads take no locks. {@link #stream()} is a weakly consistent
+ * view of the live store. Writers also publish every change to an immutable map by
+ * compare-and-set, a batch or a rename in one step, so {@link #findAll()} and
+ * {@link #readView()} return a consistent {@link ReadView} without locking or copying.
+ * Each role has a concurrent partition of the users, kept under the same stripe locks. A user
+ * is found in its partition by probing every role, since a setter assigns its field only
+ * after the callback returns.
+ */
+public class AppUserDAOConcurrent implements AppUserDAO {
+    private static final int STRIPES = 64;
+
+    private final Map<String, AppUser> appUsers;
+    private final Map<AppRole, Map<String, AppUser>> appUsersByRole;
+    private final StripedLocks locks;
+    private final AppUserOwner usernameIndexMaintainer;
+    private final AtomicReference<PersistentMap<String, AppUser>> published;
+
+    public AppUserDAOConcurrent() {
+        this.appUsers = new ConcurrentHashMap<>();
+        this.appUsersByRole = new EnumMap<>(AppRole.class);
+        for (AppRole role : AppRole.values()) {
+            appUsersByRole.put(role, new ConcurrentHashMap<>());
+        }
+        this.locks = new StripedLocks(STRIPES);
+        this.usernameIndexMaintainer = new UsernameIndexMaintainer();
+        this.published = new AtomicReference<>(PersistentMap.empty());
+    }
+
+    @Override
+    public AppUser persist(AppUser appUser) {
+        if (appUser == null) {
+            throw new IllegalArgumentException("AppUser cannot be null.");
+        }
+        String key = CaseFolding.fold(appUser.getUsername());
+        int[] held = locks.lock(key);
+        try {
+            if (appUsers.containsKey(key)) {
+                throw new IllegalArgumentException("AppUser with this username already exists.");
+            }
+            if (appUser.getOwner() != null) {
+                throw new IllegalArgumentException("AppUser is already stored in another DAO.");
+            }
+            appUsers.put(key, appUser);
+            appUsersByRole.get(appUser.getRole()).put(key, appUser);
+            appUser.setOwner(usernameIndexMaintainer);
+            published.updateAndGet(map -> map.with(key, appUser));
+        } finally {
+            locks.unlock(held);
+        }
+        return appUser;
+    }
+
+    /**
+     * Holds the stripes of every username in the batch while it is validated and stored, so
+     * the batch is atomic with respect to other writers.
+     */
+    @Override
+    public Collection<AppUser> persistAll(Collection<AppUser> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("AppUsers cannot be null.");
+        }
+        List<String> keys = new ArrayList<>(batch.size());
+        for (AppUser appUser : batch) {
+            if (appUser == null) {
+                throw new IllegalArgumentException("AppUser cannot be null.");
+            }
+            keys.add(CaseFolding.fold(appUser.getUsername()));
+        }
+        int[] held = locks.lock(keys.toArray());
+        try {
+            Set<String> batchKeys = new HashSet<>();
+            int i = 0;
+            for (AppUser appUser : batch) {
+                String key = keys.get(i++);
+                if (appUsers.containsKey(key) || !batchKeys.add(key)) {
+                    throw new IllegalArgumentException("AppUser with this username already exists.");
+                }
+                if (appUser.getOwner() != null) {
+                    throw new IllegalArgumentException("AppUser is already stored in another DAO.");
+                }
+            }
+            i = 0;
+            for (AppUser appUser : batch) {
+                String key = keys.get(i++);
+                appUsers.put(key, appUser);
+                appUsersByRole.get(appUser.getRole()).put(key, appUser);
+                appUser.setOwner(usernameIndexMaintainer);
+            }
+            published.updateAndGet(map -> {
+                int k = 0;
+                for (AppUser appUser : batch) {
+                    map = map.with(keys.get(k++), appUser);
+                }
+                return map;
+            });
+        } finally {
+            locks.unlock(held);
+        }
+        return batch;
+    }
+
+    @Override
+    public AppUser findByUsername(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null.");
+        }
+        return appUsers.get(CaseFolding.fold(username));
+    }
+
+    @Override
+    public Collection<AppUser> findAll() {
+        return readView();
+    }
+
+    @Override
+    public Collection<AppUser> findByRole(AppRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null.");
+        }
+        return new ArrayList<>(appUsersByRole.get(role).values());
+    }
+
+    @Override
+    public int countByRole(AppRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null.");
+        }
+        return appUsersByRole.get(role).size();
+    }
+
+    @Override
+    public ReadView<AppUser> readView() {
+        return published.get().values();
+    }
+
+    @Override
+    public Stream<AppUser> stream() {
+        return appUsers.values().stream();
+    }
+
+    @Override
+    public void remove(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null.");
+        }
+        String key = CaseFolding.fold(username);
+        int[] held = locks.lock(key);
+        try {
+            AppUser removed = appUsers.remove(key);
+            if (removed != null) {
+                removeFromRole(key, removed);
+                removed.setOwner(null);
+                published.updateAndGet(map -> map.without(key));
+            }
+        } finally {
+            locks.unlock(held);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> usernames) {
+        Set<String> keys = BatchKeys.usernames(usernames);
+        int[] held = locks.lock(keys.toArray());
+        try {
+            for (String key : keys) {
+                AppUser removed = appUsers.remove(key);
+                if (removed != null) {
+                    removeFromRole(key, removed);
+                    removed.setOwner(null);
+                }
+            }
+            published.updateAndGet(map -> {
+                for (String key : keys) {
+                    map = map.without(key);
+                }
+                return map;
+            });
+        } finally {
+            locks.unlock(held);
+        }
+    }
+
+    /** Removes the user from its partition and returns the partition, or null if it was in none. */
+    private Map<String, AppUser> removeFromRole(String key, AppUser appUser) {
+        for (Map<String, AppUser> partition : appUsersByRole.values()) {
+            if (partition.remove(key, appUser)) {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    private class UsernameIndexMaintainer implements AppUserOwner {
+        @Override
+        public void usernameChanging(AppUser appUser, String username) {
+            String oldKey = CaseFolding.fold(appUser.getUsername());
+            String newKey = CaseFolding.fold(username);
+            if (oldKey.equals(newKey)) {
+                return;
+            }
+            int[] held = locks.lock(oldKey, newKey);
+            try {
+                if (appUsers.get(oldKey) != appUser) {
+                    return;
+                }
+                if (appUsers.containsKey(newKey)) {
+                    throw new IllegalArgumentException("AppUser with this username already exists.");
+                }
+                appUsers.put(newKey, appUser);
+                appUsers.remove(oldKey, appUser);
+                Map<String, AppUser> partition = removeFromRole(oldKey, appUser);
+                if (partition != null) {
+                    partition.put(newKey, appUser);
+                }
+                published.updateAndGet(map -> map.without(oldKey).with(newKey, appUser));
+            } finally {
+                locks.unlock(held);
+            }
+        }
+
+        @Override
+        public void roleChanging(AppUser appUser, AppRole role) {
+            String key = CaseFolding.fold(appUser.getUsername());
+            int[] held = locks.lock(key);
+            try {
+                if (appUsers.get(key) != appUser) {
+                    return;
+                }
+                removeFromRole(key, appUser);
+                appUsersByRole.get(role).put(key, appUser);
+            } finally {
+                locks.unlock(held);
+            }
+        }
+    }
+}
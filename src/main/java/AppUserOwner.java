@@ -0,0 +1,14 @@
+/**
+ * Callback from an {@link AppUser} to the DAO that stores it, invoked by the setters before
+ * the field is assigned and only when the value changes. Throwing aborts the change.
+ */
+interface AppUserOwner {
+    default void usernameChanging(AppUser appUser, String username) {
+    }
+
+    default void passwordChanging(AppUser appUser, String passwordHash) {
+    }
+
+    default void roleChanging(AppUser appUser, AppRole role) {
+    }
+}
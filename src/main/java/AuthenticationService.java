@@ -0,0 +1,165 @@
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Logs users of an {@link AppUserDAO} in and hands out session tokens, so the password hash
+ * is paid once per login rather than once per request. Each login runs on its own virtual
+ * thread, but at most {@code maxConcurrentVerifications} hashes are computed at a time; the
+ * rest wait for a permit without holding a carrier thread. Unknown usernames are checked
+ * against a dummy hash, so they take as long as wrong passwords. A login whose hash was made
+ * with fewer iterations than the default hasher now uses rehashes the password, by
+ * compare-and-set so concurrent logins rehash it once.
+ *
+ * <p>{@link #authenticate} is a map lookup. A session ends when its lifetime passes, on
+ * {@link #logout}, or as soon as its user is removed, renamed or changes password; a rehash
+ * is not a password change and leaves the user's sessions valid. Expired
+ * sessions are swept at most once per lifetime, on login.
+ */
+public final class AuthenticationService implements AutoCloseable {
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final AppUserDAO appUsers;
+    private final Clock clock;
+    private final long lifetimeMillis;
+    private final Semaphore verifications;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions;
+    private final String dummyHash;
+    private volatile long nextSweepMillis;
+
+    public AuthenticationService(AppUserDAO appUsers) {
+        this(appUsers, Clock.systemUTC(), Duration.ofMinutes(15), Runtime.getRuntime().availableProcessors());
+    }
+
+    public AuthenticationService(AppUserDAO appUsers, Clock clock, Duration sessionLifetime,
+                                 int maxConcurrentVerifications) {
+        if (appUsers == null) {
+            throw new IllegalArgumentException("AppUserDAO cannot be null.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        if (sessionLifetime == null || sessionLifetime.isNegative() || sessionLifetime.isZero()) {
+            throw new IllegalArgumentException("Session lifetime must be positive.");
+        }
+        if (maxConcurrentVerifications <= 0) {
+            throw new IllegalArgumentException("Concurrent verifications must be positive.");
+        }
+        this.appUsers = appUsers;
+        this.clock = clock;
+        this.lifetimeMillis = sessionLifetime.toMillis();
+        this.verifications = new Semaphore(maxConcurrentVerifications);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.sessions = new ConcurrentHashMap<>();
+        this.dummyHash = PasswordHasher.defaultHasher().hash(newToken());
+        this.nextSweepMillis = clock.millis() + lifetimeMillis;
+    }
+
+    /** Completes with a session token, or with null if the username or password is wrong. */
+    public CompletableFuture<String> login(String username, String password) {
+        if (username == null || password == null) {
+            throw new IllegalArgumentException("Username and password cannot be null.");
+        }
+        return CompletableFuture.supplyAsync(() -> verify(username, password), executor);
+    }
+
+    /** Returns the user the token was issued to, or null if the session is unknown or over. */
+    public AppUser authenticate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (!session.isValid(clock.millis()) || appUsers.findByUsername(session.username) != session.appUser) {
+            sessions.remove(token, session);
+            return null;
+        }
+        return session.appUser;
+    }
+
+    public void logout(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /** Stops accepting logins; logins already running finish first. */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private String verify(String username, String password) {
+        verifications.acquireUninterruptibly();
+        try {
+            AppUser appUser = appUsers.findByUsername(username);
+            if (appUser == null) {
+                PasswordHasher.verify(password, dummyHash);
+                return null;
+            }
+            int credentialEpoch = appUser.getCredentialEpoch();
+            String passwordHash = appUser.getPasswordHash();
+            if (!PasswordHasher.verify(password, passwordHash)) {
+                return null;
+            }
+            if (PasswordHasher.defaultHasher().needsRehash(passwordHash)) {
+                appUser.rehashPassword(passwordHash, PasswordHasher.defaultHasher().hash(password));
+            }
+            return issue(appUser, credentialEpoch);
+        } finally {
+            verifications.release();
+        }
+    }
+
+    private String issue(AppUser appUser, int credentialEpoch) {
+        long now = clock.millis();
+        if (now >= nextSweepMillis) {
+            nextSweepMillis = now + lifetimeMillis;
+            sessions.values().removeIf(session -> !session.isValid(now));
+        }
+        String token = newToken();
+        sessions.put(token, new Session(appUser, credentialEpoch, now + lifetimeMillis));
+        return token;
+    }
+
+    private static String newToken() {
+        byte[] token = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    private static final class Session {
+        private final AppUser appUser;
+        private final String username;
+        private final int credentialEpoch;
+        private final long expiresAtMillis;
+
+        private Session(AppUser appUser, int credentialEpoch, long expiresAtMillis) {
+            this.appUser = appUser;
+            this.username = appUser.getUsername();
+            this.credentialEpoch = credentialEpoch;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isValid(long nowMillis) {
+            return nowMillis < expiresAtMillis
+                    && username.equals(appUser.getUsername())
+                    && credentialEpoch == appUser.getCredentialEpoch();
+        }
+    }
+}
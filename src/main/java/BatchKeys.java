@@ -0,0 +1,40 @@
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Validates the keys passed to the {@code removeAll} methods up front, so a batch with a
+ * null key is rejected before anything is removed.
+ */
+final class BatchKeys {
+    private BatchKeys() {
+    }
+
+    static Set<Integer> ids(Collection<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Ids cannot be null.");
+        }
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Id cannot be null.");
+            }
+            distinct.add(id);
+        }
+        return distinct;
+    }
+
+    static Set<String> usernames(Collection<String> usernames) {
+        if (usernames == null) {
+            throw new IllegalArgumentException("Usernames cannot be null.");
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String username : usernames) {
+            if (username == null) {
+                throw new IllegalArgumentException("Username cannot be null.");
+            }
+            keys.add(CaseFolding.fold(username));
+        }
+        return keys;
+    }
+}
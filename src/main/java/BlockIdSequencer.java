@@ -0,0 +1,89 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe id source shared by the static sequencers. Each platform thread reserves a
+ * block of ids with a compare-and-set and then hands them out from a thread-local cursor,
+ * so the hot path touches no shared state beyond one volatile read. Ids are unique but only
+ * increasing per thread. Virtual threads draw single ids from the shared counter instead,
+ * since a block per short-lived thread would burn through the id space.
+ *
+ * <p>{@link #setCurrentId} is meant for resets and bootstrapping; ids handed out by a thread
+ * that races with it may come from either side of the reset.
+ */
+final class BlockIdSequencer {
+    static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final int blockSize;
+    private final AtomicLong reserved;
+    private final ThreadLocal<Block> blocks;
+    private volatile int generation;
+
+    BlockIdSequencer() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    BlockIdSequencer(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        this.blockSize = blockSize;
+        this.reserved = new AtomicLong();
+        this.blocks = ThreadLocal.withInitial(Block::new);
+    }
+
+    int nextId() {
+        if (Thread.currentThread().isVirtual()) {
+            return (int) reserve(1);
+        }
+        Block block = blocks.get();
+        int currentGeneration = generation;
+        if (block.generation != currentGeneration || block.next > block.limit) {
+            long start = reserve(blockSize);
+            block.generation = currentGeneration;
+            block.next = start;
+            block.limit = Math.min(start + blockSize - 1, Integer.MAX_VALUE);
+        }
+        block.last = (int) block.next++;
+        return block.last;
+    }
+
+    /**
+     * Returns the last id handed out to the calling thread since the last reset, or the
+     * highest reserved id if this thread has not drawn one since.
+     */
+    int getCurrentId() {
+        Block block = blocks.get();
+        if (block.generation == generation && !Thread.currentThread().isVirtual()) {
+            return block.last;
+        }
+        return (int) reserved.get();
+    }
+
+    synchronized void setCurrentId(int id) {
+        reserved.set(id);
+        generation++;
+    }
+
+    /**
+     * Reserves up to {@code count} ids and returns the first; a reservation that would pass
+     * {@link Integer#MAX_VALUE} is cut short there, so the counter never overflows.
+     */
+    private long reserve(int count) {
+        while (true) {
+            long current = reserved.get();
+            if (current >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Id space exhausted.");
+            }
+            if (reserved.compareAndSet(current, Math.min(current + count, Integer.MAX_VALUE))) {
+                return current + 1;
+            }
+        }
+    }
+
+    private static final class Block {
+        private int generation = -1;
+        private long next;
+        private long limit;
+        private int last;
+    }
+}
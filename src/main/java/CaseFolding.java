@@ -0,0 +1,34 @@
+/**
+ * Case folding that agrees with {@link String#equalsIgnoreCase}: two strings are equal ignoring
+ * case exactly when their folded forms are equal, so the folded form can key a hash index.
+ */
+final class CaseFolding {
+    private CaseFolding() {
+    }
+
+    static String fold(String value) {
+        int i = 0;
+        while (i < value.length()) {
+            int codePoint = value.codePointAt(i);
+            if (foldCodePoint(codePoint) != codePoint) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (i == value.length()) {
+            return value;
+        }
+        StringBuilder folded = new StringBuilder(value.length());
+        folded.append(value, 0, i);
+        while (i < value.length()) {
+            int codePoint = value.codePointAt(i);
+            folded.appendCodePoint(foldCodePoint(codePoint));
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+
+    private static int foldCodePoint(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+}
@@ -0,0 +1,48 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Current date of a {@link Clock}, cached with the bounds of that day in epoch millis. Each
+ * call reads only {@link Clock#millis()} and resolves the date in the clock's zone again
+ * once the day has rolled over.
+ */
+final class DayClock {
+    private final Clock clock;
+    private volatile Day current;
+
+    DayClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        this.clock = clock;
+    }
+
+    long epochDay() {
+        long now = clock.millis();
+        Day day = current;
+        if (day == null || now < day.startMillis || now >= day.endMillis) {
+            day = new Day(now, clock.getZone());
+            current = day;
+        }
+        return day.epochDay;
+    }
+
+    LocalDate today() {
+        return LocalDate.ofEpochDay(epochDay());
+    }
+
+    private static final class Day {
+        private final long epochDay;
+        private final long startMillis;
+        private final long endMillis;
+
+        private Day(long millis, ZoneId zone) {
+            LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+            this.epochDay = date.toEpochDay();
+            this.startMillis = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            this.endMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes equal field values so the entities a DAO stores share one instance of each.
+ * Strings go through a bounded, direct-mapped intern pool: every slot keeps the last string
+ * hashed to it, so the pool never outgrows its capacity and a collision only costs a missed
+ * share. Strings longer than {@value #MAX_LENGTH} characters are free text and are not pooled.
+ * Dates are cached per epoch day in the same way. Racing writers at worst store a duplicate.
+ *
+ * <p>{@link #bytesSaved()} estimates the heap no longer retained: the shallow size of every
+ * string or date replaced by an equal canonical instance, plus the string's character array.
+ */
+public final class Deduplicator {
+    static final int MAX_LENGTH = 256;
+    private static final int DEFAULT_STRING_CAPACITY = 1 << 14;
+    private static final int DEFAULT_DATE_CAPACITY = 1 << 12;
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int DATE_BYTES = 24;
+
+    private final String[] strings;
+    private final LocalDate[] dates;
+    private final LongAdder stringsShared = new LongAdder();
+    private final LongAdder datesShared = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public Deduplicator() {
+        this(DEFAULT_STRING_CAPACITY, DEFAULT_DATE_CAPACITY);
+    }
+
+    /** Capacities are rounded up to a power of two. */
+    public Deduplicator(int stringCapacity, int dateCapacity) {
+        if (stringCapacity <= 0 || dateCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.strings = new String[powerOfTwo(stringCapacity)];
+        this.dates = new LocalDate[powerOfTwo(dateCapacity)];
+    }
+
+    /** Returns the pooled string equal to the given one, pooling it if none is. */
+    public String canonical(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int slot = spread(value.hashCode()) & (strings.length - 1);
+        String pooled = strings[slot];
+        if (pooled == value) {
+            return value;
+        }
+        if (value.equals(pooled)) {
+            stringsShared.increment();
+            bytesSaved.add(sizeOf(value));
+            return pooled;
+        }
+        strings[slot] = value;
+        return value;
+    }
+
+    /** Returns the cached date equal to the given one, caching it if none is. */
+    public LocalDate canonical(LocalDate value) {
+        if (value == null) {
+            return null;
+        }
+        int slot = (int) value.toEpochDay() & (dates.length - 1);
+        LocalDate cached = dates[slot];
+        if (cached == value) {
+            return value;
+        }
+        if (value.equals(cached)) {
+            datesShared.increment();
+            bytesSaved.add(DATE_BYTES);
+            return cached;
+        }
+        dates[slot] = value;
+        return value;
+    }
+
+    public long stringsShared() {
+        return stringsShared.sum();
+    }
+
+    public long datesShared() {
+        return datesShared.sum();
+    }
+
+    public long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /** Swaps the item's title and deadline for their canonical instances; the values are equal. */
+    void deduplicate(TodoItem todoItem) {
+        todoItem.setTitle(canonical(todoItem.getTitle()));
+        todoItem.setDeadLine(canonical(todoItem.getDeadLine()));
+    }
+
+    /**
+     * Swaps the person's names for their canonical instances; the values are equal. Emails are
+     * unique per DAO, so pooling them would only evict names.
+     */
+    void deduplicate(Person person) {
+        person.setFirstName(canonical(person.getFirstName()));
+        person.setLastName(canonical(person.getLastName()));
+    }
+
+    @Override
+    public String toString() {
+        return "Deduplicator{" +
+                "stringsShared=" + stringsShared() +
+                ", datesShared=" + datesShared() +
+                ", bytesSaved=" + bytesSaved() +
+                "}";
+    }
+
+    /** Compact strings hold one byte per character when every character is Latin-1. */
+    private static long sizeOf(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + (long) value.length() * bytesPerChar);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int powerOfTwo(int capacity) {
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
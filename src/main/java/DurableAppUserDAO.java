@@ -0,0 +1,291 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link AppUserDAO} that records every change of a delegate DAO in a {@link WriteAheadLog}
+ * and rebuilds the delegate by replaying that log on construction, in the manner of
+ * {@link DurableTodoItemDAO}. Setter changes are logged through an owner wrapping the
+ * delegate's. Passwords are logged as the user's salted hash, never in plain text.
+ */
+public class DurableAppUserDAO implements AppUserDAO {
+    private static final byte PERSIST = 1;
+    private static final byte PERSIST_ALL = 2;
+    private static final byte REMOVE = 3;
+    private static final byte REMOVE_ALL = 4;
+    private static final byte USERNAME = 5;
+    private static final byte PASSWORD = 6;
+    private static final byte ROLE = 7;
+
+    private final AppUserDAO delegate;
+    private final WriteAheadLog log;
+    private final Object sequencer;
+
+    public DurableAppUserDAO(AppUserDAO delegate, WriteAheadLog log) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null.");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null.");
+        }
+        if (delegate.stream().findAny().isPresent()) {
+            throw new IllegalArgumentException("Delegate must be empty.");
+        }
+        this.delegate = delegate;
+        this.log = log;
+        this.sequencer = new Object();
+        replay();
+    }
+
+    @Override
+    public AppUser persist(AppUser appUser) {
+        checkStorable(appUser);
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST);
+            EntityRecords.writeAppUser(record, appUser);
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persist(appUser));
+            attach(appUser);
+        }
+        log.awaitDurable(sequence);
+        return appUser;
+    }
+
+    @Override
+    public Collection<AppUser> persistAll(Collection<AppUser> appUsers) {
+        if (appUsers == null) {
+            throw new IllegalArgumentException("AppUsers cannot be null.");
+        }
+        for (AppUser appUser : appUsers) {
+            checkStorable(appUser);
+        }
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST_ALL).putInt(appUsers.size());
+            for (AppUser appUser : appUsers) {
+                EntityRecords.writeAppUser(record, appUser);
+            }
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persistAll(appUsers));
+            for (AppUser appUser : appUsers) {
+                attach(appUser);
+            }
+        }
+        log.awaitDurable(sequence);
+        return appUsers;
+    }
+
+    @Override
+    public AppUser findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public Collection<AppUser> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Collection<AppUser> findByRole(AppRole role) {
+        return delegate.findByRole(role);
+    }
+
+    @Override
+    public int countByRole(AppRole role) {
+        return delegate.countByRole(role);
+    }
+
+    @Override
+    public ReadView<AppUser> readView() {
+        return delegate.readView();
+    }
+
+    @Override
+    public Stream<AppUser> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public void remove(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null.");
+        }
+        long sequence;
+        synchronized (sequencer) {
+            AppUser removed = delegate.findByUsername(username);
+            if (removed == null) {
+                return;
+            }
+            sequence = log.append(new RecordWriter(REMOVE).putString(username).toByteArray());
+            delegate.remove(username);
+            detach(removed);
+        }
+        log.awaitDurable(sequence);
+    }
+
+    @Override
+    public void removeAll(Collection<String> usernames) {
+        long sequence;
+        synchronized (sequencer) {
+            List<AppUser> removed = new ArrayList<>();
+            for (String username : BatchKeys.usernames(usernames)) {
+                AppUser appUser = delegate.findByUsername(username);
+                if (appUser != null) {
+                    removed.add(appUser);
+                }
+            }
+            if (removed.isEmpty()) {
+                return;
+            }
+            RecordWriter record = new RecordWriter(REMOVE_ALL).putInt(removed.size());
+            for (AppUser appUser : removed) {
+                record.putString(appUser.getUsername());
+            }
+            sequence = log.append(record.toByteArray());
+            delegate.removeAll(usernames);
+            for (AppUser appUser : removed) {
+                detach(appUser);
+            }
+        }
+        log.awaitDurable(sequence);
+    }
+
+    private void replay() {
+        log.replay(record -> RejectedRecordException.apply(decode(record)));
+        for (AppUser appUser : delegate.findAll()) {
+            attach(appUser);
+        }
+    }
+
+    private Runnable decode(ByteBuffer in) {
+        byte type = in.get();
+        if (type == PERSIST) {
+            AppUser appUser = EntityRecords.readAppUser(in);
+            return () -> delegate.persist(appUser);
+        } else if (type == PERSIST_ALL) {
+            List<AppUser> batch = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                batch.add(EntityRecords.readAppUser(in));
+            }
+            return () -> delegate.persistAll(batch);
+        } else if (type == REMOVE) {
+            String username = RecordWriter.getString(in);
+            return () -> delegate.remove(username);
+        } else if (type == REMOVE_ALL) {
+            List<String> usernames = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                usernames.add(RecordWriter.getString(in));
+            }
+            return () -> delegate.removeAll(usernames);
+        }
+        AppUser appUser = delegate.findByUsername(RecordWriter.getString(in));
+        if (type == USERNAME) {
+            String username = RecordWriter.getString(in);
+            return () -> appUser.setUsername(username);
+        } else if (type == PASSWORD) {
+            String passwordHash = RecordWriter.getString(in);
+            return () -> appUser.setPasswordHash(passwordHash);
+        } else if (type == ROLE) {
+            AppRole role = EntityRecords.readRole(in);
+            return () -> appUser.setRole(role);
+        }
+        throw new IllegalStateException("Unknown log record type " + type + ".");
+    }
+
+    private void checkStorable(AppUser appUser) {
+        if (appUser == null) {
+            throw new IllegalArgumentException("AppUser cannot be null.");
+        }
+        if (appUser.getOwner() instanceof LoggingOwner && ((LoggingOwner) appUser.getOwner()).dao() != this) {
+            throw new IllegalArgumentException("AppUser is already stored in another DAO.");
+        }
+    }
+
+    private void applyOrAbort(long sequence, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException rejected) {
+            try {
+                log.abort(sequence);
+            } catch (RuntimeException logFailure) {
+                rejected.addSuppressed(logFailure);
+            }
+            throw rejected;
+        }
+    }
+
+    private void attach(AppUser appUser) {
+        appUser.setOwner(new LoggingOwner(appUser.getOwner()));
+    }
+
+    private void detach(AppUser appUser) {
+        if (appUser.getOwner() instanceof LoggingOwner) {
+            appUser.setOwner(null);
+        }
+    }
+
+    /** Usernames are the key, so every change is logged under the username it replaces. */
+    private final class LoggingOwner implements AppUserOwner {
+        private final AppUserOwner next;
+
+        LoggingOwner(AppUserOwner next) {
+            this.next = next;
+        }
+
+        DurableAppUserDAO dao() {
+            return DurableAppUserDAO.this;
+        }
+
+        @Override
+        public void usernameChanging(AppUser appUser, String username) {
+            long sequence;
+            synchronized (sequencer) {
+                if (appUser.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(USERNAME).putString(appUser.getUsername())
+                        .putString(username).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.usernameChanging(appUser, username));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void passwordChanging(AppUser appUser, String passwordHash) {
+            long sequence;
+            synchronized (sequencer) {
+                if (appUser.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(PASSWORD).putString(appUser.getUsername())
+                        .putString(passwordHash).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.passwordChanging(appUser, passwordHash));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void roleChanging(AppUser appUser, AppRole role) {
+            long sequence;
+            synchronized (sequencer) {
+                if (appUser.getOwner() != this) {
+                    return;
+                }
+                RecordWriter record = new RecordWriter(ROLE).putString(appUser.getUsername());
+                EntityRecords.writeRole(record, role);
+                sequence = log.append(record.toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.roleChanging(appUser, role));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link PersonDAO} that records every change of a delegate DAO in a {@link WriteAheadLog}
+ * and rebuilds the delegate by replaying that log on construction, in the manner of
+ * {@link DurableTodoItemDAO}. Setter changes are logged through an owner wrapping the
+ * delegate's.
+ */
+public class DurablePersonDAO implements PersonDAO {
+    private static final byte PERSIST = 1;
+    private static final byte PERSIST_ALL = 2;
+    private static final byte REMOVE = 3;
+    private static final byte REMOVE_ALL = 4;
+    private static final byte EMAIL = 5;
+    private static final byte FIRST_NAME = 6;
+    private static final byte LAST_NAME = 7;
+    private static final byte CREDENTIALS = 8;
+
+    private final PersonDAO delegate;
+    private final WriteAheadLog log;
+    private final Object sequencer;
+
+    public DurablePersonDAO(PersonDAO delegate, WriteAheadLog log) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null.");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null.");
+        }
+        if (delegate.stream().findAny().isPresent()) {
+            throw new IllegalArgumentException("Delegate must be empty.");
+        }
+        this.delegate = delegate;
+        this.log = log;
+        this.sequencer = new Object();
+        replay();
+    }
+
+    @Override
+    public Person persist(Person person) {
+        checkStorable(person);
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST);
+            EntityRecords.writePerson(record, person);
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persist(person));
+            attach(person);
+        }
+        log.awaitDurable(sequence);
+        return person;
+    }
+
+    @Override
+    public Collection<Person> persistAll(Collection<Person> people) {
+        if (people == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        for (Person person : people) {
+            checkStorable(person);
+        }
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST_ALL).putInt(people.size());
+            for (Person person : people) {
+                EntityRecords.writePerson(record, person);
+            }
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persistAll(people));
+            for (Person person : people) {
+                attach(person);
+            }
+        }
+        log.awaitDurable(sequence);
+        return people;
+    }
+
+    @Override
+    public Person findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Person findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Collection<Person> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public ReadView<Person> readView() {
+        return delegate.readView();
+    }
+
+    @Override
+    public Stream<Person> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public void remove(int id) {
+        long sequence;
+        synchronized (sequencer) {
+            Person removed = delegate.findById(id);
+            if (removed == null) {
+                return;
+            }
+            sequence = log.append(new RecordWriter(REMOVE).putInt(id).toByteArray());
+            delegate.remove(id);
+            detach(removed);
+        }
+        log.awaitDurable(sequence);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        long sequence;
+        synchronized (sequencer) {
+            List<Person> removed = new ArrayList<>();
+            for (int id : BatchKeys.ids(ids)) {
+                Person person = delegate.findById(id);
+                if (person != null) {
+                    removed.add(person);
+                }
+            }
+            if (removed.isEmpty()) {
+                return;
+            }
+            RecordWriter record = new RecordWriter(REMOVE_ALL).putInt(removed.size());
+            for (Person person : removed) {
+                record.putInt(person.getId());
+            }
+            sequence = log.append(record.toByteArray());
+            delegate.removeAll(ids);
+            for (Person person : removed) {
+                detach(person);
+            }
+        }
+        log.awaitDurable(sequence);
+    }
+
+    private void replay() {
+        log.replay(record -> RejectedRecordException.apply(decode(record)));
+        for (Person person : delegate.findAll()) {
+            attach(person);
+        }
+    }
+
+    private Runnable decode(ByteBuffer in) {
+        byte type = in.get();
+        if (type == PERSIST) {
+            Person person = EntityRecords.readPerson(in, null);
+            return () -> delegate.persist(person);
+        } else if (type == PERSIST_ALL) {
+            List<Person> batch = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                batch.add(EntityRecords.readPerson(in, null));
+            }
+            return () -> delegate.persistAll(batch);
+        } else if (type == REMOVE) {
+            int id = RecordWriter.getInt(in);
+            return () -> delegate.remove(id);
+        } else if (type == REMOVE_ALL) {
+            List<Integer> ids = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                ids.add(RecordWriter.getInt(in));
+            }
+            return () -> delegate.removeAll(ids);
+        }
+        Person person = delegate.findById(RecordWriter.getInt(in));
+        if (type == EMAIL) {
+            String email = RecordWriter.getString(in);
+            return () -> person.setEmail(email);
+        } else if (type == FIRST_NAME) {
+            String firstName = RecordWriter.getString(in);
+            return () -> person.setFirstName(firstName);
+        } else if (type == LAST_NAME) {
+            String lastName = RecordWriter.getString(in);
+            return () -> person.setLastName(lastName);
+        } else if (type == CREDENTIALS) {
+            AppUser credentials = EntityRecords.readCredentials(in);
+            return () -> person.setCredentials(credentials);
+        }
+        throw new IllegalStateException("Unknown log record type " + type + ".");
+    }
+
+    private void checkStorable(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person cannot be null.");
+        }
+        if (person.getOwner() instanceof LoggingOwner && ((LoggingOwner) person.getOwner()).dao() != this) {
+            throw new IllegalArgumentException("Person is already stored in another DAO.");
+        }
+    }
+
+    private void applyOrAbort(long sequence, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException rejected) {
+            try {
+                log.abort(sequence);
+            } catch (RuntimeException logFailure) {
+                rejected.addSuppressed(logFailure);
+            }
+            throw rejected;
+        }
+    }
+
+    private void attach(Person person) {
+        person.setOwner(new LoggingOwner(person.getOwner()));
+    }
+
+    private void detach(Person person) {
+        if (person.getOwner() instanceof LoggingOwner) {
+            person.setOwner(null);
+        }
+    }
+
+    private final class LoggingOwner implements PersonOwner {
+        private final PersonOwner next;
+
+        LoggingOwner(PersonOwner next) {
+            this.next = next;
+        }
+
+        DurablePersonDAO dao() {
+            return DurablePersonDAO.this;
+        }
+
+        @Override
+        public String canonical(String value) {
+            return next != null ? next.canonical(value) : value;
+        }
+
+        @Override
+        public void emailChanging(Person person, String email) {
+            long sequence;
+            synchronized (sequencer) {
+                if (person.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(EMAIL).putInt(person.getId()).putString(email).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.emailChanging(person, email));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void firstNameChanging(Person person, String firstName) {
+            long sequence;
+            synchronized (sequencer) {
+                if (person.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(FIRST_NAME).putInt(person.getId()).putString(firstName).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.firstNameChanging(person, firstName));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void lastNameChanging(Person person, String lastName) {
+            long sequence;
+            synchronized (sequencer) {
+                if (person.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(LAST_NAME).putInt(person.getId()).putString(lastName).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.lastNameChanging(person, lastName));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void credentialsChanging(Person person, AppUser credentials) {
+            long sequence;
+            synchronized (sequencer) {
+                if (person.getOwner() != this) {
+                    return;
+                }
+                RecordWriter record = new RecordWriter(CREDENTIALS).putInt(person.getId());
+                EntityRecords.writeCredentials(record, credentials);
+                sequence = log.append(record.toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.credentialsChanging(person, credentials));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+    }
+}
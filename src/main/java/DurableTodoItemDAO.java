@@ -0,0 +1,451 @@
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoItemDAO} that records every change of a delegate DAO in a {@link WriteAheadLog}
+ * and rebuilds the delegate by replaying that log on construction. Persists and removes are
+ * logged by the DAO methods; field changes are logged by an owner that wraps the delegate's
+ * own, so an item keeps its indexes current and its log complete through the same setter.
+ *
+ * <p>Each change is appended to the log and then applied to the delegate, under one lock, so
+ * the log holds changes in the order the delegate saw them and never runs behind it: a change
+ * the log refuses is not applied, and one the delegate rejects is {@link WriteAheadLog#abort
+ * aborted} in the log. Waiting for the disk happens outside the lock, so concurrent writers
+ * share fsyncs. A change that returned has reached the log; it is on disk when the log's
+ * {@link FsyncPolicy} says so. Reads go straight to the delegate.
+ *
+ * <p>The creator is logged with the item and with every creator change. Given the person DAO,
+ * which must be rebuilt first, replay links each creator by id to the person stored there, so
+ * items share it with that DAO and see its later changes; a creator the person DAO does not
+ * hold is rebuilt from the log. Delegates that hand out views rather than the stored items,
+ * like {@link TodoItemDAOColumnar}, are rejected, since changes made through a view would
+ * bypass the log.
+ */
+public class DurableTodoItemDAO implements TodoItemDAO {
+    private static final byte PERSIST = 1;
+    private static final byte PERSIST_ALL = 2;
+    private static final byte REMOVE = 3;
+    private static final byte REMOVE_ALL = 4;
+    private static final byte DONE = 5;
+    private static final byte CREATOR = 6;
+    private static final byte DEADLINE = 7;
+    private static final byte TITLE = 8;
+    private static final byte DESCRIPTION = 9;
+
+    private final TodoItemDAO delegate;
+    private final WriteAheadLog log;
+    private final PersonDAO people;
+    private final Object sequencer;
+
+    /** Replays creators from the log alone, so they are shared only among this DAO's items. */
+    public DurableTodoItemDAO(TodoItemDAO delegate, WriteAheadLog log) {
+        this(delegate, log, new PersonDAOCollection());
+    }
+
+    public DurableTodoItemDAO(TodoItemDAO delegate, WriteAheadLog log, PersonDAO people) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null.");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null.");
+        }
+        if (people == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        if (delegate instanceof TodoItemDAOColumnar) {
+            throw new IllegalArgumentException("Delegate must hand out the stored items, not views.");
+        }
+        if (delegate.stream().findAny().isPresent()) {
+            throw new IllegalArgumentException("Delegate must be empty.");
+        }
+        this.delegate = delegate;
+        this.log = log;
+        this.people = people;
+        this.sequencer = new Object();
+        replay();
+    }
+
+    @Override
+    public TodoItem persist(TodoItem todoItem) {
+        checkStorable(todoItem);
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST);
+            EntityRecords.writeTodoItem(record, todoItem);
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persist(todoItem));
+            attach(todoItem);
+        }
+        log.awaitDurable(sequence);
+        return todoItem;
+    }
+
+    @Override
+    public Collection<TodoItem> persistAll(Collection<TodoItem> todoItems) {
+        if (todoItems == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        for (TodoItem todoItem : todoItems) {
+            checkStorable(todoItem);
+        }
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST_ALL).putInt(todoItems.size());
+            for (TodoItem todoItem : todoItems) {
+                EntityRecords.writeTodoItem(record, todoItem);
+            }
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persistAll(todoItems));
+            for (TodoItem todoItem : todoItems) {
+                attach(todoItem);
+            }
+        }
+        log.awaitDurable(sequence);
+        return todoItems;
+    }
+
+    @Override
+    public TodoItem findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Collection<TodoItem> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public ReadView<TodoItem> readView() {
+        return delegate.readView();
+    }
+
+    @Override
+    public Collection<TodoItem> findAllByDoneStatus(boolean done) {
+        return delegate.findAllByDoneStatus(done);
+    }
+
+    @Override
+    public Collection<TodoItem> findByTitleContains(String title) {
+        return delegate.findByTitleContains(title);
+    }
+
+    @Override
+    public Collection<TodoItem> findByPersonId(int personId) {
+        return delegate.findByPersonId(personId);
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+        return delegate.findByDeadlineBefore(date);
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+        return delegate.findByDeadlineAfter(date);
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to) {
+        return delegate.findByDeadlineBetween(from, to);
+    }
+
+    @Override
+    public Collection<TodoItem> findOverdue() {
+        return delegate.findOverdue();
+    }
+
+    @Override
+    public Stream<TodoItem> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDoneStatus(boolean done) {
+        return delegate.streamByDoneStatus(done);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByTitleContains(String title) {
+        return delegate.streamByTitleContains(title);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByPersonId(int personId) {
+        return delegate.streamByPersonId(personId);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBefore(LocalDate date) {
+        return delegate.streamByDeadlineBefore(date);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineAfter(LocalDate date) {
+        return delegate.streamByDeadlineAfter(date);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to) {
+        return delegate.streamByDeadlineBetween(from, to);
+    }
+
+    @Override
+    public Stream<TodoItem> streamOverdue() {
+        return delegate.streamOverdue();
+    }
+
+    @Override
+    public Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize) {
+        return delegate.findPage(order, after, pageSize);
+    }
+
+    @Override
+    public Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize) {
+        return delegate.findPageByPersonId(personId, order, after, pageSize);
+    }
+
+    @Override
+    public Stream<TodoItem> query(TodoItemQuery query) {
+        return delegate.query(query);
+    }
+
+    @Override
+    public QueryPlan explain(TodoItemQuery query) {
+        return delegate.explain(query);
+    }
+
+    @Override
+    public void remove(int id) {
+        long sequence;
+        synchronized (sequencer) {
+            TodoItem removed = delegate.findById(id);
+            if (removed == null) {
+                return;
+            }
+            sequence = log.append(new RecordWriter(REMOVE).putInt(id).toByteArray());
+            delegate.remove(id);
+            detach(removed);
+        }
+        log.awaitDurable(sequence);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        long sequence;
+        synchronized (sequencer) {
+            List<TodoItem> removed = new ArrayList<>();
+            for (int id : BatchKeys.ids(ids)) {
+                TodoItem todoItem = delegate.findById(id);
+                if (todoItem != null) {
+                    removed.add(todoItem);
+                }
+            }
+            if (removed.isEmpty()) {
+                return;
+            }
+            RecordWriter record = new RecordWriter(REMOVE_ALL).putInt(removed.size());
+            for (TodoItem todoItem : removed) {
+                record.putInt(todoItem.getId());
+            }
+            sequence = log.append(record.toByteArray());
+            delegate.removeAll(ids);
+            for (TodoItem todoItem : removed) {
+                detach(todoItem);
+            }
+        }
+        log.awaitDurable(sequence);
+    }
+
+    private void replay() {
+        Map<Integer, Person> creators = new HashMap<>();
+        log.replay(record -> RejectedRecordException.apply(decode(record, creators)));
+        for (TodoItem todoItem : delegate.findAll()) {
+            attach(todoItem);
+        }
+    }
+
+    private Runnable decode(ByteBuffer in, Map<Integer, Person> creators) {
+        byte type = in.get();
+        if (type == PERSIST) {
+            TodoItem todoItem = EntityRecords.readTodoItem(in, null, people, creators);
+            return () -> delegate.persist(todoItem);
+        } else if (type == PERSIST_ALL) {
+            List<TodoItem> batch = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                batch.add(EntityRecords.readTodoItem(in, null, people, creators));
+            }
+            return () -> delegate.persistAll(batch);
+        } else if (type == REMOVE) {
+            int id = RecordWriter.getInt(in);
+            return () -> delegate.remove(id);
+        } else if (type == REMOVE_ALL) {
+            List<Integer> ids = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                ids.add(RecordWriter.getInt(in));
+            }
+            return () -> delegate.removeAll(ids);
+        }
+        TodoItem todoItem = delegate.findById(RecordWriter.getInt(in));
+        if (type == DONE) {
+            boolean done = RecordWriter.getBoolean(in);
+            return () -> todoItem.setDone(done);
+        } else if (type == CREATOR) {
+            Person creator = EntityRecords.readPersonLink(in, people, creators);
+            return () -> todoItem.setCreator(creator);
+        } else if (type == DEADLINE) {
+            LocalDate deadLine = LocalDate.ofEpochDay(RecordWriter.getLong(in));
+            return () -> todoItem.setDeadLine(deadLine);
+        } else if (type == TITLE) {
+            String title = RecordWriter.getString(in);
+            return () -> todoItem.setTitle(title);
+        } else if (type == DESCRIPTION) {
+            String description = RecordWriter.getString(in);
+            return () -> todoItem.setDescription(description);
+        }
+        throw new IllegalStateException("Unknown log record type " + type + ".");
+    }
+
+    private void checkStorable(TodoItem todoItem) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        if (todoItem.getOwner() instanceof LoggingOwner && ((LoggingOwner) todoItem.getOwner()).dao() != this) {
+            throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+        }
+    }
+
+    private void applyOrAbort(long sequence, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException rejected) {
+            try {
+                log.abort(sequence);
+            } catch (RuntimeException logFailure) {
+                rejected.addSuppressed(logFailure);
+            }
+            throw rejected;
+        }
+    }
+
+    private void attach(TodoItem todoItem) {
+        todoItem.setOwner(new LoggingOwner(todoItem.getOwner()));
+    }
+
+    /** The delegate detaches its own owner on remove; collection delegates keep none to detach. */
+    private void detach(TodoItem todoItem) {
+        if (todoItem.getOwner() instanceof LoggingOwner) {
+            todoItem.setOwner(null);
+        }
+    }
+
+    /**
+     * Logs each change, then passes it on to the delegate's owner, which may still veto it.
+     * Changes racing a remove of the item are not logged, since they no longer reach the DAO.
+     */
+    private final class LoggingOwner implements TodoItemOwner {
+        private final TodoItemOwner next;
+
+        LoggingOwner(TodoItemOwner next) {
+            this.next = next;
+        }
+
+        DurableTodoItemDAO dao() {
+            return DurableTodoItemDAO.this;
+        }
+
+        @Override
+        public String canonical(String value) {
+            return next != null ? next.canonical(value) : value;
+        }
+
+        @Override
+        public LocalDate canonical(LocalDate value) {
+            return next != null ? next.canonical(value) : value;
+        }
+
+        @Override
+        public void doneChanging(TodoItem todoItem, boolean done) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItem.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(DONE).putInt(todoItem.getId()).putBoolean(done).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.doneChanging(todoItem, done));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void creatorChanging(TodoItem todoItem, Person creator) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItem.getOwner() != this) {
+                    return;
+                }
+                RecordWriter record = new RecordWriter(CREATOR).putInt(todoItem.getId());
+                EntityRecords.writePerson(record, creator);
+                sequence = log.append(record.toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.creatorChanging(todoItem, creator));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void deadLineChanging(TodoItem todoItem, LocalDate deadLine) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItem.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(DEADLINE).putInt(todoItem.getId())
+                        .putLong(deadLine.toEpochDay()).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.deadLineChanging(todoItem, deadLine));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void titleChanging(TodoItem todoItem, String title) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItem.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(TITLE).putInt(todoItem.getId()).putString(title).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.titleChanging(todoItem, title));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void descriptionChanging(TodoItem todoItem, String description) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItem.getOwner() != this) {
+                    return;
+                }
+                sequence = log.append(new RecordWriter(DESCRIPTION).putInt(todoItem.getId())
+                        .putString(description).toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.descriptionChanging(todoItem, description));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoItemTaskDAO} that records every change of a delegate DAO in a
+ * {@link WriteAheadLog} and rebuilds the delegate by replaying that log on construction, in
+ * the manner of {@link DurableTodoItemDAO}. Item and assignee changes are logged through an
+ * owner wrapping the delegate's. Given the item and person DAOs, which must be rebuilt first,
+ * replay links each task's item and assignee by id to the instances stored there; others are
+ * rebuilt from the log, and tasks that shared one share the rebuilt instance.
+ */
+public class DurableTodoItemTaskDAO implements TodoItemTaskDAO {
+    private static final byte PERSIST = 1;
+    private static final byte PERSIST_ALL = 2;
+    private static final byte REMOVE = 3;
+    private static final byte REMOVE_ALL = 4;
+    private static final byte ASSIGNEE = 5;
+    private static final byte TODO_ITEM = 6;
+
+    private final TodoItemTaskDAO delegate;
+    private final WriteAheadLog log;
+    private final TodoItemDAO todoItems;
+    private final PersonDAO people;
+    private final Object sequencer;
+
+    /** Replays items and assignees from the log alone, so they are shared only among its tasks. */
+    public DurableTodoItemTaskDAO(TodoItemTaskDAO delegate, WriteAheadLog log) {
+        this(delegate, log, new TodoItemDAOCollection(), new PersonDAOCollection());
+    }
+
+    public DurableTodoItemTaskDAO(TodoItemTaskDAO delegate, WriteAheadLog log, TodoItemDAO todoItems,
+                                  PersonDAO people) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null.");
+        }
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null.");
+        }
+        if (todoItems == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        if (people == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        if (delegate.stream().findAny().isPresent()) {
+            throw new IllegalArgumentException("Delegate must be empty.");
+        }
+        this.delegate = delegate;
+        this.log = log;
+        this.todoItems = todoItems;
+        this.people = people;
+        this.sequencer = new Object();
+        replay();
+    }
+
+    @Override
+    public TodoItemTask persist(TodoItemTask todoItemTask) {
+        checkStorable(todoItemTask);
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST);
+            EntityRecords.writeTodoItemTask(record, todoItemTask);
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persist(todoItemTask));
+            attach(todoItemTask);
+        }
+        log.awaitDurable(sequence);
+        return todoItemTask;
+    }
+
+    @Override
+    public Collection<TodoItemTask> persistAll(Collection<TodoItemTask> todoItemTasks) {
+        if (todoItemTasks == null) {
+            throw new IllegalArgumentException("TodoItemTasks cannot be null.");
+        }
+        for (TodoItemTask todoItemTask : todoItemTasks) {
+            checkStorable(todoItemTask);
+        }
+        long sequence;
+        synchronized (sequencer) {
+            RecordWriter record = new RecordWriter(PERSIST_ALL).putInt(todoItemTasks.size());
+            for (TodoItemTask todoItemTask : todoItemTasks) {
+                EntityRecords.writeTodoItemTask(record, todoItemTask);
+            }
+            sequence = log.append(record.toByteArray());
+            applyOrAbort(sequence, () -> delegate.persistAll(todoItemTasks));
+            for (TodoItemTask todoItemTask : todoItemTasks) {
+                attach(todoItemTask);
+            }
+        }
+        log.awaitDurable(sequence);
+        return todoItemTasks;
+    }
+
+    @Override
+    public TodoItemTask findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Collection<TodoItemTask> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public ReadView<TodoItemTask> readView() {
+        return delegate.readView();
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByAssignedStatus(boolean status) {
+        return delegate.findByAssignedStatus(status);
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByPersonId(int personId) {
+        return delegate.findByPersonId(personId);
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByTodoItemId(int todoItemId) {
+        return delegate.findByTodoItemId(todoItemId);
+    }
+
+    @Override
+    public Stream<TodoItemTask> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public Stream<TodoItemTask> streamByAssignedStatus(boolean status) {
+        return delegate.streamByAssignedStatus(status);
+    }
+
+    @Override
+    public Stream<TodoItemTask> streamByPersonId(int personId) {
+        return delegate.streamByPersonId(personId);
+    }
+
+    @Override
+    public Page<TodoItemTask> findPage(PageCursor after, int pageSize) {
+        return delegate.findPage(after, pageSize);
+    }
+
+    @Override
+    public Page<TodoItemTask> findPageByPersonId(int personId, PageCursor after, int pageSize) {
+        return delegate.findPageByPersonId(personId, after, pageSize);
+    }
+
+    @Override
+    public void remove(int id) {
+        long sequence;
+        synchronized (sequencer) {
+            TodoItemTask removed = delegate.findById(id);
+            if (removed == null) {
+                return;
+            }
+            sequence = log.append(new RecordWriter(REMOVE).putInt(id).toByteArray());
+            delegate.remove(id);
+            detach(removed);
+        }
+        log.awaitDurable(sequence);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        long sequence;
+        synchronized (sequencer) {
+            List<TodoItemTask> removed = new ArrayList<>();
+            for (int id : BatchKeys.ids(ids)) {
+                TodoItemTask todoItemTask = delegate.findById(id);
+                if (todoItemTask != null) {
+                    removed.add(todoItemTask);
+                }
+            }
+            if (removed.isEmpty()) {
+                return;
+            }
+            RecordWriter record = new RecordWriter(REMOVE_ALL).putInt(removed.size());
+            for (TodoItemTask todoItemTask : removed) {
+                record.putInt(todoItemTask.getId());
+            }
+            sequence = log.append(record.toByteArray());
+            delegate.removeAll(ids);
+            for (TodoItemTask todoItemTask : removed) {
+                detach(todoItemTask);
+            }
+        }
+        log.awaitDurable(sequence);
+    }
+
+    private void replay() {
+        Map<Integer, TodoItem> seenItems = new HashMap<>();
+        Map<Integer, Person> seenPeople = new HashMap<>();
+        log.replay(record -> RejectedRecordException.apply(decode(record, seenItems, seenPeople)));
+        for (TodoItemTask todoItemTask : delegate.findAll()) {
+            attach(todoItemTask);
+        }
+    }
+
+    private Runnable decode(ByteBuffer in, Map<Integer, TodoItem> seenItems, Map<Integer, Person> seenPeople) {
+        byte type = in.get();
+        if (type == PERSIST) {
+            TodoItemTask todoItemTask = EntityRecords.readTodoItemTask(in, todoItems, seenItems, people, seenPeople);
+            return () -> delegate.persist(todoItemTask);
+        } else if (type == PERSIST_ALL) {
+            List<TodoItemTask> batch = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                batch.add(EntityRecords.readTodoItemTask(in, todoItems, seenItems, people, seenPeople));
+            }
+            return () -> delegate.persistAll(batch);
+        } else if (type == REMOVE) {
+            int id = RecordWriter.getInt(in);
+            return () -> delegate.remove(id);
+        } else if (type == REMOVE_ALL) {
+            List<Integer> ids = new ArrayList<>();
+            for (int count = RecordWriter.getInt(in); count > 0; count--) {
+                ids.add(RecordWriter.getInt(in));
+            }
+            return () -> delegate.removeAll(ids);
+        }
+        TodoItemTask todoItemTask = delegate.findById(RecordWriter.getInt(in));
+        if (type == ASSIGNEE) {
+            Person assignee = EntityRecords.readAssignee(in, people, seenPeople);
+            return () -> todoItemTask.setAssignee(assignee);
+        } else if (type == TODO_ITEM) {
+            TodoItem todoItem = EntityRecords.readTodoItemLink(in, todoItems, seenItems, people, seenPeople);
+            return () -> todoItemTask.setTodoItem(todoItem);
+        }
+        throw new IllegalStateException("Unknown log record type " + type + ".");
+    }
+
+    private void checkStorable(TodoItemTask todoItemTask) {
+        if (todoItemTask == null) {
+            throw new IllegalArgumentException("TodoItemTask cannot be null.");
+        }
+        if (todoItemTask.getOwner() instanceof LoggingOwner && ((LoggingOwner) todoItemTask.getOwner()).dao() != this) {
+            throw new IllegalArgumentException("TodoItemTask is already stored in another DAO.");
+        }
+    }
+
+    private void applyOrAbort(long sequence, Runnable change) {
+        try {
+            change.run();
+        } catch (RuntimeException rejected) {
+            try {
+                log.abort(sequence);
+            } catch (RuntimeException logFailure) {
+                rejected.addSuppressed(logFailure);
+            }
+            throw rejected;
+        }
+    }
+
+    private void attach(TodoItemTask todoItemTask) {
+        todoItemTask.setOwner(new LoggingOwner(todoItemTask.getOwner()));
+    }
+
+    private void detach(TodoItemTask todoItemTask) {
+        if (todoItemTask.getOwner() instanceof LoggingOwner) {
+            todoItemTask.setOwner(null);
+        }
+    }
+
+    private final class LoggingOwner implements TodoItemTaskOwner {
+        private final TodoItemTaskOwner next;
+
+        LoggingOwner(TodoItemTaskOwner next) {
+            this.next = next;
+        }
+
+        DurableTodoItemTaskDAO dao() {
+            return DurableTodoItemTaskDAO.this;
+        }
+
+        @Override
+        public void assigneeChanging(TodoItemTask todoItemTask, Person assignee) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItemTask.getOwner() != this) {
+                    return;
+                }
+                RecordWriter record = new RecordWriter(ASSIGNEE).putInt(todoItemTask.getId());
+                EntityRecords.writeAssignee(record, assignee);
+                sequence = log.append(record.toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.assigneeChanging(todoItemTask, assignee));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+
+        @Override
+        public void todoItemChanging(TodoItemTask todoItemTask, TodoItem todoItem) {
+            long sequence;
+            synchronized (sequencer) {
+                if (todoItemTask.getOwner() != this) {
+                    return;
+                }
+                RecordWriter record = new RecordWriter(TODO_ITEM).putInt(todoItemTask.getId());
+                EntityRecords.writeTodoItem(record, todoItem);
+                sequence = log.append(record.toByteArray());
+                if (next != null) {
+                    applyOrAbort(sequence, () -> next.todoItemChanging(todoItemTask, todoItem));
+                }
+            }
+            log.awaitDurable(sequence);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Compact binary encoding of the entities, read and written in place on a {@link ByteBuffer}.
+ * Each top-level value starts with {@link #SCHEMA_VERSION}; decoding rejects any other version,
+ * so the layout can change behind a new one.
+ *
+ * <p>Ids and lengths are unsigned LEB128 varints, deadlines are zig-zag varints of the epoch
+ * day, strings are a varint byte length followed by UTF-8, and an entity's booleans and
+ * optional fields share one leading flags byte. A role is its one-byte code. Referenced
+ * entities are nested by value: an item carries its creator, a person its credentials.
+ * A user carries its password hash; version 1 carried the plain password.
+ *
+ * <p>Encoding writes straight into the buffer without temporary arrays; {@code encodedSize}
+ * gives the exact size up front. Decoding from a heap buffer builds each string directly from
+ * the backing array. A buffer that is too small fails with the usual
+ * {@link java.nio.BufferOverflowException} or {@link java.nio.BufferUnderflowException}.
+ */
+public final class EntityCodec {
+    public static final byte SCHEMA_VERSION = 2;
+
+    private static final int HAS_CREDENTIALS = 1;
+    private static final int DONE = 1;
+    private static final int HAS_DESCRIPTION = 2;
+    private static final int ASSIGNED = 1;
+    private static final int MAX_RETAINED_SCRATCH_BYTES = 64 << 10;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private EntityCodec() {
+    }
+
+    public static void encode(AppRole role, ByteBuffer out) {
+        checkNotNull(role, "Role");
+        checkNotNull(out, "Buffer");
+        out.put(SCHEMA_VERSION);
+        writeRole(out, role);
+    }
+
+    public static void encode(AppUser appUser, ByteBuffer out) {
+        checkNotNull(appUser, "AppUser");
+        checkNotNull(out, "Buffer");
+        out.put(SCHEMA_VERSION);
+        writeAppUser(out, appUser);
+    }
+
+    public static void encode(Person person, ByteBuffer out) {
+        checkNotNull(person, "Person");
+        checkNotNull(out, "Buffer");
+        out.put(SCHEMA_VERSION);
+        writePerson(out, person);
+    }
+
+    public static void encode(TodoItem todoItem, ByteBuffer out) {
+        checkNotNull(todoItem, "TodoItem");
+        checkNotNull(out, "Buffer");
+        out.put(SCHEMA_VERSION);
+        writeTodoItem(out, todoItem);
+    }
+
+    public static void encode(TodoItemTask todoItemTask, ByteBuffer out) {
+        checkNotNull(todoItemTask, "TodoItemTask");
+        checkNotNull(out, "Buffer");
+        out.put(SCHEMA_VERSION);
+        writeTodoItemTask(out, todoItemTask);
+    }
+
+    public static AppRole decodeAppRole(ByteBuffer in) {
+        checkVersion(in);
+        return readRole(in);
+    }
+
+    public static AppUser decodeAppUser(ByteBuffer in) {
+        checkVersion(in);
+        return readAppUser(in);
+    }
+
+    public static Person decodePerson(ByteBuffer in) {
+        checkVersion(in);
+        return readPerson(in);
+    }
+
+    public static TodoItem decodeTodoItem(ByteBuffer in) {
+        checkVersion(in);
+        return readTodoItem(in);
+    }
+
+    public static TodoItemTask decodeTodoItemTask(ByteBuffer in) {
+        checkVersion(in);
+        return readTodoItemTask(in);
+    }
+
+    public static int encodedSize(AppRole role) {
+        checkNotNull(role, "Role");
+        return 2;
+    }
+
+    public static int encodedSize(AppUser appUser) {
+        checkNotNull(appUser, "AppUser");
+        return 1 + sizeOf(appUser);
+    }
+
+    public static int encodedSize(Person person) {
+        checkNotNull(person, "Person");
+        return 1 + sizeOf(person);
+    }
+
+    public static int encodedSize(TodoItem todoItem) {
+        checkNotNull(todoItem, "TodoItem");
+        return 1 + sizeOf(todoItem);
+    }
+
+    public static int encodedSize(TodoItemTask todoItemTask) {
+        checkNotNull(todoItemTask, "TodoItemTask");
+        return 1 + sizeOf(todoItemTask);
+    }
+
+    static void writeRole(ByteBuffer out, AppRole role) {
+        out.put((byte) role.ordinal());
+    }
+
+    static AppRole readRole(ByteBuffer in) {
+        int code = in.get() & 0xFF;
+        AppRole[] roles = AppRole.values();
+        if (code >= roles.length) {
+            throw new IllegalArgumentException("Unknown role code " + code + ".");
+        }
+        return roles[code];
+    }
+
+    static void writeAppUser(ByteBuffer out, AppUser appUser) {
+        writeRole(out, appUser.getRole());
+        putString(out, appUser.getUsername());
+        putString(out, appUser.getPasswordHash());
+    }
+
+    static AppUser readAppUser(ByteBuffer in) {
+        AppRole role = readRole(in);
+        String username = getString(in);
+        String passwordHash = getString(in);
+        return AppUser.withPasswordHash(username, passwordHash, role);
+    }
+
+    static int sizeOf(AppUser appUser) {
+        return 1 + stringSize(appUser.getUsername()) + stringSize(appUser.getPasswordHash());
+    }
+
+    static void writePerson(ByteBuffer out, Person person) {
+        AppUser credentials = person.getCredentials();
+        out.put((byte) (credentials != null ? HAS_CREDENTIALS : 0));
+        putVarInt(out, person.getId());
+        putString(out, person.getFirstName());
+        putString(out, person.getLastName());
+        putString(out, person.getEmail());
+        if (credentials != null) {
+            writeAppUser(out, credentials);
+        }
+    }
+
+    static Person readPerson(ByteBuffer in) {
+        int flags = in.get();
+        int id = getVarInt(in);
+        String firstName = getString(in);
+        String lastName = getString(in);
+        String email = getString(in);
+        AppUser credentials = (flags & HAS_CREDENTIALS) != 0 ? readAppUser(in) : null;
+        return new Person(id, firstName, lastName, email, credentials);
+    }
+
+    static int sizeOf(Person person) {
+        int size = 1 + varIntSize(person.getId()) + stringSize(person.getFirstName())
+                + stringSize(person.getLastName()) + stringSize(person.getEmail());
+        return person.getCredentials() != null ? size + sizeOf(person.getCredentials()) : size;
+    }
+
+    static void writeTodoItem(ByteBuffer out, TodoItem todoItem) {
+        int flags = todoItem.isDone() ? DONE : 0;
+        if (todoItem.getDescription() != null) {
+            flags |= HAS_DESCRIPTION;
+        }
+        out.put((byte) flags);
+        putVarInt(out, todoItem.getId());
+        putVarLong(out, zigZag(todoItem.getDeadLine().toEpochDay()));
+        putString(out, todoItem.getTitle());
+        if (todoItem.getDescription() != null) {
+            putString(out, todoItem.getDescription());
+        }
+        writePerson(out, todoItem.getCreator());
+    }
+
+    static TodoItem readTodoItem(ByteBuffer in) {
+        int flags = in.get();
+        int id = getVarInt(in);
+        LocalDate deadLine = LocalDate.ofEpochDay(unZigZag(getVarLong(in)));
+        String title = getString(in);
+        String description = (flags & HAS_DESCRIPTION) != 0 ? getString(in) : null;
+        TodoItem todoItem = new TodoItem(id, title, description, deadLine, readPerson(in));
+        todoItem.setDone((flags & DONE) != 0);
+        return todoItem;
+    }
+
+    static int sizeOf(TodoItem todoItem) {
+        int size = 1 + varIntSize(todoItem.getId()) + varLongSize(zigZag(todoItem.getDeadLine().toEpochDay()))
+                + stringSize(todoItem.getTitle()) + sizeOf(todoItem.getCreator());
+        return todoItem.getDescription() != null ? size + stringSize(todoItem.getDescription()) : size;
+    }
+
+    static void writeTodoItemTask(ByteBuffer out, TodoItemTask todoItemTask) {
+        Person assignee = todoItemTask.getAssignee();
+        out.put((byte) (assignee != null ? ASSIGNED : 0));
+        putVarInt(out, todoItemTask.getId());
+        writeTodoItem(out, todoItemTask.getTodoItem());
+        if (assignee != null) {
+            writePerson(out, assignee);
+        }
+    }
+
+    static TodoItemTask readTodoItemTask(ByteBuffer in) {
+        int flags = in.get();
+        int id = getVarInt(in);
+        TodoItem todoItem = readTodoItem(in);
+        Person assignee = (flags & ASSIGNED) != 0 ? readPerson(in) : null;
+        return new TodoItemTask(id, todoItem, assignee);
+    }
+
+    static int sizeOf(TodoItemTask todoItemTask) {
+        int size = 1 + varIntSize(todoItemTask.getId()) + sizeOf(todoItemTask.getTodoItem());
+        return todoItemTask.getAssignee() != null ? size + sizeOf(todoItemTask.getAssignee()) : size;
+    }
+
+    /** Negative values are written as their unsigned 32-bit pattern and take five bytes. */
+    static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte next = in.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    static int varIntSize(int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte next = in.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    static int varLongSize(long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Unpaired surrogates are written as '?', as {@link String#getBytes} does. */
+    static void putString(ByteBuffer out, String value) {
+        putVarInt(out, utf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out.put((byte) (0xF0 | codePoint >> 18))
+                            .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                            .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                            .put((byte) (0x80 | codePoint & 0x3F));
+                } else {
+                    out.put((byte) '?');
+                }
+            } else {
+                out.put((byte) (0xE0 | c >> 12))
+                        .put((byte) (0x80 | c >> 6 & 0x3F))
+                        .put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = getVarInt(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Malformed string length " + length + ".");
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            if (scratch.length <= MAX_RETAINED_SCRATCH_BYTES) {
+                SCRATCH.set(scratch);
+            }
+        }
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    static int stringSize(String value) {
+        int length = utf8Length(value);
+        return varIntSize(length) + length;
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                }
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private static void checkVersion(ByteBuffer in) {
+        checkNotNull(in, "Buffer");
+        byte version = in.get();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version " + version + ".");
+        }
+    }
+
+    private static void checkNotNull(Object value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null.");
+        }
+    }
+}
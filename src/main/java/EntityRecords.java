@@ -0,0 +1,137 @@
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Entities inside {@link WriteAheadLog} records, in their {@link EntityCodec} layouts. A reader
+ * passes a map of the instances decoded so far, so that a log naming the same person or item
+ * twice replays into one shared, up-to-date instance. People and items that another entity
+ * refers to are linked by id to the instance a given DAO stores, when it stores one.
+ */
+final class EntityRecords {
+    private EntityRecords() {
+    }
+
+    static void writePerson(RecordWriter out, Person person) {
+        EntityCodec.writePerson(out.reserve(EntityCodec.sizeOf(person)), person);
+    }
+
+    static Person readPerson(ByteBuffer in, Map<Integer, Person> seen) {
+        return canonical(EntityCodec.readPerson(in), seen);
+    }
+
+    static void writeTodoItem(RecordWriter out, TodoItem todoItem) {
+        EntityCodec.writeTodoItem(out.reserve(EntityCodec.sizeOf(todoItem)), todoItem);
+    }
+
+    static TodoItem readTodoItem(ByteBuffer in, Map<Integer, TodoItem> seenItems, PersonDAO people,
+                                 Map<Integer, Person> seenPeople) {
+        return canonical(EntityCodec.readTodoItem(in), seenItems, people, seenPeople);
+    }
+
+    /** Reads a creator or assignee, linked by id to the person {@code people} stores. */
+    static Person readPersonLink(ByteBuffer in, PersonDAO people, Map<Integer, Person> seenPeople) {
+        return link(EntityCodec.readPerson(in), people, seenPeople);
+    }
+
+    /** Reads the item of a task, linked by id to the item {@code todoItems} stores. */
+    static TodoItem readTodoItemLink(ByteBuffer in, TodoItemDAO todoItems, Map<Integer, TodoItem> seenItems,
+                                     PersonDAO people, Map<Integer, Person> seenPeople) {
+        return link(EntityCodec.readTodoItem(in), todoItems, seenItems, people, seenPeople);
+    }
+
+    static void writeAppUser(RecordWriter out, AppUser appUser) {
+        EntityCodec.writeAppUser(out.reserve(EntityCodec.sizeOf(appUser)), appUser);
+    }
+
+    static AppUser readAppUser(ByteBuffer in) {
+        return EntityCodec.readAppUser(in);
+    }
+
+    static void writeRole(RecordWriter out, AppRole role) {
+        EntityCodec.writeRole(out.reserve(1), role);
+    }
+
+    static AppRole readRole(ByteBuffer in) {
+        return EntityCodec.readRole(in);
+    }
+
+    static void writeCredentials(RecordWriter out, AppUser credentials) {
+        out.putBoolean(credentials != null);
+        if (credentials != null) {
+            writeAppUser(out, credentials);
+        }
+    }
+
+    static AppUser readCredentials(ByteBuffer in) {
+        return RecordWriter.getBoolean(in) ? readAppUser(in) : null;
+    }
+
+    static void writeTodoItemTask(RecordWriter out, TodoItemTask todoItemTask) {
+        EntityCodec.writeTodoItemTask(out.reserve(EntityCodec.sizeOf(todoItemTask)), todoItemTask);
+    }
+
+    static TodoItemTask readTodoItemTask(ByteBuffer in, TodoItemDAO todoItems, Map<Integer, TodoItem> seenItems,
+                                         PersonDAO people, Map<Integer, Person> seenPeople) {
+        TodoItemTask decoded = EntityCodec.readTodoItemTask(in);
+        TodoItem todoItem = link(decoded.getTodoItem(), todoItems, seenItems, people, seenPeople);
+        Person assignee = decoded.getAssignee() == null ? null : link(decoded.getAssignee(), people, seenPeople);
+        return new TodoItemTask(decoded.getId(), todoItem, assignee);
+    }
+
+    static void writeAssignee(RecordWriter out, Person assignee) {
+        out.putBoolean(assignee != null);
+        if (assignee != null) {
+            writePerson(out, assignee);
+        }
+    }
+
+    static Person readAssignee(ByteBuffer in, PersonDAO people, Map<Integer, Person> seenPeople) {
+        return RecordWriter.getBoolean(in) ? readPersonLink(in, people, seenPeople) : null;
+    }
+
+    /**
+     * The stored person with the decoded one's id, as it is at least as current as the log;
+     * the decoded person stands in for one the DAO no longer or never held.
+     */
+    private static Person link(Person decoded, PersonDAO people, Map<Integer, Person> seenPeople) {
+        Person stored = people.findById(decoded.getId());
+        return stored != null ? stored : canonical(decoded, seenPeople);
+    }
+
+    private static TodoItem link(TodoItem decoded, TodoItemDAO todoItems, Map<Integer, TodoItem> seenItems,
+                                 PersonDAO people, Map<Integer, Person> seenPeople) {
+        TodoItem stored = todoItems.findById(decoded.getId());
+        return stored != null ? stored : canonical(decoded, seenItems, people, seenPeople);
+    }
+
+    private static Person canonical(Person decoded, Map<Integer, Person> seen) {
+        if (seen == null) {
+            return decoded;
+        }
+        Person person = seen.putIfAbsent(decoded.getId(), decoded);
+        if (person == null) {
+            return decoded;
+        }
+        person.setFirstName(decoded.getFirstName());
+        person.setLastName(decoded.getLastName());
+        person.setEmail(decoded.getEmail());
+        person.setCredentials(decoded.getCredentials());
+        return person;
+    }
+
+    private static TodoItem canonical(TodoItem decoded, Map<Integer, TodoItem> seenItems, PersonDAO people,
+                                      Map<Integer, Person> seenPeople) {
+        Person creator = link(decoded.getCreator(), people, seenPeople);
+        TodoItem todoItem = seenItems == null ? null : seenItems.putIfAbsent(decoded.getId(), decoded);
+        if (todoItem == null) {
+            decoded.setCreator(creator);
+            return decoded;
+        }
+        todoItem.setTitle(decoded.getTitle());
+        todoItem.setDescription(decoded.getDescription());
+        todoItem.setDeadLine(decoded.getDeadLine());
+        todoItem.setCreator(creator);
+        todoItem.setDone(decoded.isDone());
+        return todoItem;
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * When a {@link WriteAheadLog} forces its appended records to the storage device.
+ */
+public enum FsyncPolicy {
+    /** Every write waits until its record is on disk; concurrent writers share one fsync. */
+    ALWAYS,
+    /** Records go to the OS on every write and are forced every configured interval. */
+    INTERVAL,
+    /** Records go to the OS on every write and are never forced explicitly. */
+    NEVER
+}
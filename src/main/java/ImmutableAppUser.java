@@ -0,0 +1,104 @@
+/**
+ * Immutable counterpart of {@link AppUser}. Identity is the case-folded username, as in the
+ * DAOs, so the hash code is computed once on construction; {@link #contentEquals} compares
+ * every field. The {@code with} methods return a copy, or this user if nothing changes.
+ */
+public final class ImmutableAppUser {
+    private final String username;
+    private final String passwordHash;
+    private final AppRole role;
+    private final String key;
+    private final int hash;
+
+    public ImmutableAppUser(String username, String password, AppRole role) {
+        this(username, password, role, true);
+    }
+
+    private ImmutableAppUser(String username, String password, AppRole role, boolean plain) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username cannot be null or empty.");
+        }
+        if (plain && (password == null || password.trim().isEmpty())) {
+            throw new IllegalArgumentException("Password cannot be null or empty.");
+        }
+        if (!plain) {
+            PasswordHasher.checkHash(password);
+        }
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null.");
+        }
+        this.username = username;
+        this.passwordHash = plain ? PasswordHasher.defaultHasher().hash(password) : password;
+        this.role = role;
+        this.key = CaseFolding.fold(username);
+        this.hash = key.hashCode();
+    }
+
+    public static ImmutableAppUser of(AppUser appUser) {
+        if (appUser == null) {
+            throw new IllegalArgumentException("AppUser cannot be null.");
+        }
+        return new ImmutableAppUser(appUser.getUsername(), appUser.getPasswordHash(), appUser.getRole(), false);
+    }
+
+    public AppUser toAppUser() {
+        return AppUser.withPasswordHash(username, passwordHash, role);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public boolean verifyPassword(String password) {
+        return PasswordHasher.verify(password, passwordHash);
+    }
+
+    public AppRole getRole() {
+        return role;
+    }
+
+    public ImmutableAppUser withUsername(String username) {
+        return this.username.equals(username) ? this : new ImmutableAppUser(username, passwordHash, role, false);
+    }
+
+    /** Always returns a copy, as the password is hashed with a fresh salt. */
+    public ImmutableAppUser withPassword(String password) {
+        return new ImmutableAppUser(username, password, role);
+    }
+
+    public ImmutableAppUser withRole(AppRole role) {
+        return this.role == role ? this : new ImmutableAppUser(username, passwordHash, role, false);
+    }
+
+    public boolean contentEquals(ImmutableAppUser other) {
+        return other != null &&
+                username.equals(other.username) &&
+                passwordHash.equals(other.passwordHash) &&
+                role == other.role;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutableAppUser)) return false;
+        ImmutableAppUser appUser = (ImmutableAppUser) o;
+        return hash == appUser.hash && key.equals(appUser.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableAppUser{" +
+                "username=\'" + username + "\', " +
+                "role=" + role +
+                "}";
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Immutable counterpart of {@link Person}. Identity is the id, which doubles as the hash code;
+ * {@link #contentEquals} compares every field, credentials included. The {@code with} methods
+ * return a copy, or this person if nothing changes.
+ */
+public final class ImmutablePerson {
+    private final int id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final ImmutableAppUser credentials;
+
+    public ImmutablePerson(int id, String firstName, String lastName, String email) {
+        this(id, firstName, lastName, email, null);
+    }
+
+    public ImmutablePerson(int id, String firstName, String lastName, String email, ImmutableAppUser credentials) {
+        if (firstName == null || firstName.trim().isEmpty()) {
+            throw new IllegalArgumentException("First name cannot be null or empty.");
+        }
+        if (lastName == null || lastName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Last name cannot be null or empty.");
+        }
+        if (email == null || email.trim().isEmpty()) {
+            throw new IllegalArgumentException("Email cannot be null or empty.");
+        }
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.credentials = credentials;
+    }
+
+    public static ImmutablePerson of(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person cannot be null.");
+        }
+        AppUser credentials = person.getCredentials();
+        return new ImmutablePerson(person.getId(), person.getFirstName(), person.getLastName(), person.getEmail(),
+                credentials == null ? null : ImmutableAppUser.of(credentials));
+    }
+
+    public Person toPerson() {
+        return new Person(id, firstName, lastName, email, credentials == null ? null : credentials.toAppUser());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public ImmutableAppUser getCredentials() {
+        return credentials;
+    }
+
+    public ImmutablePerson withFirstName(String firstName) {
+        return this.firstName.equals(firstName) ? this : new ImmutablePerson(id, firstName, lastName, email, credentials);
+    }
+
+    public ImmutablePerson withLastName(String lastName) {
+        return this.lastName.equals(lastName) ? this : new ImmutablePerson(id, firstName, lastName, email, credentials);
+    }
+
+    public ImmutablePerson withEmail(String email) {
+        return this.email.equals(email) ? this : new ImmutablePerson(id, firstName, lastName, email, credentials);
+    }
+
+    public ImmutablePerson withCredentials(ImmutableAppUser credentials) {
+        return this.credentials == credentials ? this : new ImmutablePerson(id, firstName, lastName, email, credentials);
+    }
+
+    public boolean contentEquals(ImmutablePerson other) {
+        return other != null &&
+                id == other.id &&
+                firstName.equals(other.firstName) &&
+                lastName.equals(other.lastName) &&
+                email.equals(other.email) &&
+                (credentials == null ? other.credentials == null : credentials.contentEquals(other.credentials));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutablePerson)) return false;
+        return id == ((ImmutablePerson) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutablePerson{" +
+                "id=" + id +
+                ", firstName=\'" + firstName + "\'" +
+                ", lastName=\'" + lastName + "\'" +
+                ", email=\'" + email + "\'" +
+                "}";
+    }
+}
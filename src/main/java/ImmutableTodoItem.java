@@ -0,0 +1,138 @@
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable counterpart of {@link TodoItem}. Identity is the id, which doubles as the hash code,
+ * so hash-keyed structures never walk the fields; {@link #contentEquals} compares the fields the
+ * way {@link TodoItem#equals} does. The {@code with} methods return a copy, or this item if
+ * nothing changes.
+ */
+public final class ImmutableTodoItem {
+    private final int id;
+    private final String title;
+    private final String description;
+    private final LocalDate deadLine;
+    private final boolean done;
+    private final ImmutablePerson creator;
+
+    public ImmutableTodoItem(int id, String title, String description, LocalDate deadLine, ImmutablePerson creator) {
+        this(id, title, description, deadLine, false, creator);
+    }
+
+    public ImmutableTodoItem(int id, String title, String description, LocalDate deadLine, boolean done,
+                             ImmutablePerson creator) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Title cannot be null or empty.");
+        }
+        if (deadLine == null) {
+            throw new IllegalArgumentException("Deadline cannot be null.");
+        }
+        if (creator == null) {
+            throw new IllegalArgumentException("Creator cannot be null.");
+        }
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.deadLine = deadLine;
+        this.done = done;
+        this.creator = creator;
+    }
+
+    public static ImmutableTodoItem of(TodoItem todoItem) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        return new ImmutableTodoItem(todoItem.getId(), todoItem.getTitle(), todoItem.getDescription(),
+                todoItem.getDeadLine(), todoItem.isDone(), ImmutablePerson.of(todoItem.getCreator()));
+    }
+
+    public TodoItem toTodoItem() {
+        TodoItem todoItem = new TodoItem(id, title, description, deadLine, creator.toPerson());
+        todoItem.setDone(done);
+        return todoItem;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDeadLine() {
+        return deadLine;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public ImmutablePerson getCreator() {
+        return creator;
+    }
+
+    public boolean isOverdue(LocalDate today) {
+        if (today == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return today.isAfter(deadLine);
+    }
+
+    public ImmutableTodoItem withTitle(String title) {
+        return this.title.equals(title) ? this : new ImmutableTodoItem(id, title, description, deadLine, done, creator);
+    }
+
+    public ImmutableTodoItem withDescription(String description) {
+        return Objects.equals(this.description, description)
+                ? this : new ImmutableTodoItem(id, title, description, deadLine, done, creator);
+    }
+
+    public ImmutableTodoItem withDeadLine(LocalDate deadLine) {
+        return this.deadLine.equals(deadLine) ? this : new ImmutableTodoItem(id, title, description, deadLine, done, creator);
+    }
+
+    public ImmutableTodoItem withDone(boolean done) {
+        return this.done == done ? this : new ImmutableTodoItem(id, title, description, deadLine, done, creator);
+    }
+
+    public ImmutableTodoItem withCreator(ImmutablePerson creator) {
+        return this.creator == creator ? this : new ImmutableTodoItem(id, title, description, deadLine, done, creator);
+    }
+
+    public boolean contentEquals(ImmutableTodoItem other) {
+        return other != null &&
+                id == other.id &&
+                done == other.done &&
+                title.equals(other.title) &&
+                Objects.equals(description, other.description) &&
+                deadLine.equals(other.deadLine);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutableTodoItem)) return false;
+        return id == ((ImmutableTodoItem) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableTodoItem{" +
+                "id=" + id +
+                ", title=\'" + title + "\'," +
+                " description=\'" + description + "\'," +
+                " deadLine=" + deadLine +
+                ", done=" + done +
+                "}";
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Immutable counterpart of {@link TodoItemTask}. Identity is the task id alone, which doubles as
+ * the hash code, so hashing or comparing a task never descends into its item; use
+ * {@link #contentEquals} to compare the item as well. The {@code with} methods return a copy, or
+ * this task if nothing changes.
+ */
+public final class ImmutableTodoItemTask {
+    private final int id;
+    private final ImmutableTodoItem todoItem;
+    private final ImmutablePerson assignee;
+
+    public ImmutableTodoItemTask(int id, ImmutableTodoItem todoItem, ImmutablePerson assignee) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        this.id = id;
+        this.todoItem = todoItem;
+        this.assignee = assignee;
+    }
+
+    public static ImmutableTodoItemTask of(TodoItemTask task) {
+        if (task == null) {
+            throw new IllegalArgumentException("TodoItemTask cannot be null.");
+        }
+        Person assignee = task.getAssignee();
+        return new ImmutableTodoItemTask(task.getId(), ImmutableTodoItem.of(task.getTodoItem()),
+                assignee == null ? null : ImmutablePerson.of(assignee));
+    }
+
+    public TodoItemTask toTodoItemTask() {
+        return new TodoItemTask(id, todoItem.toTodoItem(), assignee == null ? null : assignee.toPerson());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ImmutableTodoItem getTodoItem() {
+        return todoItem;
+    }
+
+    public ImmutablePerson getAssignee() {
+        return assignee;
+    }
+
+    public boolean isAssigned() {
+        return assignee != null;
+    }
+
+    public ImmutableTodoItemTask withTodoItem(ImmutableTodoItem todoItem) {
+        return this.todoItem == todoItem ? this : new ImmutableTodoItemTask(id, todoItem, assignee);
+    }
+
+    public ImmutableTodoItemTask withAssignee(ImmutablePerson assignee) {
+        return this.assignee == assignee ? this : new ImmutableTodoItemTask(id, todoItem, assignee);
+    }
+
+    public boolean contentEquals(ImmutableTodoItemTask other) {
+        return other != null &&
+                id == other.id &&
+                todoItem.contentEquals(other.todoItem);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutableTodoItemTask)) return false;
+        return id == ((ImmutableTodoItemTask) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableTodoItemTask{" +
+                "id=" + id +
+                ", todoItem=" + todoItem +
+                ", assigned=" + isAssigned() +
+                "}";
+    }
+}
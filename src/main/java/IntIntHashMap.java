@@ -0,0 +1,95 @@
+/**
+ * Open-addressing int to int map with linear probing and backward-shift deletion, used
+ * where boxing every key and value into a {@code HashMap} would dominate the footprint.
+ * Values are stored offset by one so that zero marks an empty slot.
+ */
+final class IntIntHashMap {
+    static final int MISSING = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Returns the value for {@code key}, or {@link #MISSING}; stored values must be non-negative. */
+    int get(int key) {
+        int slot = slotOf(key);
+        return values[slot] == 0 ? MISSING : values[slot] - 1;
+    }
+
+    void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative.");
+        }
+        int slot = slotOf(key);
+        if (values[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value + 1;
+        if (size * 4 > keys.length * 3) {
+            resize(keys.length << 1);
+        }
+    }
+
+    int remove(int key) {
+        int slot = slotOf(key);
+        if (values[slot] == 0) {
+            return MISSING;
+        }
+        int removed = values[slot] - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = 0;
+        size--;
+        return removed;
+    }
+
+    private int slotOf(int key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * One page of a keyset-paginated query. {@link #getNextCursor()} is {@code null} on the last
+ * page; otherwise passing it back to the same query returns the rows that follow.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    Page(List<T> items, PageCursor nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+    }
+
+    /**
+     * Takes the first {@code pageSize} rows of an iterator that is already in page order and
+     * positioned after the cursor, looking one row further to tell whether a next page exists.
+     */
+    static <T> Page<T> of(Iterator<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        List<T> items = new ArrayList<>(Math.min(pageSize, 64));
+        while (items.size() < pageSize && rows.hasNext()) {
+            items.add(rows.next());
+        }
+        PageCursor next = rows.hasNext() ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new Page<>(items, next);
+    }
+
+    /**
+     * Selects the first {@code pageSize} rows in {@code order} from unordered candidates that
+     * all follow the cursor. Keeps a bounded heap, so it costs O(n log pageSize) rather than a
+     * full sort; for stores without an ordered index.
+     */
+    static <T> Page<T> select(Stream<T> candidates, Comparator<T> order, int pageSize,
+                              Function<T, PageCursor> cursorOf) {
+        PriorityQueue<T> smallest = new PriorityQueue<>(order.reversed());
+        candidates.forEach(candidate -> {
+            if (smallest.size() <= pageSize) {
+                smallest.add(candidate);
+            } else if (order.compare(candidate, smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(candidate);
+            }
+        });
+        List<T> rows = new ArrayList<>(smallest);
+        rows.sort(order);
+        return of(rows.iterator(), pageSize, cursorOf);
+    }
+
+    /**
+     * Rows of an id-keyed index that follow the cursor's id.
+     */
+    static <T> Iterator<T> afterId(NavigableMap<Integer, T> index, PageCursor cursor) {
+        return (cursor == null ? index : index.tailMap(cursor.getId(), false)).values().iterator();
+    }
+
+    /**
+     * Rows of a two-level index, ordered by key and then by id, that follow the cursor.
+     * Buckets are entered one at a time, so reaching the first row costs one seek however
+     * large the skipped buckets are.
+     */
+    static <T> Iterator<T> afterKey(NavigableMap<Long, ? extends NavigableMap<Integer, T>> index, PageCursor cursor) {
+        Iterator<? extends NavigableMap<Integer, T>> buckets;
+        Iterator<T> first;
+        if (cursor == null) {
+            buckets = index.values().iterator();
+            first = Collections.emptyIterator();
+        } else {
+            NavigableMap<Integer, T> bucket = index.get(cursor.getKey());
+            buckets = index.tailMap(cursor.getKey(), false).values().iterator();
+            first = bucket == null ? Collections.emptyIterator() : afterId(bucket, cursor);
+        }
+        return new Iterator<>() {
+            private Iterator<T> current = first;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && buckets.hasNext()) {
+                    current = buckets.next().values().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque position after the last row of a {@link Page}. It records the sort key and id of
+ * that row rather than an offset, so the next page starts with an index seek and is not
+ * shifted by rows persisted or removed in between. {@link #encode()} turns a cursor into a
+ * URL-safe token for clients that have to hand it back later.
+ */
+public final class PageCursor {
+    private final PageOrder order;
+    private final long key;
+    private final int id;
+
+    PageCursor(PageOrder order, long key, int id) {
+        this.order = order;
+        this.key = key;
+        this.id = id;
+    }
+
+    PageOrder getOrder() {
+        return order;
+    }
+
+    long getKey() {
+        return key;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    boolean isBefore(long key, int id) {
+        return this.key < key || (this.key == key && this.id < id);
+    }
+
+    static void check(PageCursor cursor, PageOrder order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null.");
+        }
+        if (cursor != null && cursor.order != order) {
+            throw new IllegalArgumentException("Cursor was issued for a different order.");
+        }
+    }
+
+    public String encode() {
+        String token = order.name() + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Cursor cannot be null.");
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new PageCursor(PageOrder.valueOf(parts[0]), Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "order=" + order +
+                ", key=" + key +
+                ", id=" + id +
+                "}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageCursor cursor = (PageCursor) o;
+        return order == cursor.order &&
+                key == cursor.key &&
+                id == cursor.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(order, key, id);
+    }
+}
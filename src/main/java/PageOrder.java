@@ -0,0 +1,38 @@
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Sort orders for keyset pagination. Every order ends with the id as a tie-breaker, so it is
+ * total and a page boundary is a single (sort key, id) position.
+ */
+public enum PageOrder {
+    ID {
+        @Override
+        long sortKey(TodoItem todoItem) {
+            return 0;
+        }
+    },
+    DEADLINE {
+        @Override
+        long sortKey(TodoItem todoItem) {
+            return todoItem.getDeadLine().toEpochDay();
+        }
+    };
+
+    abstract long sortKey(TodoItem todoItem);
+
+    Comparator<TodoItem> comparator() {
+        return Comparator.comparingLong(this::sortKey).thenComparingInt(TodoItem::getId);
+    }
+
+    PageCursor cursorOf(TodoItem todoItem) {
+        return new PageCursor(this, sortKey(todoItem), todoItem.getId());
+    }
+
+    Predicate<TodoItem> after(PageCursor cursor) {
+        if (cursor == null) {
+            return todoItem -> true;
+        }
+        return todoItem -> cursor.isBefore(sortKey(todoItem), todoItem.getId());
+    }
+}
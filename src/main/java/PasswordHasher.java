@@ -0,0 +1,117 @@
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashing. A hash is encoded as
+ * {@code pbkdf2-sha256$<iterations>$<salt>$<key>} with a random 16-byte salt, so it carries
+ * its own cost: raising the iteration count leaves existing hashes verifiable, and
+ * {@link #needsRehash} tells which ones to replace at the next successful login.
+ *
+ * <p>The default hasher's iteration count is read once from the
+ * {@value #ITERATIONS_PROPERTY} system property.
+ */
+public final class PasswordHasher {
+    static final String ITERATIONS_PROPERTY = "todoapp.password.iterations";
+    private static final String ALGORITHM = "pbkdf2-sha256";
+    private static final int DEFAULT_ITERATIONS = 600_000;
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final PasswordHasher DEFAULT =
+            new PasswordHasher(Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+
+    private final int iterations;
+
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive.");
+        }
+        this.iterations = iterations;
+    }
+
+    public static PasswordHasher defaultHasher() {
+        return DEFAULT;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public String hash(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty.");
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return ALGORITHM + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations));
+    }
+
+    /** Checks the password against a hash in constant time with respect to the key. */
+    public static boolean verify(String password, String hash) {
+        if (password == null || password.isEmpty()) {
+            return false;
+        }
+        String[] parts = parse(hash);
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] expected = decoder.decode(parts[3]);
+        return MessageDigest.isEqual(expected, derive(password, decoder.decode(parts[2]), Integer.parseInt(parts[1])));
+    }
+
+    /** Returns true when the hash was made with fewer iterations than this hasher uses. */
+    public boolean needsRehash(String hash) {
+        return Integer.parseInt(parse(hash)[1]) < iterations;
+    }
+
+    static void checkHash(String hash) {
+        parse(hash);
+    }
+
+    private static String[] parse(String hash) {
+        if (hash == null || hash.isEmpty()) {
+            throw new IllegalArgumentException("Password hash cannot be null or empty.");
+        }
+        String[] parts = hash.split("\\$", -1);
+        if (parts.length != 4 || !ALGORITHM.equals(parts[0]) || !isIterationCount(parts[1])
+                || !isBase64(parts[2]) || !isBase64(parts[3])) {
+            throw new IllegalArgumentException("Password hash is malformed.");
+        }
+        return parts;
+    }
+
+    private static boolean isIterationCount(String value) {
+        if (value.isEmpty() || value.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return Integer.parseInt(value) > 0;
+    }
+
+    private static boolean isBase64(String value) {
+        try {
+            return Base64.getDecoder().decode(value).length > 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 is not available.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable hash trie. Updates copy only the path to the changed key, at most seven
+ * bitmap-compressed nodes, and share everything else with the map they were made from, so
+ * every published version stays readable at no cost to the writer. Keys are placed by their
+ * hash code with the sign bit flipped, so integer keys iterate in ascending order; keys with
+ * equal hash codes share a collision chain.
+ */
+final class PersistentMap<K, V> {
+    private static final int BITS = 5;
+    private static final int LEAF_SHIFT = 0;
+    private static final int ROOT_SHIFT = 30;
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new Node(0, new Object[0]), 0, 0);
+
+    private final Node root;
+    private final int size;
+    private final long version;
+
+    private PersistentMap(Node root, int size, long version) {
+        this.root = root;
+        this.size = size;
+        this.version = version;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long version() {
+        return version;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        int hash = hash(key);
+        Node node = root;
+        for (int shift = ROOT_SHIFT; ; shift -= BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[node.index(bit)];
+            if (shift == LEAF_SHIFT) {
+                for (Entry entry = (Entry) slot; entry != null; entry = entry.next) {
+                    if (entry.key.equals(key)) {
+                        return (V) entry.value;
+                    }
+                }
+                return null;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    /** Returns a map that also maps the key to the value, replacing any previous value. */
+    PersistentMap<K, V> with(K key, V value) {
+        boolean[] added = new boolean[1];
+        Node updated = with(root, ROOT_SHIFT, hash(key), key, value, added);
+        return new PersistentMap<>(updated, added[0] ? size + 1 : size, version + 1);
+    }
+
+    /** Returns a map without the key, or this map if the key is absent. */
+    PersistentMap<K, V> without(K key) {
+        Node updated = without(root, ROOT_SHIFT, hash(key), key);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentMap<>(updated != null ? updated : new Node(0, new Object[0]), size - 1, version + 1);
+    }
+
+    ReadView<V> values() {
+        return new Values<>(this);
+    }
+
+    private static Node with(Node node, int shift, int hash, Object key, Object value, boolean[] added) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            Object slot = shift == LEAF_SHIFT ? new Entry(key, value, null) : path(shift - BITS, hash, key, value);
+            return node.inserted(bit, index, slot);
+        }
+        Object slot = node.slots[index];
+        if (shift == LEAF_SHIFT) {
+            Entry chain = (Entry) slot;
+            Entry rest = Entry.without(chain, key);
+            if (rest == chain) {
+                added[0] = true;
+            }
+            return node.replaced(index, new Entry(key, value, rest));
+        }
+        return node.replaced(index, with((Node) slot, shift - BITS, hash, key, value, added));
+    }
+
+    private static Node path(int shift, int hash, Object key, Object value) {
+        Object slot = shift == LEAF_SHIFT ? new Entry(key, value, null) : path(shift - BITS, hash, key, value);
+        return new Node(bit(hash, shift), new Object[]{slot});
+    }
+
+    /** Returns the node without the key, the same node if the key is absent, or null if it empties. */
+    private static Node without(Node node, int shift, int hash, Object key) {
+        int bit = bit(hash, shift);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = node.index(bit);
+        Object slot = node.slots[index];
+        Object updated;
+        if (shift == LEAF_SHIFT) {
+            updated = Entry.without((Entry) slot, key);
+        } else {
+            updated = without((Node) slot, shift - BITS, hash, key);
+        }
+        if (updated == slot) {
+            return node;
+        }
+        if (updated != null) {
+            return node.replaced(index, updated);
+        }
+        return node.bitmap == bit ? null : node.removed(bit, index);
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        return key.hashCode() ^ Integer.MIN_VALUE;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static final class Node {
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node inserted(int bit, int index, Object slot) {
+            Object[] grown = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, grown, 0, index);
+            grown[index] = slot;
+            System.arraycopy(slots, index, grown, index + 1, slots.length - index);
+            return new Node(bitmap | bit, grown);
+        }
+
+        private Node replaced(int index, Object slot) {
+            Object[] copy = slots.clone();
+            copy[index] = slot;
+            return new Node(bitmap, copy);
+        }
+
+        private Node removed(int bit, int index) {
+            Object[] shrunk = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, shrunk, 0, index);
+            System.arraycopy(slots, index + 1, shrunk, index, shrunk.length - index);
+            return new Node(bitmap & ~bit, shrunk);
+        }
+    }
+
+    private static final class Entry {
+        private final Object key;
+        private final Object value;
+        private final Entry next;
+
+        private Entry(Object key, Object value, Entry next) {
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        /** Returns the chain without the key, the same chain if the key is absent. */
+        private static Entry without(Entry chain, Object key) {
+            if (chain == null) {
+                return null;
+            }
+            if (chain.key.equals(key)) {
+                return chain.next;
+            }
+            Entry rest = without(chain.next, key);
+            return rest == chain.next ? chain : new Entry(chain.key, chain.value, rest);
+        }
+    }
+
+    private static final class Values<V> extends AbstractCollection<V> implements ReadView<V> {
+        private final PersistentMap<?, V> map;
+
+        private Values(PersistentMap<?, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public long version() {
+            return map.version;
+        }
+
+        @Override
+        public int size() {
+            return map.size;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator<>(map.root);
+        }
+    }
+
+    /** Depth-first walk over the fixed seven levels, keeping one cursor per level. */
+    private static final class ValueIterator<V> implements Iterator<V> {
+        private static final int DEPTH = ROOT_SHIFT / BITS + 1;
+
+        private final Node[] nodes = new Node[DEPTH];
+        private final int[] positions = new int[DEPTH];
+        private Entry next;
+
+        private ValueIterator(Node root) {
+            nodes[0] = root;
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry entry = next;
+            next = entry.next;
+            if (next == null) {
+                advance(DEPTH - 1);
+            }
+            return (V) entry.value;
+        }
+
+        private void advance(int level) {
+            while (level >= 0) {
+                Node node = nodes[level];
+                if (positions[level] == node.slots.length) {
+                    positions[level] = 0;
+                    level--;
+                    continue;
+                }
+                Object slot = node.slots[positions[level]++];
+                if (level == DEPTH - 1) {
+                    next = (Entry) slot;
+                    return;
+                }
+                nodes[++level] = (Node) slot;
+                positions[level] = 0;
+            }
+        }
+    }
+}
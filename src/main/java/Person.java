@@ -6,6 +6,7 @@ public class Person {
     private String lastName;
     private String email;
     private AppUser credentials;
+    private volatile PersonOwner owner;
 
     public Person(int id, String firstName, String lastName, String email) {
         this(id, firstName, lastName, email, null);
@@ -40,6 +41,10 @@ public class Person {
         if (firstName == null || firstName.trim().isEmpty()) {
             throw new IllegalArgumentException("First name cannot be null or empty.");
         }
+        if (owner != null && !this.firstName.equals(firstName)) {
+            owner.firstNameChanging(this, firstName);
+            firstName = owner.canonical(firstName);
+        }
         this.firstName = firstName;
     }
 
@@ -51,6 +56,10 @@ public class Person {
         if (lastName == null || lastName.trim().isEmpty()) {
             throw new IllegalArgumentException("Last name cannot be null or empty.");
         }
+        if (owner != null && !this.lastName.equals(lastName)) {
+            owner.lastNameChanging(this, lastName);
+            lastName = owner.canonical(lastName);
+        }
         this.lastName = lastName;
     }
 
@@ -62,6 +71,9 @@ public class Person {
         if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty.");
         }
+        if (owner != null && !this.email.equals(email)) {
+            owner.emailChanging(this, email);
+        }
         this.email = email;
     }
 
@@ -70,9 +82,20 @@ public class Person {
     }
 
     public void setCredentials(AppUser credentials) {
+        if (owner != null && this.credentials != credentials) {
+            owner.credentialsChanging(this, credentials);
+        }
         this.credentials = credentials;
     }
 
+    PersonOwner getOwner() {
+        return owner;
+    }
+
+    void setOwner(PersonOwner owner) {
+        this.owner = owner;
+    }
+
     @Override
     public String toString() {
         return "Person{" +
@@ -96,7 +119,11 @@ public class Person {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, firstName, lastName, email);
+        // Same value as Objects.hash(id, firstName, lastName, email), without boxing.
+        int result = 31 + id;
+        result = 31 * result + firstName.hashCode();
+        result = 31 * result + lastName.hashCode();
+        return 31 * result + email.hashCode();
     }
 }
 
@@ -1,9 +1,18 @@
 import java.util.Collection;
+import java.util.stream.Stream;
 
+/**
+ * {@link #findAll} returns the DAO's {@link #readView}: an unmodifiable collection of the people
+ * stored now that shares them as {@link ReadView} describes, in no specified order.
+ */
 public interface PersonDAO {
     Person persist(Person person);
+    Collection<Person> persistAll(Collection<Person> people);
     Person findById(int id);
     Person findByEmail(String email);
     Collection<Person> findAll();
+    ReadView<Person> readView();
+    Stream<Person> stream();
     void remove(int id);
-}
\ No newline at end of file
+    void removeAll(Collection<Integer> ids);
+}
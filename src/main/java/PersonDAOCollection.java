@@ -1,15 +1,17 @@
-import com.todoapp.Person;
-import com.todoapp.data.PersonDAO;
-
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class PersonDAOCollection implements PersonDAO {
     private Collection<Person> people;
+    private volatile PersistentMap<Integer, Person> published;
 
     public PersonDAOCollection() {
         this.people = new ArrayList<>();
+        this.published = PersistentMap.empty();
     }
 
     @Override
@@ -24,9 +26,45 @@ public class PersonDAOCollection implements PersonDAO {
             throw new IllegalArgumentException("Person with this email already exists.");
         }
         people.add(person);
+        published = published.with(person.getId(), person);
         return person;
     }
 
+    /**
+     * Validates the batch against id and email sets built in a single pass over the list and
+     * then appends it with one copy, instead of scanning the list twice per person.
+     */
+    @Override
+    public Collection<Person> persistAll(Collection<Person> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        Set<Integer> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Person person : people) {
+            ids.add(person.getId());
+            emails.add(CaseFolding.fold(person.getEmail()));
+        }
+        for (Person person : batch) {
+            if (person == null) {
+                throw new IllegalArgumentException("Person cannot be null.");
+            }
+            if (!ids.add(person.getId())) {
+                throw new IllegalArgumentException("Person with this ID already exists.");
+            }
+            if (!emails.add(CaseFolding.fold(person.getEmail()))) {
+                throw new IllegalArgumentException("Person with this email already exists.");
+            }
+        }
+        people.addAll(batch);
+        PersistentMap<Integer, Person> next = published;
+        for (Person person : batch) {
+            next = next.with(person.getId(), person);
+        }
+        published = next;
+        return batch;
+    }
+
     @Override
     public Person findById(int id) {
         Optional<Person> foundPerson = people.stream()
@@ -48,12 +86,34 @@ public class PersonDAOCollection implements PersonDAO {
 
     @Override
     public Collection<Person> findAll() {
-        return new ArrayList<>(people);
+        return readView();
+    }
+
+    @Override
+    public ReadView<Person> readView() {
+        return published.values();
+    }
+
+    @Override
+    public Stream<Person> stream() {
+        return people.stream();
     }
 
     @Override
     public void remove(int id) {
         people.removeIf(person -> person.getId() == id);
+        published = published.without(id);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        Set<Integer> removed = BatchKeys.ids(ids);
+        people.removeIf(person -> removed.contains(person.getId()));
+        PersistentMap<Integer, Person> next = published;
+        for (int id : removed) {
+            next = next.without(id);
+        }
+        published = next;
     }
 }
 
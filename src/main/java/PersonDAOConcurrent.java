@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link PersonDAO} over concurrent id and case-folded email maps. Writers lock
+ * the stripes of every key they touch, which keeps both uniqueness constraints atomic; reads
+ * take no locks. Each person's indexed email key is recorded by id, since a setter assigns
+ * its field only after the callback returns. {@link #stream()} is a weakly consistent view
+ * of the live store. Writers also publish every change to an immutable map by compare-and-set,
+ * a batch in one step, so {@link #findAll()} and {@link #readView()} return a consistent
+ * {@link ReadView} without locking or copying. First and last names are canonicalized through
+ * a {@link Deduplicator} on persist and on every change.
+ */
+public class PersonDAOConcurrent implements PersonDAO {
+    private static final int STRIPES = 64;
+
+    private final Map<Integer, Person> people;
+    private final Map<String, Person> peopleByEmail;
+    private final Map<Integer, String> emailKeys;
+    private final StripedLocks locks;
+    private final PersonOwner emailIndexMaintainer;
+    private final Deduplicator deduplicator;
+    private final AtomicReference<PersistentMap<Integer, Person>> published;
+
+    public PersonDAOConcurrent() {
+        this(new Deduplicator());
+    }
+
+    public PersonDAOConcurrent(Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            throw new IllegalArgumentException("Deduplicator cannot be null.");
+        }
+        this.deduplicator = deduplicator;
+        this.people = new ConcurrentHashMap<>();
+        this.peopleByEmail = new ConcurrentHashMap<>();
+        this.emailKeys = new ConcurrentHashMap<>();
+        this.locks = new StripedLocks(STRIPES);
+        this.emailIndexMaintainer = new EmailIndexMaintainer();
+        this.published = new AtomicReference<>(PersistentMap.empty());
+    }
+
+    @Override
+    public Person persist(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person cannot be null.");
+        }
+        String emailKey = CaseFolding.fold(person.getEmail());
+        int[] held = locks.lock(person.getId(), emailKey);
+        try {
+            if (people.containsKey(person.getId())) {
+                throw new IllegalArgumentException("Person with this ID already exists.");
+            }
+            if (peopleByEmail.containsKey(emailKey)) {
+                throw new IllegalArgumentException("Person with this email already exists.");
+            }
+            if (person.getOwner() != null) {
+                throw new IllegalArgumentException("Person is already stored in another DAO.");
+            }
+            peopleByEmail.put(emailKey, person);
+            emailKeys.put(person.getId(), emailKey);
+            people.put(person.getId(), person);
+            deduplicator.deduplicate(person);
+            person.setOwner(emailIndexMaintainer);
+            published.updateAndGet(map -> map.with(person.getId(), person));
+        } finally {
+            locks.unlock(held);
+        }
+        return person;
+    }
+
+    /**
+     * Holds the stripes of every id and email in the batch while it is validated and stored,
+     * so the batch is atomic with respect to other writers.
+     */
+    @Override
+    public Collection<Person> persistAll(Collection<Person> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        Map<Integer, String> batchKeys = new HashMap<>();
+        List<Object> stripeKeys = new ArrayList<>();
+        for (Person person : batch) {
+            if (person == null) {
+                throw new IllegalArgumentException("Person cannot be null.");
+            }
+            if (batchKeys.containsKey(person.getId())) {
+                throw new IllegalArgumentException("Person with this ID already exists.");
+            }
+            String emailKey = CaseFolding.fold(person.getEmail());
+            batchKeys.put(person.getId(), emailKey);
+            stripeKeys.add(person.getId());
+            stripeKeys.add(emailKey);
+        }
+        int[] held = locks.lock(stripeKeys.toArray());
+        try {
+            Set<String> batchEmails = new HashSet<>();
+            for (Person person : batch) {
+                String emailKey = batchKeys.get(person.getId());
+                if (people.containsKey(person.getId())) {
+                    throw new IllegalArgumentException("Person with this ID already exists.");
+                }
+                if (peopleByEmail.containsKey(emailKey) || !batchEmails.add(emailKey)) {
+                    throw new IllegalArgumentException("Person with this email already exists.");
+                }
+                if (person.getOwner() != null) {
+                    throw new IllegalArgumentException("Person is already stored in another DAO.");
+                }
+            }
+            for (Person person : batch) {
+                String emailKey = batchKeys.get(person.getId());
+                peopleByEmail.put(emailKey, person);
+                emailKeys.put(person.getId(), emailKey);
+                people.put(person.getId(), person);
+                deduplicator.deduplicate(person);
+                person.setOwner(emailIndexMaintainer);
+            }
+            published.updateAndGet(map -> {
+                for (Person person : batch) {
+                    map = map.with(person.getId(), person);
+                }
+                return map;
+            });
+        } finally {
+            locks.unlock(held);
+        }
+        return batch;
+    }
+
+    @Override
+    public Person findById(int id) {
+        return people.get(id);
+    }
+
+    @Override
+    public Person findByEmail(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email cannot be null.");
+        }
+        return peopleByEmail.get(CaseFolding.fold(email));
+    }
+
+    @Override
+    public Collection<Person> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<Person> readView() {
+        return published.get().values();
+    }
+
+    @Override
+    public Stream<Person> stream() {
+        return people.values().stream();
+    }
+
+    @Override
+    public void remove(int id) {
+        while (true) {
+            String emailKey = emailKeys.get(id);
+            if (emailKey == null) {
+                return;
+            }
+            int[] held = locks.lock(id, emailKey);
+            try {
+                if (!emailKey.equals(emailKeys.get(id))) {
+                    continue;
+                }
+                delete(id, emailKey);
+                published.updateAndGet(map -> map.without(id));
+                return;
+            } finally {
+                locks.unlock(held);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #remove(int)}, locks the stripes of the ids and their current email keys and
+     * retries if any of those keys moved before the locks were taken.
+     */
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        Set<Integer> removed = BatchKeys.ids(ids);
+        while (true) {
+            Map<Integer, String> keys = new HashMap<>();
+            List<Object> stripeKeys = new ArrayList<>(removed);
+            for (int id : removed) {
+                String emailKey = emailKeys.get(id);
+                if (emailKey != null) {
+                    keys.put(id, emailKey);
+                    stripeKeys.add(emailKey);
+                }
+            }
+            int[] held = locks.lock(stripeKeys.toArray());
+            try {
+                if (!keysUnchanged(removed, keys)) {
+                    continue;
+                }
+                for (Map.Entry<Integer, String> entry : keys.entrySet()) {
+                    delete(entry.getKey(), entry.getValue());
+                }
+                published.updateAndGet(map -> {
+                    for (int id : keys.keySet()) {
+                        map = map.without(id);
+                    }
+                    return map;
+                });
+                return;
+            } finally {
+                locks.unlock(held);
+            }
+        }
+    }
+
+    private boolean keysUnchanged(Set<Integer> ids, Map<Integer, String> keys) {
+        for (int id : ids) {
+            if (!Objects.equals(keys.get(id), emailKeys.get(id))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void delete(int id, String emailKey) {
+        Person removed = people.remove(id);
+        emailKeys.remove(id);
+        peopleByEmail.remove(emailKey, removed);
+        removed.setOwner(null);
+    }
+
+    private class EmailIndexMaintainer implements PersonOwner {
+        @Override
+        public void emailChanging(Person person, String email) {
+            String oldKey = CaseFolding.fold(person.getEmail());
+            String newKey = CaseFolding.fold(email);
+            if (oldKey.equals(newKey)) {
+                return;
+            }
+            int[] held = locks.lock(person.getId(), oldKey, newKey);
+            try {
+                if (people.get(person.getId()) != person || !oldKey.equals(emailKeys.get(person.getId()))) {
+                    return;
+                }
+                if (peopleByEmail.containsKey(newKey)) {
+                    throw new IllegalArgumentException("Person with this email already exists.");
+                }
+                peopleByEmail.put(newKey, person);
+                emailKeys.put(person.getId(), newKey);
+                peopleByEmail.remove(oldKey, person);
+            } finally {
+                locks.unlock(held);
+            }
+        }
+
+        @Override
+        public String canonical(String value) {
+            return deduplicator.canonical(value);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link PersonDAO} with unique indexes on id and case-folded email. Every operation but
+ * {@link #stream()}, {@link #findAll()} and {@link #readView()} holds the DAO's monitor, so
+ * the uniqueness checks and the insert happen as one atomic step. The id index is a
+ * concurrent map so that {@link #stream()} can walk it without the monitor, as a weakly
+ * consistent view; writers also publish every change to an immutable map, from which views
+ * are taken without the monitor. The indexed email key is recorded per id, since a setter
+ * assigns its field only after the callback returns. First and last names are canonicalized
+ * through a {@link Deduplicator} on persist and on every change.
+ */
+public class PersonDAOIndexed implements PersonDAO {
+    private final Map<Integer, Person> people;
+    private final Map<String, Person> peopleByEmail;
+    private final Map<Integer, String> emailKeys;
+    private final PersonOwner emailIndexMaintainer;
+    private final Deduplicator deduplicator;
+    private volatile PersistentMap<Integer, Person> published;
+
+    public PersonDAOIndexed() {
+        this(new Deduplicator());
+    }
+
+    public PersonDAOIndexed(Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            throw new IllegalArgumentException("Deduplicator cannot be null.");
+        }
+        this.deduplicator = deduplicator;
+        this.people = new ConcurrentHashMap<>();
+        this.peopleByEmail = new HashMap<>();
+        this.emailKeys = new HashMap<>();
+        this.emailIndexMaintainer = new EmailIndexMaintainer();
+        this.published = PersistentMap.empty();
+    }
+
+    @Override
+    public synchronized Person persist(Person person) {
+        if (person == null) {
+            throw new IllegalArgumentException("Person cannot be null.");
+        }
+        if (people.containsKey(person.getId())) {
+            throw new IllegalArgumentException("Person with this ID already exists.");
+        }
+        String emailKey = CaseFolding.fold(person.getEmail());
+        if (peopleByEmail.containsKey(emailKey)) {
+            throw new IllegalArgumentException("Person with this email already exists.");
+        }
+        if (person.getOwner() != null) {
+            throw new IllegalArgumentException("Person is already stored in another DAO.");
+        }
+        people.put(person.getId(), person);
+        peopleByEmail.put(emailKey, person);
+        emailKeys.put(person.getId(), emailKey);
+        deduplicator.deduplicate(person);
+        person.setOwner(emailIndexMaintainer);
+        published = published.with(person.getId(), person);
+        return person;
+    }
+
+    @Override
+    public synchronized Collection<Person> persistAll(Collection<Person> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("People cannot be null.");
+        }
+        Map<Integer, String> batchKeys = new HashMap<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (Person person : batch) {
+            if (person == null) {
+                throw new IllegalArgumentException("Person cannot be null.");
+            }
+            String emailKey = CaseFolding.fold(person.getEmail());
+            if (people.containsKey(person.getId()) || batchKeys.containsKey(person.getId())) {
+                throw new IllegalArgumentException("Person with this ID already exists.");
+            }
+            if (peopleByEmail.containsKey(emailKey) || !batchEmails.add(emailKey)) {
+                throw new IllegalArgumentException("Person with this email already exists.");
+            }
+            if (person.getOwner() != null) {
+                throw new IllegalArgumentException("Person is already stored in another DAO.");
+            }
+            batchKeys.put(person.getId(), emailKey);
+        }
+        PersistentMap<Integer, Person> next = published;
+        for (Person person : batch) {
+            String emailKey = batchKeys.get(person.getId());
+            people.put(person.getId(), person);
+            peopleByEmail.put(emailKey, person);
+            emailKeys.put(person.getId(), emailKey);
+            deduplicator.deduplicate(person);
+            person.setOwner(emailIndexMaintainer);
+            next = next.with(person.getId(), person);
+        }
+        published = next;
+        return batch;
+    }
+
+    @Override
+    public synchronized Person findById(int id) {
+        return people.get(id);
+    }
+
+    @Override
+    public synchronized Person findByEmail(String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email cannot be null.");
+        }
+        return peopleByEmail.get(CaseFolding.fold(email));
+    }
+
+    @Override
+    public Collection<Person> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<Person> readView() {
+        return published.values();
+    }
+
+    @Override
+    public Stream<Person> stream() {
+        return people.values().stream();
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        Person removed = people.remove(id);
+        if (removed != null) {
+            peopleByEmail.remove(emailKeys.remove(id));
+            removed.setOwner(null);
+            published = published.without(id);
+        }
+    }
+
+    @Override
+    public synchronized void removeAll(Collection<Integer> ids) {
+        for (int id : BatchKeys.ids(ids)) {
+            remove(id);
+        }
+    }
+
+    private class EmailIndexMaintainer implements PersonOwner {
+        @Override
+        public void emailChanging(Person person, String email) {
+            synchronized (PersonDAOIndexed.this) {
+                String oldKey = emailKeys.get(person.getId());
+                String newKey = CaseFolding.fold(email);
+                if (people.get(person.getId()) != person || oldKey.equals(newKey)) {
+                    return;
+                }
+                if (peopleByEmail.containsKey(newKey)) {
+                    throw new IllegalArgumentException("Person with this email already exists.");
+                }
+                peopleByEmail.remove(oldKey);
+                peopleByEmail.put(newKey, person);
+                emailKeys.put(person.getId(), newKey);
+            }
+        }
+
+        @Override
+        public String canonical(String value) {
+            return deduplicator.canonical(value);
+        }
+    }
+}
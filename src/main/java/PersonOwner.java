@@ -0,0 +1,23 @@
+/**
+ * Callback from a {@link Person} to the DAO that stores it, invoked by the setters before
+ * the field is assigned and only when the value changes. Throwing aborts the change.
+ * Credentials count as changed when another instance is set, even an equal one. After a
+ * name change is accepted, the setter stores whatever {@code canonical} returns for it.
+ */
+interface PersonOwner {
+    default void firstNameChanging(Person person, String firstName) {
+    }
+
+    default void lastNameChanging(Person person, String lastName) {
+    }
+
+    default void emailChanging(Person person, String email) {
+    }
+
+    default void credentialsChanging(Person person, AppUser credentials) {
+    }
+
+    default String canonical(String value) {
+        return value;
+    }
+}
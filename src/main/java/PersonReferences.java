@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the items a person created and the tasks assigned to them, and removes a person
+ * together with those references under a {@link ReferencePolicy}, so no item or task is left
+ * pointing at a person the {@link PersonDAO} no longer holds.
+ *
+ * <p>The references are looked up through the DAOs' own person indexes rather than a copy of
+ * them, so they cannot drift apart. With {@link TodoItemDAOIndexed} or
+ * {@link TodoItemDAOConcurrent} and {@link TodoItemTaskDAOCollection}, a removal takes time
+ * proportional to the person's references; DAOs without a person index scan instead.
+ *
+ * <p>A removal spans three DAOs and is not atomic across them; callers serialize it with
+ * writes that add references to the same person.
+ */
+public final class PersonReferences {
+    private final PersonDAO people;
+    private final TodoItemDAO todoItems;
+    private final TodoItemTaskDAO tasks;
+
+    public PersonReferences(PersonDAO people, TodoItemDAO todoItems, TodoItemTaskDAO tasks) {
+        if (people == null) {
+            throw new IllegalArgumentException("PersonDAO cannot be null.");
+        }
+        if (todoItems == null) {
+            throw new IllegalArgumentException("TodoItemDAO cannot be null.");
+        }
+        if (tasks == null) {
+            throw new IllegalArgumentException("TodoItemTaskDAO cannot be null.");
+        }
+        this.people = people;
+        this.todoItems = todoItems;
+        this.tasks = tasks;
+    }
+
+    public Collection<TodoItem> findCreatedItems(int personId) {
+        return todoItems.findByPersonId(personId);
+    }
+
+    public Collection<TodoItemTask> findAssignedTasks(int personId) {
+        return tasks.findByPersonId(personId);
+    }
+
+    public void remove(int personId, ReferencePolicy policy) {
+        remove(personId, policy, null);
+    }
+
+    /**
+     * Removes the person after applying {@code policy} to their references. The successor is
+     * only used by {@link ReferencePolicy#REASSIGN}, which requires one that is stored in the
+     * {@link PersonDAO} and is not the person being removed. Nothing is changed if the
+     * arguments are rejected.
+     */
+    public void remove(int personId, ReferencePolicy policy, Person successor) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null.");
+        }
+        switch (policy) {
+            case CASCADE -> cascade(personId);
+            case REASSIGN -> reassign(personId, successor);
+            case NULLIFY -> nullify(personId);
+        }
+        people.remove(personId);
+    }
+
+    private void cascade(int personId) {
+        Collection<TodoItem> created = findCreatedItems(personId);
+        Set<Integer> taskIds = new LinkedHashSet<>();
+        for (TodoItemTask task : findAssignedTasks(personId)) {
+            taskIds.add(task.getId());
+        }
+        List<Integer> itemIds = new ArrayList<>(created.size());
+        for (TodoItem todoItem : created) {
+            itemIds.add(todoItem.getId());
+            for (TodoItemTask task : tasks.findByTodoItemId(todoItem.getId())) {
+                taskIds.add(task.getId());
+            }
+        }
+        tasks.removeAll(taskIds);
+        todoItems.removeAll(itemIds);
+    }
+
+    private void reassign(int personId, Person successor) {
+        if (successor == null) {
+            throw new IllegalArgumentException("Successor cannot be null.");
+        }
+        if (successor.getId() == personId) {
+            throw new IllegalArgumentException("Successor cannot be the removed person.");
+        }
+        if (people.findById(successor.getId()) == null) {
+            throw new IllegalArgumentException("Successor is not stored in the PersonDAO.");
+        }
+        for (TodoItem todoItem : findCreatedItems(personId)) {
+            todoItem.setCreator(successor);
+        }
+        for (TodoItemTask task : findAssignedTasks(personId)) {
+            task.setAssignee(successor);
+        }
+    }
+
+    private void nullify(int personId) {
+        if (!findCreatedItems(personId).isEmpty()) {
+            throw new IllegalStateException("Person still created items; their creator cannot be null.");
+        }
+        for (TodoItemTask task : findAssignedTasks(personId)) {
+            task.setAssignee(null);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Access path chosen for a {@link TodoItemQuery}: the index the candidates are read from,
+ * or a full scan, plus the criteria left to check on each candidate. {@link #toString()} is
+ * the explain output, including the estimates of every path that was considered. Paths
+ * whose size is not known up front are only counted until they exceed the best estimate
+ * found before them.
+ */
+public final class QueryPlan {
+    private final TodoItemQuery query;
+    private final TodoItemQuery.Criterion accessPath;
+    private final long estimatedRows;
+    private final Supplier<Stream<TodoItem>> source;
+    private final List<QueryPlan> considered;
+
+    private QueryPlan(TodoItemQuery query, TodoItemQuery.Criterion accessPath, long estimatedRows,
+                      Supplier<Stream<TodoItem>> source, List<QueryPlan> considered) {
+        this.query = query;
+        this.accessPath = accessPath;
+        this.estimatedRows = estimatedRows;
+        this.source = source;
+        this.considered = considered;
+    }
+
+    static QueryPlan index(TodoItemQuery query, TodoItemQuery.Criterion accessPath, long estimatedRows,
+                           Supplier<Stream<TodoItem>> source) {
+        return new QueryPlan(query, accessPath, estimatedRows, source, List.of());
+    }
+
+    static QueryPlan fullScan(TodoItemQuery query, long rows, Supplier<Stream<TodoItem>> source) {
+        return new QueryPlan(query, null, rows, source, List.of());
+    }
+
+    /**
+     * Picks the candidate with the fewest estimated rows. Ties go to the earlier candidate,
+     * so callers list the full scan last.
+     */
+    static QueryPlan cheapest(List<QueryPlan> candidates) {
+        QueryPlan best = null;
+        for (QueryPlan candidate : candidates) {
+            if (best == null || candidate.estimatedRows < best.estimatedRows) {
+                best = candidate;
+            }
+        }
+        return new QueryPlan(best.query, best.accessPath, best.estimatedRows, best.source, List.copyOf(candidates));
+    }
+
+    /**
+     * Counts rows until there are more than {@code limit}, for estimating a path that
+     * cannot beat the best one found so far without walking it in full.
+     */
+    static long countUpTo(Stream<?> rows, long limit) {
+        return rows.limit(limit + 1).count();
+    }
+
+    /**
+     * Name of the criterion whose index supplies the candidates, or {@code "full scan"}.
+     */
+    public String getAccessPath() {
+        return accessPath == null ? "full scan" : accessPath.name().toLowerCase() + " index";
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    Stream<TodoItem> execute() {
+        Set<TodoItemQuery.Criterion> residual = residual();
+        Stream<TodoItem> candidates = source.get();
+        return residual.isEmpty() ? candidates : candidates.filter(todoItem -> query.matches(todoItem, residual));
+    }
+
+    private Set<TodoItemQuery.Criterion> residual() {
+        Set<TodoItemQuery.Criterion> residual = EnumSet.noneOf(TodoItemQuery.Criterion.class);
+        residual.addAll(query.criteria());
+        if (accessPath != null) {
+            residual.remove(accessPath);
+        }
+        return residual;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder explain = new StringBuilder();
+        explain.append("access: ").append(getAccessPath());
+        if (accessPath != null) {
+            explain.append(" (").append(query.describe(accessPath)).append(")");
+        }
+        explain.append(", estimated rows: ").append(estimatedRows);
+        List<String> filters = new ArrayList<>();
+        for (TodoItemQuery.Criterion criterion : residual()) {
+            filters.add(query.describe(criterion));
+        }
+        explain.append("\nfilter: ").append(filters.isEmpty() ? "none" : String.join(" AND ", filters));
+        if (!considered.isEmpty()) {
+            List<String> alternatives = new ArrayList<>();
+            for (QueryPlan candidate : considered) {
+                alternatives.add(candidate.getAccessPath() + " " + candidate.estimatedRows);
+            }
+            explain.append("\nconsidered: ").append(String.join(", ", alternatives));
+        }
+        return explain.toString();
+    }
+}
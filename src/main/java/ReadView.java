@@ -0,0 +1,17 @@
+import java.util.Collection;
+
+/**
+ * Immutable view of the entities a DAO stored at one point in time. Taking a view is O(1);
+ * it can be iterated for as long as needed while writers carry on, and never reflects
+ * their later persists or removals. Views are unmodifiable.
+ *
+ * <p>DAOs that store the entities themselves share them with their views, so a setter
+ * called on a stored entity is seen through the view as well; DAOs that hand out detached
+ * copies build detached copies for the view too.
+ *
+ * <p>The version increases with every write the DAO's views can observe. Two views of one
+ * DAO with the same version hold the same entities.
+ */
+public interface ReadView<T> extends Collection<T> {
+    long version();
+}
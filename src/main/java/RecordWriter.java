@@ -0,0 +1,71 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Growable buffer for one {@link WriteAheadLog} record. The first byte is the record type;
+ * fields use the {@link EntityCodec} layouts, with ints as varints, longs as zig-zag varints,
+ * and a presence byte in front of strings that may be null.
+ */
+final class RecordWriter {
+    private ByteBuffer buffer;
+
+    RecordWriter(byte type) {
+        this.buffer = ByteBuffer.allocate(64);
+        buffer.put(type);
+    }
+
+    RecordWriter putBoolean(boolean value) {
+        reserve(1).put((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    RecordWriter putInt(int value) {
+        EntityCodec.putVarInt(reserve(EntityCodec.varIntSize(value)), value);
+        return this;
+    }
+
+    RecordWriter putLong(long value) {
+        long zigZag = EntityCodec.zigZag(value);
+        EntityCodec.putVarLong(reserve(EntityCodec.varLongSize(zigZag)), zigZag);
+        return this;
+    }
+
+    RecordWriter putString(String value) {
+        putBoolean(value != null);
+        if (value != null) {
+            EntityCodec.putString(reserve(EntityCodec.stringSize(value)), value);
+        }
+        return this;
+    }
+
+    /** Returns the buffer with room for the given number of bytes at its position. */
+    ByteBuffer reserve(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            buffer = grown.put(buffer);
+        }
+        return buffer;
+    }
+
+    byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        buffer.get(0, bytes);
+        return bytes;
+    }
+
+    static boolean getBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    static int getInt(ByteBuffer in) {
+        return EntityCodec.getVarInt(in);
+    }
+
+    static long getLong(ByteBuffer in) {
+        return EntityCodec.unZigZag(EntityCodec.getVarLong(in));
+    }
+
+    static String getString(ByteBuffer in) {
+        return getBoolean(in) ? EntityCodec.getString(in) : null;
+    }
+}
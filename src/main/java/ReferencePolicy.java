@@ -0,0 +1,12 @@
+/**
+ * What {@link PersonReferences#remove} does with the items and tasks that refer to the removed
+ * person.
+ */
+public enum ReferencePolicy {
+    /** The items they created are removed with the tasks on them, and so are their tasks. */
+    CASCADE,
+    /** Their items and tasks are handed to a successor. */
+    REASSIGN,
+    /** Their tasks are unassigned; refused while they still created items. */
+    NULLIFY
+}
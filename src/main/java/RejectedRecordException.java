@@ -0,0 +1,19 @@
+/**
+ * Thrown by a {@link WriteAheadLog#replay} handler when the store refuses the change a record
+ * describes. Such a change was refused when it was made as well and its record aborted, but a
+ * crash can keep the last record and lose its abort, so replay skips that record alone.
+ */
+public final class RejectedRecordException extends RuntimeException {
+    public RejectedRecordException(IllegalArgumentException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /** Runs a replayed change, reporting the store's refusal as a rejection of the record. */
+    static void apply(Runnable change) {
+        try {
+            change.run();
+        } catch (IllegalArgumentException refused) {
+            throw new RejectedRecordException(refused);
+        }
+    }
+}
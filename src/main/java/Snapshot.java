@@ -0,0 +1,352 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Whole data set of the four DAOs in one compact file, written in a single pass and loaded
+ * through a read-only memory map, so a cold start decodes bytes straight from the page cache
+ * and stores each DAO with one {@code persistAll} instead of replaying individual inserts.
+ *
+ * <p>The file holds four tables, each entity once: app users, people, items and tasks.
+ * People include every creator, assignee and person stored in the person DAO; items include
+ * every item a task refers to. References are links into an earlier table: a person names its
+ * credentials by row, an item its creator by person id, a task its item and assignee by id.
+ * A flag per row tells whether the entity was stored in its DAO or only referenced, and an app
+ * user row carries the password hash, never the password. Ints,
+ * deadlines and strings use the {@link EntityCodec} encodings, and a CRC32C of the whole file
+ * closes it.
+ *
+ * <p>{@link #write} replaces the file atomically, so it can run periodically while readers
+ * load the previous snapshot. It reads the DAOs through their streams; for a point-in-time
+ * image, callers hold off writes while it runs. A person or item that appears under one id
+ * as several instances is written as the first one met, people from the person DAO first.
+ */
+public final class Snapshot {
+    static final int MAGIC = 0x54444F53;
+    static final byte VERSION = 2;
+
+    private static final int STORED = 1;
+    private static final int HAS_CREDENTIALS = 2;
+    private static final int DONE = 2;
+    private static final int HAS_DESCRIPTION = 4;
+    private static final int ASSIGNED = 2;
+    private static final int ROLE_SHIFT = 1;
+
+    private Snapshot() {
+    }
+
+    public static void write(Path file, PersonDAO personDAO, AppUserDAO appUserDAO, TodoItemDAO todoItemDAO,
+                             TodoItemTaskDAO todoItemTaskDAO) {
+        checkArguments(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        Map<String, AppUser> appUsers = new LinkedHashMap<>();
+        Set<String> storedAppUsers = new HashSet<>();
+        Map<Integer, Person> people = new LinkedHashMap<>();
+        Set<Integer> storedPeople = new HashSet<>();
+        Map<Integer, TodoItem> todoItems = new LinkedHashMap<>();
+        Set<Integer> storedTodoItems = new HashSet<>();
+        List<TodoItemTask> todoItemTasks = new ArrayList<>();
+
+        appUserDAO.stream().forEach(appUser -> {
+            appUsers.putIfAbsent(CaseFolding.fold(appUser.getUsername()), appUser);
+            storedAppUsers.add(CaseFolding.fold(appUser.getUsername()));
+        });
+        personDAO.stream().forEach(person -> {
+            people.putIfAbsent(person.getId(), person);
+            storedPeople.add(person.getId());
+        });
+        todoItemDAO.stream().forEach(todoItem -> {
+            todoItems.putIfAbsent(todoItem.getId(), todoItem);
+            storedTodoItems.add(todoItem.getId());
+        });
+        todoItemTaskDAO.stream().forEach(todoItemTask -> {
+            todoItemTasks.add(todoItemTask);
+            todoItems.putIfAbsent(todoItemTask.getTodoItem().getId(), todoItemTask.getTodoItem());
+            if (todoItemTask.getAssignee() != null) {
+                people.putIfAbsent(todoItemTask.getAssignee().getId(), todoItemTask.getAssignee());
+            }
+        });
+        for (TodoItem todoItem : todoItems.values()) {
+            people.putIfAbsent(todoItem.getCreator().getId(), todoItem.getCreator());
+        }
+        for (Person person : people.values()) {
+            if (person.getCredentials() != null) {
+                appUsers.putIfAbsent(CaseFolding.fold(person.getCredentials().getUsername()), person.getCredentials());
+            }
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putByte(VERSION);
+
+            Map<String, Integer> appUserRows = new HashMap<>();
+            out.putVarInt(appUsers.size());
+            for (Map.Entry<String, AppUser> entry : appUsers.entrySet()) {
+                AppUser appUser = entry.getValue();
+                appUserRows.put(entry.getKey(), appUserRows.size());
+                int flags = storedAppUsers.contains(entry.getKey()) ? STORED : 0;
+                out.putByte(flags | appUser.getRole().ordinal() << ROLE_SHIFT);
+                out.putString(appUser.getUsername());
+                out.putString(appUser.getPasswordHash());
+            }
+
+            out.putVarInt(people.size());
+            for (Person person : people.values()) {
+                AppUser credentials = person.getCredentials();
+                int flags = storedPeople.contains(person.getId()) ? STORED : 0;
+                out.putByte(credentials != null ? flags | HAS_CREDENTIALS : flags);
+                out.putVarInt(person.getId());
+                out.putString(person.getFirstName());
+                out.putString(person.getLastName());
+                out.putString(person.getEmail());
+                if (credentials != null) {
+                    out.putVarInt(appUserRows.get(CaseFolding.fold(credentials.getUsername())));
+                }
+            }
+
+            out.putVarInt(todoItems.size());
+            for (TodoItem todoItem : todoItems.values()) {
+                int flags = storedTodoItems.contains(todoItem.getId()) ? STORED : 0;
+                if (todoItem.isDone()) {
+                    flags |= DONE;
+                }
+                if (todoItem.getDescription() != null) {
+                    flags |= HAS_DESCRIPTION;
+                }
+                out.putByte(flags);
+                out.putVarInt(todoItem.getId());
+                out.putVarInt(todoItem.getCreator().getId());
+                out.putVarLong(EntityCodec.zigZag(todoItem.getDeadLine().toEpochDay()));
+                out.putString(todoItem.getTitle());
+                if (todoItem.getDescription() != null) {
+                    out.putString(todoItem.getDescription());
+                }
+            }
+
+            out.putVarInt(todoItemTasks.size());
+            for (TodoItemTask todoItemTask : todoItemTasks) {
+                Person assignee = todoItemTask.getAssignee();
+                out.putByte(assignee != null ? STORED | ASSIGNED : STORED);
+                out.putVarInt(todoItemTask.getId());
+                out.putVarInt(todoItemTask.getTodoItem().getId());
+                if (assignee != null) {
+                    out.putVarInt(assignee.getId());
+                }
+            }
+            out.finish();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + file + ".", e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replace snapshot " + file + ".", e);
+        }
+    }
+
+    /**
+     * Stores the snapshot's entities into the given DAOs, which are expected to be empty.
+     * The whole file is verified against its checksum before anything is stored.
+     */
+    public static void load(Path file, PersonDAO personDAO, AppUserDAO appUserDAO, TodoItemDAO todoItemDAO,
+                            TodoItemTaskDAO todoItemTaskDAO) {
+        checkArguments(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Snapshot is too large to map.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + file + ".", e);
+        }
+        ByteBuffer in = verified(mapped);
+
+        int appUserCount = EntityCodec.getVarInt(in);
+        AppUser[] appUsers = new AppUser[appUserCount];
+        List<AppUser> storedAppUsers = new ArrayList<>();
+        AppRole[] roles = AppRole.values();
+        for (int row = 0; row < appUserCount; row++) {
+            int flags = in.get() & 0xFF;
+            int roleCode = flags >>> ROLE_SHIFT;
+            if (roleCode >= roles.length) {
+                throw new IllegalStateException("Unknown role code " + roleCode + ".");
+            }
+            appUsers[row] = AppUser.withPasswordHash(EntityCodec.getString(in), EntityCodec.getString(in),
+                    roles[roleCode]);
+            if ((flags & STORED) != 0) {
+                storedAppUsers.add(appUsers[row]);
+            }
+        }
+
+        int personCount = EntityCodec.getVarInt(in);
+        Person[] people = new Person[personCount];
+        IntIntHashMap personRows = new IntIntHashMap(personCount);
+        List<Person> storedPeople = new ArrayList<>();
+        for (int row = 0; row < personCount; row++) {
+            int flags = in.get() & 0xFF;
+            int id = EntityCodec.getVarInt(in);
+            String firstName = EntityCodec.getString(in);
+            String lastName = EntityCodec.getString(in);
+            String email = EntityCodec.getString(in);
+            AppUser credentials = (flags & HAS_CREDENTIALS) != 0 ? appUsers[EntityCodec.getVarInt(in)] : null;
+            people[row] = new Person(id, firstName, lastName, email, credentials);
+            personRows.put(id, row);
+            if ((flags & STORED) != 0) {
+                storedPeople.add(people[row]);
+            }
+        }
+
+        int todoItemCount = EntityCodec.getVarInt(in);
+        TodoItem[] todoItems = new TodoItem[todoItemCount];
+        IntIntHashMap todoItemRows = new IntIntHashMap(todoItemCount);
+        List<TodoItem> storedTodoItems = new ArrayList<>();
+        for (int row = 0; row < todoItemCount; row++) {
+            int flags = in.get() & 0xFF;
+            int id = EntityCodec.getVarInt(in);
+            Person creator = people[personRows.get(EntityCodec.getVarInt(in))];
+            long epochDay = EntityCodec.unZigZag(EntityCodec.getVarLong(in));
+            String title = EntityCodec.getString(in);
+            String description = (flags & HAS_DESCRIPTION) != 0 ? EntityCodec.getString(in) : null;
+            todoItems[row] = new TodoItem(id, title, description, LocalDate.ofEpochDay(epochDay), creator);
+            todoItems[row].setDone((flags & DONE) != 0);
+            todoItemRows.put(id, row);
+            if ((flags & STORED) != 0) {
+                storedTodoItems.add(todoItems[row]);
+            }
+        }
+
+        int todoItemTaskCount = EntityCodec.getVarInt(in);
+        List<TodoItemTask> todoItemTasks = new ArrayList<>(todoItemTaskCount);
+        for (int row = 0; row < todoItemTaskCount; row++) {
+            int flags = in.get() & 0xFF;
+            int id = EntityCodec.getVarInt(in);
+            TodoItem todoItem = todoItems[todoItemRows.get(EntityCodec.getVarInt(in))];
+            Person assignee = (flags & ASSIGNED) != 0 ? people[personRows.get(EntityCodec.getVarInt(in))] : null;
+            todoItemTasks.add(new TodoItemTask(id, todoItem, assignee));
+        }
+
+        appUserDAO.persistAll(storedAppUsers);
+        personDAO.persistAll(storedPeople);
+        todoItemDAO.persistAll(storedTodoItems);
+        todoItemTaskDAO.persistAll(todoItemTasks);
+    }
+
+    private static ByteBuffer verified(MappedByteBuffer mapped) {
+        int bodyEnd = mapped.limit() - Integer.BYTES;
+        if (bodyEnd < Integer.BYTES + 1 || mapped.getInt(0) != MAGIC) {
+            throw new IllegalStateException("File is not a snapshot.");
+        }
+        if (mapped.get(Integer.BYTES) != VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + mapped.get(Integer.BYTES) + ".");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(mapped.slice(0, bodyEnd));
+        if ((int) crc.getValue() != mapped.getInt(bodyEnd)) {
+            throw new IllegalStateException("Snapshot checksum mismatch.");
+        }
+        return mapped.slice(Integer.BYTES + 1, bodyEnd - Integer.BYTES - 1);
+    }
+
+    private static void checkArguments(Path file, PersonDAO personDAO, AppUserDAO appUserDAO,
+                                       TodoItemDAO todoItemDAO, TodoItemTaskDAO todoItemTaskDAO) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        if (personDAO == null) {
+            throw new IllegalArgumentException("PersonDAO cannot be null.");
+        }
+        if (appUserDAO == null) {
+            throw new IllegalArgumentException("AppUserDAO cannot be null.");
+        }
+        if (todoItemDAO == null) {
+            throw new IllegalArgumentException("TodoItemDAO cannot be null.");
+        }
+        if (todoItemTaskDAO == null) {
+            throw new IllegalArgumentException("TodoItemTaskDAO cannot be null.");
+        }
+    }
+
+    /** Buffered channel writer that checksums everything it writes. */
+    private static final class Output {
+        private final FileChannel channel;
+        private final CRC32C crc;
+        private ByteBuffer buffer;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(64 << 10);
+            this.crc = new CRC32C();
+        }
+
+        void putByte(int value) throws IOException {
+            ensureRemaining(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putVarInt(int value) throws IOException {
+            EntityCodec.putVarInt(ensureRemaining(EntityCodec.varIntSize(value)), value);
+        }
+
+        void putVarLong(long value) throws IOException {
+            EntityCodec.putVarLong(ensureRemaining(EntityCodec.varLongSize(value)), value);
+        }
+
+        void putString(String value) throws IOException {
+            EntityCodec.putString(ensureRemaining(EntityCodec.stringSize(value)), value);
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        /** Flushes to make room, and grows the buffer for a value larger than all of it. */
+        private ByteBuffer ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+                if (buffer.capacity() < bytes) {
+                    buffer = ByteBuffer.allocateDirect(bytes);
+                }
+            }
+            return buffer;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash. Callers lock every key an operation touches in
+ * one call; stripes are always acquired in index order, so overlapping operations cannot
+ * deadlock.
+ */
+final class StripedLocks {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    StripedLocks(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two.");
+        }
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+    }
+
+    int[] lock(Object... keys) {
+        int[] stripes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            int hash = keys[i].hashCode();
+            stripes[i] = (hash ^ (hash >>> 16)) & mask;
+        }
+        Arrays.sort(stripes);
+        int distinct = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (i == 0 || stripes[i] != stripes[i - 1]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+        int[] held = Arrays.copyOf(stripes, distinct);
+        for (int stripe : held) {
+            locks[stripe].lock();
+        }
+        return held;
+    }
+
+    void unlock(int[] held) {
+        for (int i = held.length - 1; i >= 0; i--) {
+            locks[held[i]].unlock();
+        }
+    }
+}
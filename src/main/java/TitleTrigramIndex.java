@@ -0,0 +1,101 @@
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Case-folded trigram inverted index over {@link TodoItem} titles. A query is answered by
+ * walking the shortest posting list among its trigrams and verifying the substring match
+ * against the stored folded title; queries shorter than a trigram scan the folded titles.
+ */
+class TitleTrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Map<Integer, TodoItem>> postings;
+    private final Map<Integer, String> foldedTitles;
+
+    TitleTrigramIndex() {
+        this.postings = new HashMap<>();
+        this.foldedTitles = new HashMap<>();
+    }
+
+    static String fold(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    void add(TodoItem todoItem, String title) {
+        String folded = fold(title);
+        foldedTitles.put(todoItem.getId(), folded);
+        for (long gram : grams(folded)) {
+            postings.computeIfAbsent(gram, key -> new HashMap<>()).put(todoItem.getId(), todoItem);
+        }
+    }
+
+    void remove(TodoItem todoItem) {
+        String folded = foldedTitles.remove(todoItem.getId());
+        if (folded == null) {
+            return;
+        }
+        for (long gram : grams(folded)) {
+            Map<Integer, TodoItem> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(todoItem.getId());
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    Stream<TodoItem> stream(String query, Map<Integer, TodoItem> todoItems) {
+        String folded = fold(query);
+        if (folded.length() < GRAM_LENGTH) {
+            return foldedTitles.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(folded))
+                    .map(entry -> todoItems.get(entry.getKey()));
+        }
+        Map<Integer, TodoItem> candidates = candidates(folded);
+        if (candidates == null) {
+            return Stream.empty();
+        }
+        return candidates.values().stream()
+                .filter(candidate -> foldedTitles.get(candidate.getId()).contains(folded));
+    }
+
+    /**
+     * Upper bound on the matches of a query: the shortest posting list among its trigrams, or
+     * every title for queries too short to have one.
+     */
+    int estimate(String query) {
+        String folded = fold(query);
+        if (folded.length() < GRAM_LENGTH) {
+            return foldedTitles.size();
+        }
+        Map<Integer, TodoItem> candidates = candidates(folded);
+        return candidates == null ? 0 : candidates.size();
+    }
+
+    private Map<Integer, TodoItem> candidates(String folded) {
+        Map<Integer, TodoItem> candidates = null;
+        for (long gram : grams(folded)) {
+            Map<Integer, TodoItem> posting = postings.get(gram);
+            if (posting == null) {
+                return null;
+            }
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+        return candidates;
+    }
+
+    private static Set<Long> grams(String folded) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= folded.length(); i++) {
+            grams.add(((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2));
+        }
+        return grams;
+    }
+}
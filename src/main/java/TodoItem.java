@@ -8,6 +8,7 @@ public class TodoItem {
     private LocalDate deadLine;
     private boolean done;
     private Person creator;
+    private volatile TodoItemOwner owner;
 
     public TodoItem(int id, String title, String description, LocalDate deadLine, Person creator) {
         if (title == null || title.trim().isEmpty()) {
@@ -35,10 +36,14 @@ public class TodoItem {
         return title;
     }
 
-    public void setTitle(String title) {
+    public synchronized void setTitle(String title) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be null or empty.");
         }
+        if (owner != null && !this.title.equals(title)) {
+            owner.titleChanging(this, title);
+            title = owner.canonical(title);
+        }
         this.title = title;
     }
 
@@ -46,7 +51,10 @@ public class TodoItem {
         return description;
     }
 
-    public void setDescription(String description) {
+    public synchronized void setDescription(String description) {
+        if (owner != null && !Objects.equals(this.description, description)) {
+            owner.descriptionChanging(this, description);
+        }
         this.description = description;
     }
 
@@ -54,10 +62,14 @@ public class TodoItem {
         return deadLine;
     }
 
-    public void setDeadLine(LocalDate deadLine) {
+    public synchronized void setDeadLine(LocalDate deadLine) {
         if (deadLine == null) {
             throw new IllegalArgumentException("Deadline cannot be null.");
         }
+        if (owner != null && !this.deadLine.equals(deadLine)) {
+            owner.deadLineChanging(this, deadLine);
+            deadLine = owner.canonical(deadLine);
+        }
         this.deadLine = deadLine;
     }
 
@@ -65,7 +77,10 @@ public class TodoItem {
         return done;
     }
 
-    public void setDone(boolean done) {
+    public synchronized void setDone(boolean done) {
+        if (owner != null && this.done != done) {
+            owner.doneChanging(this, done);
+        }
         this.done = done;
     }
 
@@ -73,15 +88,33 @@ public class TodoItem {
         return creator;
     }
 
-    public void setCreator(Person creator) {
+    public synchronized void setCreator(Person creator) {
         if (creator == null) {
             throw new IllegalArgumentException("Creator cannot be null.");
         }
+        if (owner != null && this.creator != creator) {
+            owner.creatorChanging(this, creator);
+        }
         this.creator = creator;
     }
 
+    TodoItemOwner getOwner() {
+        return owner;
+    }
+
+    void setOwner(TodoItemOwner owner) {
+        this.owner = owner;
+    }
+
     public boolean isOverdue() {
-        return LocalDate.now().isAfter(deadLine);
+        return isOverdue(LocalDate.now());
+    }
+
+    public boolean isOverdue(LocalDate today) {
+        if (today == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return today.isAfter(deadLine);
     }
 
     @Override
@@ -98,7 +131,12 @@ public class TodoItem {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, deadLine, done);
+        // Same value as Objects.hash(id, title, description, deadLine, done), without boxing.
+        int result = 31 + id;
+        result = 31 * result + title.hashCode();
+        result = 31 * result + Objects.hashCode(description);
+        result = 31 * result + deadLine.hashCode();
+        return 31 * result + Boolean.hashCode(done);
     }
 
     @Override
@@ -1,15 +1,57 @@
-
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.stream.Stream;
 
+/**
+ * {@link #findAll} returns the DAO's {@link #readView}: an unmodifiable collection of the items
+ * stored now that shares them as {@link ReadView} describes, in no specified order.
+ *
+ * <p>The other {@code find} methods return a detached copy of the matching items. The {@code stream}
+ * methods return a lazy view over the live data instead, so a caller that only needs a count
+ * or the first few matches does not pay for copying the rest. A stream reflects the DAO as it
+ * is traversed; implementations document what happens when the DAO is modified meanwhile.
+ *
+ * <p>The {@code findPage} methods page through the items in a {@link PageOrder}, starting
+ * after the {@link PageCursor} of the previous page, or at the beginning for {@code null}.
+ *
+ * <p>{@link #query} answers a {@link TodoItemQuery} lazily from the access path that
+ * {@link #explain} reports for it.
+ *
+ * <p>{@link #readView} takes an O(1) {@link ReadView} of the items stored now, which stays
+ * consistent while the DAO is written to.
+ *
+ * <p>{@link #findOverdue} returns the open items whose deadline is before the current date of
+ * the DAO's {@link java.time.Clock}, the system clock unless one is passed on construction.
+ *
+ * <p>{@link #persistAll} validates the whole batch, including duplicates within it, before
+ * storing any of it, so a rejected batch leaves the DAO unchanged. {@link #removeAll} ignores
+ * ids that are not stored, as {@link #remove} does.
+ */
 public interface TodoItemDAO {
     TodoItem persist(TodoItem todoItem);
+    Collection<TodoItem> persistAll(Collection<TodoItem> todoItems);
     TodoItem findById(int id);
     Collection<TodoItem> findAll();
+    ReadView<TodoItem> readView();
     Collection<TodoItem> findAllByDoneStatus(boolean done);
     Collection<TodoItem> findByTitleContains(String title);
     Collection<TodoItem> findByPersonId(int personId);
     Collection<TodoItem> findByDeadlineBefore(LocalDate date);
     Collection<TodoItem> findByDeadlineAfter(LocalDate date);
+    Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to);
+    Collection<TodoItem> findOverdue();
+    Stream<TodoItem> stream();
+    Stream<TodoItem> streamByDoneStatus(boolean done);
+    Stream<TodoItem> streamByTitleContains(String title);
+    Stream<TodoItem> streamByPersonId(int personId);
+    Stream<TodoItem> streamByDeadlineBefore(LocalDate date);
+    Stream<TodoItem> streamByDeadlineAfter(LocalDate date);
+    Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to);
+    Stream<TodoItem> streamOverdue();
+    Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize);
+    Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize);
+    Stream<TodoItem> query(TodoItemQuery query);
+    QueryPlan explain(TodoItemQuery query);
     void remove(int id);
+    void removeAll(Collection<Integer> ids);
 }
@@ -1,14 +1,24 @@
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TodoItemDAOCollection implements TodoItemDAO {
-    private Collection<TodoItem> todoItems;
+    private volatile PersistentMap<Integer, TodoItem> published;
+    private final DayClock dayClock;
 
     public TodoItemDAOCollection() {
-        this.todoItems = new ArrayList<>();
+        this(Clock.systemDefaultZone());
+    }
+
+    public TodoItemDAOCollection(Clock clock) {
+        this.published = PersistentMap.empty();
+        this.dayClock = new DayClock(clock);
     }
 
     @Override
@@ -19,69 +29,200 @@ public class TodoItemDAOCollection implements TodoItemDAO {
         if (findById(todoItem.getId()) != null) {
             throw new IllegalArgumentException("TodoItem with this ID already exists.");
         }
-        todoItems.add(todoItem);
+        published = published.with(todoItem.getId(), todoItem);
         return todoItem;
     }
 
+    /**
+     * Validates the whole batch before publishing any of it, so a rejected batch stores nothing.
+     */
+    @Override
+    public Collection<TodoItem> persistAll(Collection<TodoItem> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (TodoItem todoItem : batch) {
+            if (todoItem == null) {
+                throw new IllegalArgumentException("TodoItem cannot be null.");
+            }
+            if (!ids.add(todoItem.getId()) || findById(todoItem.getId()) != null) {
+                throw new IllegalArgumentException("TodoItem with this ID already exists.");
+            }
+        }
+        PersistentMap<Integer, TodoItem> next = published;
+        for (TodoItem todoItem : batch) {
+            next = next.with(todoItem.getId(), todoItem);
+        }
+        published = next;
+        return batch;
+    }
+
     @Override
     public TodoItem findById(int id) {
-        Optional<TodoItem> foundItem = todoItems.stream()
-                .filter(item -> item.getId() == id)
-                .findFirst();
-        return foundItem.orElse(null);
+        return published.get(id);
     }
 
     @Override
     public Collection<TodoItem> findAll() {
-        return new ArrayList<>(todoItems);
+        return readView();
+    }
+
+    @Override
+    public ReadView<TodoItem> readView() {
+        return published.values();
     }
 
     @Override
     public Collection<TodoItem> findAllByDoneStatus(boolean done) {
-        return todoItems.stream()
-                .filter(item -> item.isDone() == done)
-                .collect(Collectors.toList());
+        return streamByDoneStatus(done).collect(Collectors.toList());
     }
 
     @Override
     public Collection<TodoItem> findByTitleContains(String title) {
+        return streamByTitleContains(title).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByPersonId(int personId) {
+        return streamByPersonId(personId).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+        return streamByDeadlineBefore(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+        return streamByDeadlineAfter(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to) {
+        return streamByDeadlineBetween(from, to).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findOverdue() {
+        return streamOverdue().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams over the items stored when the stream's terminal operation starts; persists and
+     * removals made while it is being consumed are not seen by it.
+     */
+    @Override
+    public Stream<TodoItem> stream() {
+        return StreamSupport.stream(() -> published.values().spliterator(),
+                Spliterator.SIZED | Spliterator.SUBSIZED, false);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDoneStatus(boolean done) {
+        return stream()
+                .filter(item -> item.isDone() == done);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByTitleContains(String title) {
         if (title == null) {
             throw new IllegalArgumentException("Title cannot be null.");
         }
-        return todoItems.stream()
-                .filter(item -> item.getTitle().toLowerCase().contains(title.toLowerCase()))
-                .collect(Collectors.toList());
+        String lowerCaseTitle = title.toLowerCase();
+        return stream()
+                .filter(item -> item.getTitle().toLowerCase().contains(lowerCaseTitle));
     }
 
     @Override
-    public Collection<TodoItem> findByPersonId(int personId) {
-        return todoItems.stream()
-                .filter(item -> item.getCreator() != null && item.getCreator().getId() == personId)
-                .collect(Collectors.toList());
+    public Stream<TodoItem> streamByPersonId(int personId) {
+        return stream()
+                .filter(item -> item.getCreator() != null && item.getCreator().getId() == personId);
     }
 
     @Override
-    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+    public Stream<TodoItem> streamByDeadlineBefore(LocalDate date) {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null.");
         }
-        return todoItems.stream()
-                .filter(item -> item.getDeadLine().isBefore(date))
-                .collect(Collectors.toList());
+        return stream()
+                .filter(item -> item.getDeadLine().isBefore(date));
     }
 
     @Override
-    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+    public Stream<TodoItem> streamByDeadlineAfter(LocalDate date) {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null.");
         }
-        return todoItems.stream()
-                .filter(item -> item.getDeadLine().isAfter(date))
-                .collect(Collectors.toList());
+        return stream()
+                .filter(item -> item.getDeadLine().isAfter(date));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return stream()
+                .filter(item -> !item.getDeadLine().isBefore(from) && !item.getDeadLine().isAfter(to));
+    }
+
+    @Override
+    public Stream<TodoItem> streamOverdue() {
+        LocalDate today = dayClock.today();
+        return stream()
+                .filter(item -> !item.isDone() && item.isOverdue(today));
+    }
+
+    /**
+     * Selects each page from a full scan, as nothing is kept in deadline order.
+     */
+    @Override
+    public Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        return Page.select(stream().filter(order.after(after)), order.comparator(), pageSize, order::cursorOf);
+    }
+
+    @Override
+    public Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        return Page.select(streamByPersonId(personId).filter(order.after(after)), order.comparator(), pageSize,
+                order::cursorOf);
+    }
+
+    @Override
+    public Stream<TodoItem> query(TodoItemQuery query) {
+        return explain(query).execute();
+    }
+
+    /**
+     * There are no indexes, so every query is a full scan.
+     */
+    @Override
+    public QueryPlan explain(TodoItemQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        return QueryPlan.fullScan(query, published.size(), this::stream);
     }
 
     @Override
     public void remove(int id) {
-        todoItems.removeIf(item -> item.getId() == id);
+        published = published.without(id);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        Set<Integer> removed = BatchKeys.ids(ids);
+        PersistentMap<Integer, TodoItem> next = published;
+        for (int id : removed) {
+            next = next.without(id);
+        }
+        published = next;
     }
 }
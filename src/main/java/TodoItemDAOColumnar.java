@@ -0,0 +1,679 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Struct-of-arrays {@link TodoItemDAO}: ids, creator ids and epoch-day deadlines live in
+ * {@code int[]} columns and done flags in a bitset, so status and deadline scans stream
+ * through primitive arrays instead of chasing a pointer per item. Rows are kept dense by
+ * moving the last row into a removed slot.
+ *
+ * <p>Items are not stored as objects. Every finder builds fresh {@link TodoItem} views for
+ * the matching rows only. Persisted items and views stay attached to their row, so their
+ * setters write through to the columns until the row is removed.
+ *
+ * <p>The {@code stream} methods walk the columns lazily and build views only for the rows
+ * that reach the terminal operation. Persisting or removing an item while such a stream is
+ * consumed fails with a {@link ConcurrentModificationException}, as removal moves rows.
+ *
+ * <p>A {@link #readView()} shares the columns instead of copying them. The first write after
+ * it to a row the view covers copies the columns once, so the view keeps its rows however the
+ * DAO changes afterwards; appending rows past the view needs no copy.
+ *
+ * <p>Deadlines are stored as epoch days, and titles are canonicalized through a
+ * {@link Deduplicator}, so rows with equal titles share one string.
+ *
+ * <p>Rows are not kept in any order, so each page is selected in one pass over the columns,
+ * and overdue items are found by one pass over the done and deadline columns.
+ */
+public class TodoItemDAOColumnar implements TodoItemDAO {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+    private int[] ids;
+    private int[] creatorIds;
+    private int[] deadlines;
+    private long[] doneBits;
+    private int[] incarnations;
+    private String[] titles;
+    private String[] descriptions;
+    private Person[] creators;
+    private final IntIntHashMap rowsById;
+    private int nextIncarnation;
+    private int modCount;
+    private int sharedRows;
+    private long version;
+    private final DayClock dayClock;
+    private final Deduplicator deduplicator;
+
+    public TodoItemDAOColumnar() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public TodoItemDAOColumnar(Clock clock) {
+        this(clock, new Deduplicator());
+    }
+
+    public TodoItemDAOColumnar(Clock clock, Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            throw new IllegalArgumentException("Deduplicator cannot be null.");
+        }
+        this.dayClock = new DayClock(clock);
+        this.deduplicator = deduplicator;
+        this.ids = new int[INITIAL_CAPACITY];
+        this.creatorIds = new int[INITIAL_CAPACITY];
+        this.deadlines = new int[INITIAL_CAPACITY];
+        this.doneBits = new long[INITIAL_CAPACITY >>> 6];
+        this.incarnations = new int[INITIAL_CAPACITY];
+        this.titles = new String[INITIAL_CAPACITY];
+        this.descriptions = new String[INITIAL_CAPACITY];
+        this.creators = new Person[INITIAL_CAPACITY];
+        this.rowsById = new IntIntHashMap(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public TodoItem persist(TodoItem todoItem) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        if (rowsById.get(todoItem.getId()) != IntIntHashMap.MISSING) {
+            throw new IllegalArgumentException("TodoItem with this ID already exists.");
+        }
+        checkOwner(todoItem);
+        int deadline = epochDay(todoItem.getDeadLine());
+        ensureCapacity(size + 1);
+        append(todoItem, deadline);
+        return todoItem;
+    }
+
+    /**
+     * Validates the batch, converting every deadline on the way, then grows the columns once
+     * and appends the rows.
+     */
+    @Override
+    public Collection<TodoItem> persistAll(Collection<TodoItem> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        int[] batchDeadlines = new int[batch.size()];
+        IntIntHashMap batchIds = new IntIntHashMap(batch.size());
+        int i = 0;
+        for (TodoItem todoItem : batch) {
+            if (todoItem == null) {
+                throw new IllegalArgumentException("TodoItem cannot be null.");
+            }
+            if (rowsById.get(todoItem.getId()) != IntIntHashMap.MISSING
+                    || batchIds.get(todoItem.getId()) != IntIntHashMap.MISSING) {
+                throw new IllegalArgumentException("TodoItem with this ID already exists.");
+            }
+            checkOwner(todoItem);
+            batchDeadlines[i++] = epochDay(todoItem.getDeadLine());
+            batchIds.put(todoItem.getId(), i);
+        }
+        ensureCapacity(size + batch.size());
+        i = 0;
+        for (TodoItem todoItem : batch) {
+            append(todoItem, batchDeadlines[i++]);
+        }
+        return batch;
+    }
+
+    @Override
+    public TodoItem findById(int id) {
+        int row = rowsById.get(id);
+        return row == IntIntHashMap.MISSING ? null : view(row);
+    }
+
+    @Override
+    public Collection<TodoItem> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<TodoItem> readView() {
+        sharedRows = size;
+        return new ColumnView(size, version, ids, deadlines, doneBits, titles, descriptions, creators);
+    }
+
+    @Override
+    public Collection<TodoItem> findAllByDoneStatus(boolean done) {
+        Collection<TodoItem> result = new ArrayList<>();
+        for (int word = 0; word << 6 < size; word++) {
+            long bits = done ? doneBits[word] : ~doneBits[word];
+            while (bits != 0) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (row >= size) {
+                    break;
+                }
+                result.add(view(row));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<TodoItem> findByTitleContains(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null.");
+        }
+        Collection<TodoItem> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (containsIgnoreCase(titles[row], title)) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<TodoItem> findByPersonId(int personId) {
+        Collection<TodoItem> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (creatorIds[row] == personId) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        long before = date.toEpochDay();
+        return findByDeadlineRange(Long.MIN_VALUE, before - 1);
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        long after = date.toEpochDay();
+        return findByDeadlineRange(after + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return findByDeadlineRange(from.toEpochDay(), to.toEpochDay());
+    }
+
+    @Override
+    public Collection<TodoItem> findOverdue() {
+        long today = dayClock.epochDay();
+        Collection<TodoItem> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (deadlines[row] < today && !isDoneBit(row)) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<TodoItem> query(TodoItemQuery query) {
+        return explain(query).execute();
+    }
+
+    /**
+     * Apart from an id lookup every query is a full scan, but the creator, done and deadline
+     * criteria are tested on the columns, so views are only built for rows that pass them.
+     */
+    @Override
+    public QueryPlan explain(TodoItemQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        Set<TodoItemQuery.Criterion> criteria = query.criteria();
+        List<QueryPlan> candidates = new ArrayList<>();
+        if (criteria.contains(TodoItemQuery.Criterion.ID)) {
+            int id = query.getId();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.ID,
+                    rowsById.get(id) == IntIntHashMap.MISSING ? 0 : 1, () -> Stream.ofNullable(findById(id))));
+        }
+        candidates.add(QueryPlan.fullScan(query, size, () -> rows(row -> matchesColumns(query, criteria, row))));
+        return QueryPlan.cheapest(candidates);
+    }
+
+    private boolean matchesColumns(TodoItemQuery query, Set<TodoItemQuery.Criterion> criteria, int row) {
+        for (TodoItemQuery.Criterion criterion : criteria) {
+            switch (criterion) {
+                case CREATOR:
+                    if (creatorIds[row] != query.getCreatorId()) {
+                        return false;
+                    }
+                    break;
+                case DONE:
+                    if (isDoneBit(row) != query.isDone()) {
+                        return false;
+                    }
+                    break;
+                case DEADLINE:
+                    if (deadlines[row] < query.getFromDay() || deadlines[row] > query.getToDay()) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void remove(int id) {
+        int row = rowsById.remove(id);
+        if (row == IntIntHashMap.MISSING) {
+            return;
+        }
+        beforeWrite(row);
+        modCount++;
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            creatorIds[row] = creatorIds[last];
+            deadlines[row] = deadlines[last];
+            setDoneBit(row, isDoneBit(last));
+            incarnations[row] = incarnations[last];
+            titles[row] = titles[last];
+            descriptions[row] = descriptions[last];
+            creators[row] = creators[last];
+            rowsById.put(ids[row], row);
+        }
+        setDoneBit(last, false);
+        titles[last] = null;
+        descriptions[last] = null;
+        creators[last] = null;
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        for (int id : BatchKeys.ids(ids)) {
+            remove(id);
+        }
+    }
+
+    private void checkOwner(TodoItem todoItem) {
+        TodoItemOwner owner = todoItem.getOwner();
+        if (owner != null && !(owner instanceof RowWriter && ((RowWriter) owner).dao() == this)) {
+            throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+        }
+    }
+
+    private void append(TodoItem todoItem, int deadline) {
+        beforeWrite(size);
+        int row = size++;
+        ids[row] = todoItem.getId();
+        creatorIds[row] = todoItem.getCreator().getId();
+        deadlines[row] = deadline;
+        setDoneBit(row, todoItem.isDone());
+        incarnations[row] = ++nextIncarnation;
+        titles[row] = deduplicator.canonical(todoItem.getTitle());
+        descriptions[row] = todoItem.getDescription();
+        creators[row] = todoItem.getCreator();
+        rowsById.put(todoItem.getId(), row);
+        modCount++;
+        todoItem.setOwner(new RowWriter(todoItem.getId(), incarnations[row]));
+    }
+
+    @Override
+    public Stream<TodoItem> stream() {
+        return rows(row -> true);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDoneStatus(boolean done) {
+        return rows(row -> isDoneBit(row) == done);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByTitleContains(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null.");
+        }
+        return rows(row -> containsIgnoreCase(titles[row], title));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByPersonId(int personId) {
+        return rows(row -> creatorIds[row] == personId);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return streamByDeadlineRange(Long.MIN_VALUE, date.toEpochDay() - 1);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return streamByDeadlineRange(date.toEpochDay() + 1, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return streamByDeadlineRange(from.toEpochDay(), to.toEpochDay());
+    }
+
+    @Override
+    public Stream<TodoItem> streamOverdue() {
+        long today = dayClock.epochDay();
+        return rows(row -> deadlines[row] < today && !isDoneBit(row));
+    }
+
+    @Override
+    public Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize) {
+        return page(row -> true, order, after, pageSize);
+    }
+
+    @Override
+    public Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize) {
+        return page(row -> creatorIds[row] == personId, order, after, pageSize);
+    }
+
+    /**
+     * Keeps the smallest sort positions seen in a bounded heap. A position packs the deadline
+     * and the id into one long, so views are built only for the rows on the page.
+     */
+    private Page<TodoItem> page(IntPredicate matches, PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        boolean byDeadline = order == PageOrder.DEADLINE;
+        PriorityQueue<Long> smallest = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int row = 0; row < size; row++) {
+            if (!matches.test(row) || (after != null && !after.isBefore(byDeadline ? deadlines[row] : 0, ids[row]))) {
+                continue;
+            }
+            long position = position(byDeadline ? deadlines[row] : 0, ids[row]);
+            if (smallest.size() <= pageSize) {
+                smallest.add(position);
+            } else if (position < smallest.peek()) {
+                smallest.poll();
+                smallest.add(position);
+            }
+        }
+        long[] positions = smallest.stream().mapToLong(Long::longValue).sorted().toArray();
+        List<TodoItem> items = new ArrayList<>(Math.min(positions.length, pageSize));
+        for (int i = 0; i < positions.length && i < pageSize; i++) {
+            items.add(view(rowsById.get((int) positions[i] ^ Integer.MIN_VALUE)));
+        }
+        PageCursor next = positions.length > pageSize ? order.cursorOf(items.get(pageSize - 1)) : null;
+        return new Page<>(items, next);
+    }
+
+    private static long position(int deadline, int id) {
+        return ((long) deadline << 32) | Integer.toUnsignedLong(id ^ Integer.MIN_VALUE);
+    }
+
+    private Stream<TodoItem> streamByDeadlineRange(long from, long to) {
+        int low = (int) Math.max(from, Integer.MIN_VALUE);
+        int high = (int) Math.min(to, Integer.MAX_VALUE);
+        return rows(row -> deadlines[row] >= low && deadlines[row] <= high);
+    }
+
+    private Stream<TodoItem> rows(IntPredicate matches) {
+        int expectedModCount = modCount;
+        return IntStream.range(0, size)
+                .filter(row -> {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return matches.test(row);
+                })
+                .mapToObj(this::view);
+    }
+
+    private Collection<TodoItem> findByDeadlineRange(long from, long to) {
+        int low = (int) Math.max(from, Integer.MIN_VALUE);
+        int high = (int) Math.min(to, Integer.MAX_VALUE);
+        Collection<TodoItem> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            int deadline = deadlines[row];
+            if (deadline >= low && deadline <= high) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    private TodoItem view(int row) {
+        TodoItem todoItem = new TodoItem(ids[row], titles[row], descriptions[row],
+                LocalDate.ofEpochDay(deadlines[row]), creators[row]);
+        todoItem.setDone(isDoneBit(row));
+        todoItem.setOwner(new RowWriter(ids[row], incarnations[row]));
+        return todoItem;
+    }
+
+    private static int epochDay(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Deadline is outside the supported range.");
+        }
+        return (int) epochDay;
+    }
+
+    private static boolean containsIgnoreCase(String text, String query) {
+        for (int start = 0; start + query.length() <= text.length(); start++) {
+            if (text.regionMatches(true, start, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDoneBit(int row) {
+        return (doneBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void setDoneBit(int row, boolean done) {
+        if (done) {
+            doneBits[row >>> 6] |= 1L << row;
+        } else {
+            doneBits[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        grown = (grown + 63) & ~63;
+        ids = Arrays.copyOf(ids, grown);
+        creatorIds = Arrays.copyOf(creatorIds, grown);
+        deadlines = Arrays.copyOf(deadlines, grown);
+        doneBits = Arrays.copyOf(doneBits, grown >>> 6);
+        incarnations = Arrays.copyOf(incarnations, grown);
+        titles = Arrays.copyOf(titles, grown);
+        descriptions = Arrays.copyOf(descriptions, grown);
+        creators = Arrays.copyOf(creators, grown);
+        sharedRows = 0;
+    }
+
+    /** Copies the columns first if a view still shares the row, and counts the write. */
+    private void beforeWrite(int row) {
+        version++;
+        if (row >= sharedRows) {
+            return;
+        }
+        ids = ids.clone();
+        creatorIds = creatorIds.clone();
+        deadlines = deadlines.clone();
+        doneBits = doneBits.clone();
+        titles = titles.clone();
+        descriptions = descriptions.clone();
+        creators = creators.clone();
+        sharedRows = 0;
+    }
+
+    /**
+     * Owner attached to items handed out for one incarnation of a row. Once the row is
+     * removed (even if its id is persisted again) the writer finds no matching row and the
+     * change only affects the detached object.
+     */
+    private class RowWriter implements TodoItemOwner {
+        private final int id;
+        private final int incarnation;
+
+        private RowWriter(int id, int incarnation) {
+            this.id = id;
+            this.incarnation = incarnation;
+        }
+
+        private TodoItemDAOColumnar dao() {
+            return TodoItemDAOColumnar.this;
+        }
+
+        private int row() {
+            int row = rowsById.get(id);
+            return row != IntIntHashMap.MISSING && incarnations[row] == incarnation ? row : IntIntHashMap.MISSING;
+        }
+
+        @Override
+        public void doneChanging(TodoItem todoItem, boolean done) {
+            int row = row();
+            if (row != IntIntHashMap.MISSING) {
+                beforeWrite(row);
+                setDoneBit(row, done);
+            }
+        }
+
+        @Override
+        public void creatorChanging(TodoItem todoItem, Person creator) {
+            int row = row();
+            if (row != IntIntHashMap.MISSING) {
+                beforeWrite(row);
+                creatorIds[row] = creator.getId();
+                creators[row] = creator;
+            }
+        }
+
+        @Override
+        public void deadLineChanging(TodoItem todoItem, LocalDate deadLine) {
+            int deadline = epochDay(deadLine);
+            int row = row();
+            if (row != IntIntHashMap.MISSING) {
+                beforeWrite(row);
+                deadlines[row] = deadline;
+            }
+        }
+
+        @Override
+        public void titleChanging(TodoItem todoItem, String title) {
+            int row = row();
+            if (row != IntIntHashMap.MISSING) {
+                beforeWrite(row);
+                titles[row] = deduplicator.canonical(title);
+            }
+        }
+
+        @Override
+        public void descriptionChanging(TodoItem todoItem, String description) {
+            int row = row();
+            if (row != IntIntHashMap.MISSING) {
+                beforeWrite(row);
+                descriptions[row] = description;
+            }
+        }
+
+        @Override
+        public String canonical(String value) {
+            return deduplicator.canonical(value);
+        }
+
+        @Override
+        public LocalDate canonical(LocalDate value) {
+            return deduplicator.canonical(value);
+        }
+    }
+
+    /** Rows of the columns as they were when the view was taken, as detached items. */
+    private static final class ColumnView extends AbstractCollection<TodoItem> implements ReadView<TodoItem> {
+        private final int size;
+        private final long version;
+        private final int[] ids;
+        private final int[] deadlines;
+        private final long[] doneBits;
+        private final String[] titles;
+        private final String[] descriptions;
+        private final Person[] creators;
+
+        private ColumnView(int size, long version, int[] ids, int[] deadlines, long[] doneBits, String[] titles,
+                           String[] descriptions, Person[] creators) {
+            this.size = size;
+            this.version = version;
+            this.ids = ids;
+            this.deadlines = deadlines;
+            this.doneBits = doneBits;
+            this.titles = titles;
+            this.descriptions = descriptions;
+            this.creators = creators;
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<TodoItem> iterator() {
+            return new Iterator<>() {
+                private int row;
+
+                @Override
+                public boolean hasNext() {
+                    return row < size;
+                }
+
+                @Override
+                public TodoItem next() {
+                    if (row >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    TodoItem todoItem = new TodoItem(ids[row], titles[row], descriptions[row],
+                            LocalDate.ofEpochDay(deadlines[row]), creators[row]);
+                    todoItem.setDone((doneBits[row >>> 6] & (1L << row)) != 0);
+                    row++;
+                    return todoItem;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,511 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link TodoItemDAO} with the indexes of {@link TodoItemDAOIndexed} built on
+ * concurrent maps. Writes and setter callbacks for one item are serialized on that item's
+ * lock stripe, while reads take no locks: the {@code stream} methods and pages are weakly
+ * consistent, and {@link #readView()} is an immutable map published by compare-and-set.
+ */
+public class TodoItemDAOConcurrent implements TodoItemDAO {
+    private static final int STRIPES = 64;
+
+    private final Map<Integer, TodoItem> todoItems;
+    private final NavigableMap<Integer, TodoItem> itemsInIdOrder;
+    private final Map<Integer, NavigableMap<Integer, TodoItem>> itemsByCreator;
+    private final Map<Integer, NavigableMap<Long, NavigableMap<Integer, TodoItem>>> creatorItemsByDeadline;
+    private final Map<Integer, TodoItem> doneItems;
+    private final Map<Integer, TodoItem> openItems;
+    private final ConcurrentNavigableMap<Long, NavigableMap<Integer, TodoItem>> itemsByDeadline;
+    private final ConcurrentNavigableMap<Long, NavigableMap<Integer, TodoItem>> openItemsByDeadline;
+    private final Map<Integer, IndexKeys> indexKeys;
+    private final StripedLocks locks;
+    private final TodoItemOwner indexMaintainer;
+    private final DayClock dayClock;
+    private final Deduplicator deduplicator;
+    private final AtomicReference<PersistentMap<Integer, TodoItem>> published;
+
+    public TodoItemDAOConcurrent() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public TodoItemDAOConcurrent(Clock clock) {
+        this(clock, new Deduplicator());
+    }
+
+    /** The deduplicator is thread-safe and may be shared with other DAOs. */
+    public TodoItemDAOConcurrent(Clock clock, Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            throw new IllegalArgumentException("Deduplicator cannot be null.");
+        }
+        this.dayClock = new DayClock(clock);
+        this.deduplicator = deduplicator;
+        this.todoItems = new ConcurrentHashMap<>();
+        this.itemsInIdOrder = new ConcurrentSkipListMap<>();
+        this.itemsByCreator = new ConcurrentHashMap<>();
+        this.creatorItemsByDeadline = new ConcurrentHashMap<>();
+        this.doneItems = new ConcurrentHashMap<>();
+        this.openItems = new ConcurrentHashMap<>();
+        this.itemsByDeadline = new ConcurrentSkipListMap<>();
+        this.openItemsByDeadline = new ConcurrentSkipListMap<>();
+        this.indexKeys = new ConcurrentHashMap<>();
+        this.locks = new StripedLocks(STRIPES);
+        this.indexMaintainer = new IndexMaintainer();
+        this.published = new AtomicReference<>(PersistentMap.empty());
+    }
+
+    @Override
+    public TodoItem persist(TodoItem todoItem) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        int[] held = locks.lock(todoItem.getId());
+        try {
+            if (todoItems.containsKey(todoItem.getId())) {
+                throw new IllegalArgumentException("TodoItem with this ID already exists.");
+            }
+            if (todoItem.getOwner() != null) {
+                throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+            }
+            insert(todoItem);
+            published.updateAndGet(map -> map.with(todoItem.getId(), todoItem));
+        } finally {
+            locks.unlock(held);
+        }
+        return todoItem;
+    }
+
+    /**
+     * Holds the stripes of every id in the batch while it is validated and stored, so the
+     * batch is atomic with respect to other writers. Lock-free readers may still observe it
+     * partly stored.
+     */
+    @Override
+    public Collection<TodoItem> persistAll(Collection<TodoItem> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        Object[] ids = new Object[batch.size()];
+        int i = 0;
+        for (TodoItem todoItem : batch) {
+            if (todoItem == null) {
+                throw new IllegalArgumentException("TodoItem cannot be null.");
+            }
+            ids[i++] = todoItem.getId();
+        }
+        int[] held = locks.lock(ids);
+        try {
+            Set<Integer> batchIds = new HashSet<>();
+            for (TodoItem todoItem : batch) {
+                if (todoItems.containsKey(todoItem.getId()) || !batchIds.add(todoItem.getId())) {
+                    throw new IllegalArgumentException("TodoItem with this ID already exists.");
+                }
+                if (todoItem.getOwner() != null) {
+                    throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+                }
+            }
+            for (TodoItem todoItem : batch) {
+                insert(todoItem);
+            }
+            published.updateAndGet(map -> {
+                for (TodoItem todoItem : batch) {
+                    map = map.with(todoItem.getId(), todoItem);
+                }
+                return map;
+            });
+        } finally {
+            locks.unlock(held);
+        }
+        return batch;
+    }
+
+    @Override
+    public TodoItem findById(int id) {
+        return todoItems.get(id);
+    }
+
+    @Override
+    public Collection<TodoItem> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<TodoItem> readView() {
+        return published.get().values();
+    }
+
+    @Override
+    public Collection<TodoItem> findAllByDoneStatus(boolean done) {
+        return new ArrayList<>(partition(done).values());
+    }
+
+    @Override
+    public Collection<TodoItem> findByTitleContains(String title) {
+        return streamByTitleContains(title).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByPersonId(int personId) {
+        return new ArrayList<>(itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()).values());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+        return streamByDeadlineBefore(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+        return streamByDeadlineAfter(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to) {
+        return streamByDeadlineBetween(from, to).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findOverdue() {
+        return streamOverdue().collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<TodoItem> stream() {
+        return todoItems.values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDoneStatus(boolean done) {
+        return partition(done).values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByTitleContains(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null.");
+        }
+        String query = TitleTrigramIndex.fold(title);
+        return todoItems.values().stream()
+                .filter(item -> TitleTrigramIndex.fold(item.getTitle()).contains(query));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByPersonId(int personId) {
+        return itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()).values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return flatten(itemsByDeadline.headMap(date.toEpochDay(), false));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return flatten(itemsByDeadline.tailMap(date.toEpochDay(), false));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return flatten(itemsByDeadline.subMap(from.toEpochDay(), true, to.toEpochDay(), true));
+    }
+
+    @Override
+    public Stream<TodoItem> streamOverdue() {
+        return flatten(openItemsByDeadline.headMap(dayClock.epochDay(), false));
+    }
+
+    @Override
+    public Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        Iterator<TodoItem> rows = order == PageOrder.ID
+                ? Page.afterId(itemsInIdOrder, after)
+                : Page.afterKey(itemsByDeadline, after);
+        return Page.of(rows, pageSize, order::cursorOf);
+    }
+
+    @Override
+    public Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        Iterator<TodoItem> rows = order == PageOrder.ID
+                ? Page.afterId(itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()), after)
+                : Page.afterKey(creatorItemsByDeadline.getOrDefault(personId, Collections.emptyNavigableMap()), after);
+        return Page.of(rows, pageSize, order::cursorOf);
+    }
+
+    @Override
+    public Stream<TodoItem> query(TodoItemQuery query) {
+        return explain(query).execute();
+    }
+
+    /**
+     * Titles are not indexed here, so a title criterion is always a residual filter.
+     */
+    @Override
+    public QueryPlan explain(TodoItemQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        Set<TodoItemQuery.Criterion> criteria = query.criteria();
+        List<QueryPlan> candidates = new ArrayList<>();
+        long best = todoItems.size();
+        if (criteria.contains(TodoItemQuery.Criterion.ID)) {
+            int id = query.getId();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.ID, todoItems.containsKey(id) ? 1 : 0,
+                    () -> Stream.ofNullable(todoItems.get(id))));
+            best = Math.min(best, 1);
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.DONE)) {
+            boolean done = query.isDone();
+            long rows = partition(done).size();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.DONE, rows, () -> streamByDoneStatus(done)));
+            best = Math.min(best, rows);
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.CREATOR)) {
+            int creatorId = query.getCreatorId();
+            long rows = QueryPlan.countUpTo(streamByPersonId(creatorId), best);
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.CREATOR, rows, () -> streamByPersonId(creatorId)));
+            best = Math.min(best, rows);
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.DEADLINE)) {
+            long fromDay = query.getFromDay();
+            long toDay = query.getToDay();
+            Supplier<Stream<TodoItem>> range = () -> fromDay > toDay
+                    ? Stream.empty()
+                    : flatten(itemsByDeadline.subMap(fromDay, true, toDay, true));
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.DEADLINE,
+                    QueryPlan.countUpTo(range.get(), best), range));
+        }
+        candidates.add(QueryPlan.fullScan(query, todoItems.size(), this::stream));
+        return QueryPlan.cheapest(candidates);
+    }
+
+    @Override
+    public void remove(int id) {
+        int[] held = locks.lock(id);
+        try {
+            delete(id);
+            published.updateAndGet(map -> map.without(id));
+        } finally {
+            locks.unlock(held);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        Set<Integer> removed = BatchKeys.ids(ids);
+        int[] held = locks.lock(removed.toArray());
+        try {
+            for (int id : removed) {
+                delete(id);
+            }
+            published.updateAndGet(map -> {
+                for (int id : removed) {
+                    map = map.without(id);
+                }
+                return map;
+            });
+        } finally {
+            locks.unlock(held);
+        }
+    }
+
+    private void insert(TodoItem todoItem) {
+        deduplicator.deduplicate(todoItem);
+        IndexKeys keys = new IndexKeys(todoItem);
+        addToCreator(keys.creatorId, keys.deadlineDay, todoItem);
+        partition(keys.done).put(todoItem.getId(), todoItem);
+        addToDeadline(itemsByDeadline, keys.deadlineDay, todoItem);
+        if (!keys.done) {
+            addToDeadline(openItemsByDeadline, keys.deadlineDay, todoItem);
+        }
+        indexKeys.put(todoItem.getId(), keys);
+        itemsInIdOrder.put(todoItem.getId(), todoItem);
+        todoItems.put(todoItem.getId(), todoItem);
+        todoItem.setOwner(indexMaintainer);
+    }
+
+    private void delete(int id) {
+        TodoItem removed = todoItems.remove(id);
+        if (removed == null) {
+            return;
+        }
+        itemsInIdOrder.remove(id);
+        IndexKeys keys = indexKeys.remove(id);
+        removeFromCreator(keys.creatorId, keys.deadlineDay, removed);
+        partition(keys.done).remove(id);
+        itemsByDeadline.get(keys.deadlineDay).remove(id);
+        if (!keys.done) {
+            openItemsByDeadline.get(keys.deadlineDay).remove(id);
+        }
+        removed.setOwner(null);
+    }
+
+    private Map<Integer, TodoItem> partition(boolean done) {
+        return done ? doneItems : openItems;
+    }
+
+    private static Stream<TodoItem> flatten(Map<Long, NavigableMap<Integer, TodoItem>> buckets) {
+        return buckets.values().stream().flatMap(bucket -> bucket.values().stream());
+    }
+
+    private void addToCreator(int creatorId, long deadlineDay, TodoItem todoItem) {
+        itemsByCreator.compute(creatorId, (key, bucket) -> {
+            NavigableMap<Integer, TodoItem> items = bucket != null ? bucket : new ConcurrentSkipListMap<>();
+            items.put(todoItem.getId(), todoItem);
+            return items;
+        });
+        addToCreatorDeadline(creatorId, deadlineDay, todoItem);
+    }
+
+    private void removeFromCreator(int creatorId, long deadlineDay, TodoItem todoItem) {
+        itemsByCreator.computeIfPresent(creatorId, (key, bucket) -> {
+            bucket.remove(todoItem.getId());
+            return bucket.isEmpty() ? null : bucket;
+        });
+        removeFromCreatorDeadline(creatorId, deadlineDay, todoItem);
+    }
+
+    private void addToCreatorDeadline(int creatorId, long deadlineDay, TodoItem todoItem) {
+        creatorItemsByDeadline.compute(creatorId, (key, deadlines) -> {
+            NavigableMap<Long, NavigableMap<Integer, TodoItem>> days =
+                    deadlines != null ? deadlines : new ConcurrentSkipListMap<>();
+            days.computeIfAbsent(deadlineDay, day -> new ConcurrentSkipListMap<>()).put(todoItem.getId(), todoItem);
+            return days;
+        });
+    }
+
+    /** Drops emptied day buckets; the compute keeps other writers of the creator out meanwhile. */
+    private void removeFromCreatorDeadline(int creatorId, long deadlineDay, TodoItem todoItem) {
+        creatorItemsByDeadline.computeIfPresent(creatorId, (key, days) -> {
+            NavigableMap<Integer, TodoItem> bucket = days.get(deadlineDay);
+            if (bucket != null) {
+                bucket.remove(todoItem.getId());
+                if (bucket.isEmpty()) {
+                    days.remove(deadlineDay);
+                }
+            }
+            return days.isEmpty() ? null : days;
+        });
+    }
+
+    private static void addToDeadline(ConcurrentNavigableMap<Long, NavigableMap<Integer, TodoItem>> index,
+                                      long deadlineDay, TodoItem todoItem) {
+        index.computeIfAbsent(deadlineDay, key -> new ConcurrentSkipListMap<>())
+                .put(todoItem.getId(), todoItem);
+    }
+
+    /** The keys an item is indexed under, as the callbacks run before its field is assigned. */
+    private static final class IndexKeys {
+        private int creatorId;
+        private long deadlineDay;
+        private boolean done;
+
+        private IndexKeys(TodoItem todoItem) {
+            this.creatorId = todoItem.getCreator().getId();
+            this.deadlineDay = todoItem.getDeadLine().toEpochDay();
+            this.done = todoItem.isDone();
+        }
+    }
+
+    private class IndexMaintainer implements TodoItemOwner {
+        @Override
+        public void doneChanging(TodoItem todoItem, boolean done) {
+            int[] held = locks.lock(todoItem.getId());
+            try {
+                IndexKeys keys = keysOf(todoItem);
+                if (keys != null && keys.done != done) {
+                    partition(done).put(todoItem.getId(), todoItem);
+                    partition(keys.done).remove(todoItem.getId());
+                    if (done) {
+                        openItemsByDeadline.get(keys.deadlineDay).remove(todoItem.getId());
+                    } else {
+                        addToDeadline(openItemsByDeadline, keys.deadlineDay, todoItem);
+                    }
+                    keys.done = done;
+                }
+            } finally {
+                locks.unlock(held);
+            }
+        }
+
+        @Override
+        public void creatorChanging(TodoItem todoItem, Person creator) {
+            int[] held = locks.lock(todoItem.getId());
+            try {
+                IndexKeys keys = keysOf(todoItem);
+                if (keys != null && keys.creatorId != creator.getId()) {
+                    addToCreator(creator.getId(), keys.deadlineDay, todoItem);
+                    removeFromCreator(keys.creatorId, keys.deadlineDay, todoItem);
+                    keys.creatorId = creator.getId();
+                }
+            } finally {
+                locks.unlock(held);
+            }
+        }
+
+        @Override
+        public void deadLineChanging(TodoItem todoItem, LocalDate deadLine) {
+            int[] held = locks.lock(todoItem.getId());
+            try {
+                IndexKeys keys = keysOf(todoItem);
+                if (keys != null && keys.deadlineDay != deadLine.toEpochDay()) {
+                    addToDeadline(itemsByDeadline, deadLine.toEpochDay(), todoItem);
+                    itemsByDeadline.get(keys.deadlineDay).remove(todoItem.getId());
+                    addToCreatorDeadline(keys.creatorId, deadLine.toEpochDay(), todoItem);
+                    removeFromCreatorDeadline(keys.creatorId, keys.deadlineDay, todoItem);
+                    if (!keys.done) {
+                        addToDeadline(openItemsByDeadline, deadLine.toEpochDay(), todoItem);
+                        openItemsByDeadline.get(keys.deadlineDay).remove(todoItem.getId());
+                    }
+                    keys.deadlineDay = deadLine.toEpochDay();
+                }
+            } finally {
+                locks.unlock(held);
+            }
+        }
+
+        @Override
+        public String canonical(String value) {
+            return deduplicator.canonical(value);
+        }
+
+        @Override
+        public LocalDate canonical(LocalDate value) {
+            return deduplicator.canonical(value);
+        }
+
+        private IndexKeys keysOf(TodoItem todoItem) {
+            return todoItems.get(todoItem.getId()) == todoItem ? indexKeys.get(todoItem.getId()) : null;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoItemDAO} backed by id, creator, done-status, deadline and title indexes that
+ * stored items keep in step through {@link TodoItemOwner}, so pages and queries are index
+ * seeks rather than scans.
+ */
+public class TodoItemDAOIndexed implements TodoItemDAO {
+    private final Map<Integer, TodoItem> todoItems;
+    private final NavigableMap<Integer, TodoItem> itemsInIdOrder;
+    private final Map<Integer, NavigableMap<Integer, TodoItem>> itemsByCreator;
+    private final Map<Integer, TodoItem> doneItems;
+    private final Map<Integer, TodoItem> openItems;
+    private final NavigableMap<Long, NavigableMap<Integer, TodoItem>> itemsByDeadline;
+    private final Map<Integer, NavigableMap<Long, NavigableMap<Integer, TodoItem>>> creatorItemsByDeadline;
+    private final NavigableMap<Long, NavigableMap<Integer, TodoItem>> openItemsByDeadline;
+    private final TitleTrigramIndex titleIndex;
+    private final TodoItemOwner indexMaintainer;
+    private final DayClock dayClock;
+    private final Deduplicator deduplicator;
+    private volatile PersistentMap<Integer, TodoItem> published;
+
+    public TodoItemDAOIndexed() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public TodoItemDAOIndexed(Clock clock) {
+        this(clock, new Deduplicator());
+    }
+
+    public TodoItemDAOIndexed(Clock clock, Deduplicator deduplicator) {
+        if (deduplicator == null) {
+            throw new IllegalArgumentException("Deduplicator cannot be null.");
+        }
+        this.dayClock = new DayClock(clock);
+        this.deduplicator = deduplicator;
+        this.todoItems = new LinkedHashMap<>();
+        this.itemsInIdOrder = new TreeMap<>();
+        this.itemsByCreator = new HashMap<>();
+        this.doneItems = new LinkedHashMap<>();
+        this.openItems = new LinkedHashMap<>();
+        this.itemsByDeadline = new TreeMap<>();
+        this.creatorItemsByDeadline = new HashMap<>();
+        this.openItemsByDeadline = new TreeMap<>();
+        this.titleIndex = new TitleTrigramIndex();
+        this.indexMaintainer = new IndexMaintainer();
+        this.published = PersistentMap.empty();
+    }
+
+    @Override
+    public TodoItem persist(TodoItem todoItem) {
+        if (todoItem == null) {
+            throw new IllegalArgumentException("TodoItem cannot be null.");
+        }
+        if (todoItems.containsKey(todoItem.getId())) {
+            throw new IllegalArgumentException("TodoItem with this ID already exists.");
+        }
+        if (todoItem.getOwner() != null) {
+            throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+        }
+        deduplicator.deduplicate(todoItem);
+        todoItems.put(todoItem.getId(), todoItem);
+        index(todoItem);
+        todoItem.setOwner(indexMaintainer);
+        published = published.with(todoItem.getId(), todoItem);
+        return todoItem;
+    }
+
+    @Override
+    public Collection<TodoItem> persistAll(Collection<TodoItem> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("TodoItems cannot be null.");
+        }
+        Set<Integer> batchIds = new HashSet<>();
+        for (TodoItem todoItem : batch) {
+            if (todoItem == null) {
+                throw new IllegalArgumentException("TodoItem cannot be null.");
+            }
+            if (todoItems.containsKey(todoItem.getId()) || !batchIds.add(todoItem.getId())) {
+                throw new IllegalArgumentException("TodoItem with this ID already exists.");
+            }
+            if (todoItem.getOwner() != null) {
+                throw new IllegalArgumentException("TodoItem is already stored in another DAO.");
+            }
+        }
+        PersistentMap<Integer, TodoItem> next = published;
+        for (TodoItem todoItem : batch) {
+            deduplicator.deduplicate(todoItem);
+            todoItems.put(todoItem.getId(), todoItem);
+            index(todoItem);
+            todoItem.setOwner(indexMaintainer);
+            next = next.with(todoItem.getId(), todoItem);
+        }
+        published = next;
+        return batch;
+    }
+
+    @Override
+    public TodoItem findById(int id) {
+        return todoItems.get(id);
+    }
+
+    @Override
+    public Collection<TodoItem> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<TodoItem> readView() {
+        return published.values();
+    }
+
+    @Override
+    public Collection<TodoItem> findAllByDoneStatus(boolean done) {
+        return new ArrayList<>(partition(done).values());
+    }
+
+    @Override
+    public Collection<TodoItem> findByTitleContains(String title) {
+        return streamByTitleContains(title).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByPersonId(int personId) {
+        return new ArrayList<>(itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()).values());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBefore(LocalDate date) {
+        return streamByDeadlineBefore(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineAfter(LocalDate date) {
+        return streamByDeadlineAfter(date).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findByDeadlineBetween(LocalDate from, LocalDate to) {
+        return streamByDeadlineBetween(from, to).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<TodoItem> findOverdue() {
+        return streamOverdue().collect(Collectors.toList());
+    }
+
+    /**
+     * Streams straight over the index the query is answered from. Anything that restructures
+     * that index while the stream is consumed, including a setter on a stored item that moves
+     * it to another bucket, fails with a {@link java.util.ConcurrentModificationException};
+     * collect the matches first when they are to be modified.
+     */
+    @Override
+    public Stream<TodoItem> stream() {
+        return todoItems.values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDoneStatus(boolean done) {
+        return partition(done).values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByTitleContains(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null.");
+        }
+        return titleIndex.stream(title, todoItems);
+    }
+
+    @Override
+    public Stream<TodoItem> streamByPersonId(int personId) {
+        return itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()).values().stream();
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return flatten(itemsByDeadline.headMap(date.toEpochDay(), false));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return flatten(itemsByDeadline.tailMap(date.toEpochDay(), false));
+    }
+
+    @Override
+    public Stream<TodoItem> streamByDeadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return flatten(itemsByDeadline.subMap(from.toEpochDay(), true, to.toEpochDay(), true));
+    }
+
+    @Override
+    public Stream<TodoItem> streamOverdue() {
+        return flatten(openItemsByDeadline.headMap(dayClock.epochDay(), false));
+    }
+
+    @Override
+    public Page<TodoItem> findPage(PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        Iterator<TodoItem> rows = order == PageOrder.ID
+                ? Page.afterId(itemsInIdOrder, after)
+                : Page.afterKey(itemsByDeadline, after);
+        return Page.of(rows, pageSize, order::cursorOf);
+    }
+
+    @Override
+    public Page<TodoItem> findPageByPersonId(int personId, PageOrder order, PageCursor after, int pageSize) {
+        PageCursor.check(after, order);
+        Page.checkPageSize(pageSize);
+        Iterator<TodoItem> rows = order == PageOrder.ID
+                ? Page.afterId(itemsByCreator.getOrDefault(personId, Collections.emptyNavigableMap()), after)
+                : Page.afterKey(creatorItemsByDeadline.getOrDefault(personId, Collections.emptyNavigableMap()), after);
+        return Page.of(rows, pageSize, order::cursorOf);
+    }
+
+    @Override
+    public Stream<TodoItem> query(TodoItemQuery query) {
+        return explain(query).execute();
+    }
+
+    @Override
+    public QueryPlan explain(TodoItemQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null.");
+        }
+        Set<TodoItemQuery.Criterion> criteria = query.criteria();
+        List<QueryPlan> candidates = new ArrayList<>();
+        long best = todoItems.size();
+        if (criteria.contains(TodoItemQuery.Criterion.ID)) {
+            int id = query.getId();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.ID, todoItems.containsKey(id) ? 1 : 0,
+                    () -> Stream.ofNullable(todoItems.get(id))));
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.CREATOR)) {
+            int creatorId = query.getCreatorId();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.CREATOR,
+                    itemsByCreator.getOrDefault(creatorId, Collections.emptyNavigableMap()).size(),
+                    () -> streamByPersonId(creatorId)));
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.DONE)) {
+            boolean done = query.isDone();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.DONE, partition(done).size(),
+                    () -> streamByDoneStatus(done)));
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.TITLE)) {
+            String title = query.getTitle();
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.TITLE, titleIndex.estimate(title),
+                    () -> titleIndex.stream(title, todoItems)));
+        }
+        for (QueryPlan candidate : candidates) {
+            best = Math.min(best, candidate.getEstimatedRows());
+        }
+        if (criteria.contains(TodoItemQuery.Criterion.DEADLINE)) {
+            NavigableMap<Long, NavigableMap<Integer, TodoItem>> range = deadlineRange(query.getFromDay(), query.getToDay());
+            long rows = 0;
+            for (Map<Integer, TodoItem> bucket : range.values()) {
+                rows += bucket.size();
+                if (rows > best) {
+                    break;
+                }
+            }
+            candidates.add(QueryPlan.index(query, TodoItemQuery.Criterion.DEADLINE, rows, () -> flatten(range)));
+        }
+        candidates.add(QueryPlan.fullScan(query, todoItems.size(), this::stream));
+        return QueryPlan.cheapest(candidates);
+    }
+
+    @Override
+    public void remove(int id) {
+        TodoItem removed = todoItems.remove(id);
+        if (removed == null) {
+            return;
+        }
+        unindex(removed);
+        removed.setOwner(null);
+        published = published.without(id);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        for (int id : BatchKeys.ids(ids)) {
+            remove(id);
+        }
+    }
+
+    private Map<Integer, TodoItem> partition(boolean done) {
+        return done ? doneItems : openItems;
+    }
+
+    private NavigableMap<Long, NavigableMap<Integer, TodoItem>> deadlineRange(long fromDay, long toDay) {
+        return fromDay > toDay ? Collections.emptyNavigableMap() : itemsByDeadline.subMap(fromDay, true, toDay, true);
+    }
+
+    private static Stream<TodoItem> flatten(Map<Long, NavigableMap<Integer, TodoItem>> buckets) {
+        return buckets.values().stream().flatMap(bucket -> bucket.values().stream());
+    }
+
+    private static <K> void addToBucket(Map<K, NavigableMap<Integer, TodoItem>> index, K key, TodoItem todoItem) {
+        index.computeIfAbsent(key, k -> new TreeMap<>()).put(todoItem.getId(), todoItem);
+    }
+
+    private static <K> void removeFromBucket(Map<K, NavigableMap<Integer, TodoItem>> index, K key, TodoItem todoItem) {
+        Map<Integer, TodoItem> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(todoItem.getId());
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private void addToCreatorDeadline(int creatorId, long deadlineDay, TodoItem todoItem) {
+        addToBucket(creatorItemsByDeadline.computeIfAbsent(creatorId, key -> new TreeMap<>()), deadlineDay, todoItem);
+    }
+
+    private void removeFromCreatorDeadline(int creatorId, long deadlineDay, TodoItem todoItem) {
+        NavigableMap<Long, NavigableMap<Integer, TodoItem>> deadlines = creatorItemsByDeadline.get(creatorId);
+        if (deadlines != null) {
+            removeFromBucket(deadlines, deadlineDay, todoItem);
+            if (deadlines.isEmpty()) {
+                creatorItemsByDeadline.remove(creatorId);
+            }
+        }
+    }
+
+    private void index(TodoItem todoItem) {
+        itemsInIdOrder.put(todoItem.getId(), todoItem);
+        addToBucket(itemsByCreator, todoItem.getCreator().getId(), todoItem);
+        partition(todoItem.isDone()).put(todoItem.getId(), todoItem);
+        addToBucket(itemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+        addToCreatorDeadline(todoItem.getCreator().getId(), todoItem.getDeadLine().toEpochDay(), todoItem);
+        if (!todoItem.isDone()) {
+            addToBucket(openItemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+        }
+        titleIndex.add(todoItem, todoItem.getTitle());
+    }
+
+    private void unindex(TodoItem todoItem) {
+        itemsInIdOrder.remove(todoItem.getId());
+        removeFromBucket(itemsByCreator, todoItem.getCreator().getId(), todoItem);
+        partition(todoItem.isDone()).remove(todoItem.getId());
+        removeFromBucket(itemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+        removeFromCreatorDeadline(todoItem.getCreator().getId(), todoItem.getDeadLine().toEpochDay(), todoItem);
+        if (!todoItem.isDone()) {
+            removeFromBucket(openItemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+        }
+        titleIndex.remove(todoItem);
+    }
+
+    private class IndexMaintainer implements TodoItemOwner {
+        @Override
+        public void doneChanging(TodoItem todoItem, boolean done) {
+            partition(todoItem.isDone()).remove(todoItem.getId());
+            partition(done).put(todoItem.getId(), todoItem);
+            if (done) {
+                removeFromBucket(openItemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+            } else {
+                addToBucket(openItemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+            }
+        }
+
+        @Override
+        public void creatorChanging(TodoItem todoItem, Person creator) {
+            int oldCreatorId = todoItem.getCreator().getId();
+            if (oldCreatorId == creator.getId()) {
+                return;
+            }
+            long deadlineDay = todoItem.getDeadLine().toEpochDay();
+            removeFromBucket(itemsByCreator, oldCreatorId, todoItem);
+            addToBucket(itemsByCreator, creator.getId(), todoItem);
+            removeFromCreatorDeadline(oldCreatorId, deadlineDay, todoItem);
+            addToCreatorDeadline(creator.getId(), deadlineDay, todoItem);
+        }
+
+        @Override
+        public void deadLineChanging(TodoItem todoItem, LocalDate deadLine) {
+            int creatorId = todoItem.getCreator().getId();
+            removeFromBucket(itemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+            addToBucket(itemsByDeadline, deadLine.toEpochDay(), todoItem);
+            removeFromCreatorDeadline(creatorId, todoItem.getDeadLine().toEpochDay(), todoItem);
+            addToCreatorDeadline(creatorId, deadLine.toEpochDay(), todoItem);
+            if (!todoItem.isDone()) {
+                removeFromBucket(openItemsByDeadline, todoItem.getDeadLine().toEpochDay(), todoItem);
+                addToBucket(openItemsByDeadline, deadLine.toEpochDay(), todoItem);
+            }
+        }
+
+        @Override
+        public void titleChanging(TodoItem todoItem, String title) {
+            titleIndex.remove(todoItem);
+            titleIndex.add(todoItem, title);
+        }
+
+        @Override
+        public String canonical(String value) {
+            return deduplicator.canonical(value);
+        }
+
+        @Override
+        public LocalDate canonical(LocalDate value) {
+            return deduplicator.canonical(value);
+        }
+    }
+}
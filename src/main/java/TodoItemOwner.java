@@ -0,0 +1,35 @@
+import java.time.LocalDate;
+
+/**
+ * Callback from a {@link TodoItem} to the DAO that stores it. Each method is invoked by the
+ * matching setter before the field is assigned, and only when the value actually changes,
+ * so the owner can move the item between its index buckets. Throwing aborts the change.
+ * The setters are synchronized on the item, so no other setter of the item runs between a
+ * callback and the assignment it precedes.
+ * After a title or deadline change is accepted, the setter stores whatever
+ * {@code canonical} returns for it, which lets the owner hand back a shared equal instance.
+ */
+interface TodoItemOwner {
+    default void doneChanging(TodoItem todoItem, boolean done) {
+    }
+
+    default void creatorChanging(TodoItem todoItem, Person creator) {
+    }
+
+    default void deadLineChanging(TodoItem todoItem, LocalDate deadLine) {
+    }
+
+    default void titleChanging(TodoItem todoItem, String title) {
+    }
+
+    default void descriptionChanging(TodoItem todoItem, String description) {
+    }
+
+    default String canonical(String value) {
+        return value;
+    }
+
+    default LocalDate canonical(LocalDate value) {
+        return value;
+    }
+}
@@ -0,0 +1,191 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conjunction of criteria on {@link TodoItem}s, answered by {@link TodoItemDAO#query}. Each
+ * method returns a new query with one more criterion, so a query can be shared and extended
+ * freely. Repeated deadline bounds narrow the range; other repeated criteria replace the
+ * earlier value.
+ */
+public final class TodoItemQuery {
+    enum Criterion {
+        ID,
+        CREATOR,
+        DONE,
+        DEADLINE,
+        TITLE
+    }
+
+    private final Integer id;
+    private final Integer creatorId;
+    private final Boolean done;
+    private final long fromDay;
+    private final long toDay;
+    private final String title;
+    private final String foldedTitle;
+
+    public TodoItemQuery() {
+        this(null, null, null, Long.MIN_VALUE, Long.MAX_VALUE, null);
+    }
+
+    private TodoItemQuery(Integer id, Integer creatorId, Boolean done, long fromDay, long toDay, String title) {
+        this.id = id;
+        this.creatorId = creatorId;
+        this.done = done;
+        this.fromDay = fromDay;
+        this.toDay = toDay;
+        this.title = title;
+        this.foldedTitle = title == null ? null : TitleTrigramIndex.fold(title);
+    }
+
+    public TodoItemQuery id(int id) {
+        return new TodoItemQuery(id, creatorId, done, fromDay, toDay, title);
+    }
+
+    public TodoItemQuery creatorId(int creatorId) {
+        return new TodoItemQuery(id, creatorId, done, fromDay, toDay, title);
+    }
+
+    public TodoItemQuery done(boolean done) {
+        return new TodoItemQuery(id, creatorId, done, fromDay, toDay, title);
+    }
+
+    public TodoItemQuery deadlineBefore(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return new TodoItemQuery(id, creatorId, done, fromDay, Math.min(toDay, date.toEpochDay() - 1), title);
+    }
+
+    public TodoItemQuery deadlineAfter(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        return new TodoItemQuery(id, creatorId, done, Math.max(fromDay, date.toEpochDay() + 1), toDay, title);
+    }
+
+    public TodoItemQuery deadlineBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        return new TodoItemQuery(id, creatorId, done, Math.max(fromDay, from.toEpochDay()),
+                Math.min(toDay, to.toEpochDay()), title);
+    }
+
+    public TodoItemQuery titleContains(String title) {
+        if (title == null) {
+            throw new IllegalArgumentException("Title cannot be null.");
+        }
+        return new TodoItemQuery(id, creatorId, done, fromDay, toDay, title);
+    }
+
+    Set<Criterion> criteria() {
+        Set<Criterion> criteria = EnumSet.noneOf(Criterion.class);
+        if (id != null) {
+            criteria.add(Criterion.ID);
+        }
+        if (creatorId != null) {
+            criteria.add(Criterion.CREATOR);
+        }
+        if (done != null) {
+            criteria.add(Criterion.DONE);
+        }
+        if (fromDay != Long.MIN_VALUE || toDay != Long.MAX_VALUE) {
+            criteria.add(Criterion.DEADLINE);
+        }
+        if (title != null) {
+            criteria.add(Criterion.TITLE);
+        }
+        return criteria;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getCreatorId() {
+        return creatorId;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    long getFromDay() {
+        return fromDay;
+    }
+
+    long getToDay() {
+        return toDay;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    boolean matches(TodoItem todoItem, Set<Criterion> criteria) {
+        for (Criterion criterion : criteria) {
+            if (!matches(todoItem, criterion)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(TodoItem todoItem, Criterion criterion) {
+        switch (criterion) {
+            case ID:
+                return todoItem.getId() == id;
+            case CREATOR:
+                return todoItem.getCreator().getId() == creatorId;
+            case DONE:
+                return todoItem.isDone() == done;
+            case DEADLINE:
+                long day = todoItem.getDeadLine().toEpochDay();
+                return day >= fromDay && day <= toDay;
+            case TITLE:
+                return TitleTrigramIndex.fold(todoItem.getTitle()).contains(foldedTitle);
+            default:
+                throw new IllegalStateException("Unknown criterion " + criterion);
+        }
+    }
+
+    String describe(Criterion criterion) {
+        switch (criterion) {
+            case ID:
+                return "id = " + id;
+            case CREATOR:
+                return "creatorId = " + creatorId;
+            case DONE:
+                return "done = " + done;
+            case DEADLINE:
+                return "deadline in [" + describeDay(fromDay) + ", " + describeDay(toDay) + "]";
+            case TITLE:
+                return "title contains \"" + title + "\"";
+            default:
+                throw new IllegalStateException("Unknown criterion " + criterion);
+        }
+    }
+
+    private static String describeDay(long epochDay) {
+        if (epochDay < LocalDate.MIN.toEpochDay() || epochDay > LocalDate.MAX.toEpochDay()) {
+            return "*";
+        }
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        for (Criterion criterion : criteria()) {
+            parts.add(describe(criterion));
+        }
+        return parts.isEmpty() ? "TodoItemQuery{}" : "TodoItemQuery{" + String.join(" AND ", parts) + "}";
+    }
+}
@@ -4,6 +4,7 @@ public class TodoItemTask {
     private int id;
     private TodoItem todoItem;
     private Person assignee;
+    private volatile TodoItemTaskOwner owner;
 
     public TodoItemTask(int id, TodoItem todoItem, Person assignee) {
         if (todoItem == null) {
@@ -26,6 +27,9 @@ public class TodoItemTask {
         if (todoItem == null) {
             throw new IllegalArgumentException("TodoItem cannot be null.");
         }
+        if (owner != null && this.todoItem != todoItem) {
+            owner.todoItemChanging(this, todoItem);
+        }
         this.todoItem = todoItem;
     }
 
@@ -34,6 +38,9 @@ public class TodoItemTask {
     }
 
     public void setAssignee(Person assignee) {
+        if (owner != null && this.assignee != assignee) {
+            owner.assigneeChanging(this, assignee);
+        }
         this.assignee = assignee;
     }
 
@@ -41,6 +48,14 @@ public class TodoItemTask {
         return this.assignee != null;
     }
 
+    TodoItemTaskOwner getOwner() {
+        return owner;
+    }
+
+    void setOwner(TodoItemTaskOwner owner) {
+        this.owner = owner;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -52,7 +67,8 @@ public class TodoItemTask {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, todoItem);
+        // Same value as Objects.hash(id, todoItem), without boxing.
+        return 31 * (31 + id) + todoItem.hashCode();
     }
 
     @Override
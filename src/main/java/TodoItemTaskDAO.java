@@ -1,10 +1,24 @@
 import java.util.Collection;
+import java.util.stream.Stream;
 
+/**
+ * {@link #findAll} returns the DAO's {@link #readView}: an unmodifiable collection of the tasks
+ * stored now that shares them as {@link ReadView} describes, in no specified order.
+ */
 public interface TodoItemTaskDAO {
     TodoItemTask persist(TodoItemTask todoItemTask);
+    Collection<TodoItemTask> persistAll(Collection<TodoItemTask> todoItemTasks);
     TodoItemTask findById(int id);
     Collection<TodoItemTask> findAll();
+    ReadView<TodoItemTask> readView();
     Collection<TodoItemTask> findByAssignedStatus(boolean status);
     Collection<TodoItemTask> findByPersonId(int personId);
+    Collection<TodoItemTask> findByTodoItemId(int todoItemId);
+    Stream<TodoItemTask> stream();
+    Stream<TodoItemTask> streamByAssignedStatus(boolean status);
+    Stream<TodoItemTask> streamByPersonId(int personId);
+    Page<TodoItemTask> findPage(PageCursor after, int pageSize);
+    Page<TodoItemTask> findPageByPersonId(int personId, PageCursor after, int pageSize);
     void remove(int id);
+    void removeAll(Collection<Integer> ids);
 }
@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoItemTaskDAO} with id, assignee, todo item and assigned-status indexes that
+ * stored tasks keep in step through {@link TodoItemTaskOwner}. Its {@code stream} methods
+ * walk the indexes directly and fail fast if one changes before the stream is consumed.
+ */
+public class TodoItemTaskDAOCollection implements TodoItemTaskDAO {
+    private final Map<Integer, TodoItemTask> todoItemTasks;
+    private final NavigableMap<Integer, TodoItemTask> tasksInIdOrder;
+    private final Map<Integer, NavigableMap<Integer, TodoItemTask>> tasksByAssignee;
+    private final Map<Integer, NavigableMap<Integer, TodoItemTask>> tasksByTodoItem;
+    private final Map<Integer, TodoItemTask> assignedTasks;
+    private final Map<Integer, TodoItemTask> unassignedTasks;
+    private final TodoItemTaskOwner indexMaintainer;
+    private volatile PersistentMap<Integer, TodoItemTask> published;
+
+    public TodoItemTaskDAOCollection() {
+        this.todoItemTasks = new LinkedHashMap<>();
+        this.tasksInIdOrder = new TreeMap<>();
+        this.tasksByAssignee = new HashMap<>();
+        this.tasksByTodoItem = new HashMap<>();
+        this.assignedTasks = new LinkedHashMap<>();
+        this.unassignedTasks = new LinkedHashMap<>();
+        this.indexMaintainer = new IndexMaintainer();
+        this.published = PersistentMap.empty();
+    }
+
+    @Override
+    public TodoItemTask persist(TodoItemTask todoItemTask) {
+        if (todoItemTask == null) {
+            throw new IllegalArgumentException("TodoItemTask cannot be null.");
+        }
+        if (todoItemTasks.containsKey(todoItemTask.getId())) {
+            throw new IllegalArgumentException("TodoItemTask with this ID already exists.");
+        }
+        if (todoItemTask.getOwner() != null) {
+            throw new IllegalArgumentException("TodoItemTask is already stored in another DAO.");
+        }
+        todoItemTasks.put(todoItemTask.getId(), todoItemTask);
+        tasksInIdOrder.put(todoItemTask.getId(), todoItemTask);
+        index(todoItemTask, todoItemTask.getAssignee());
+        addToBucket(tasksByTodoItem, todoItemTask.getTodoItem().getId(), todoItemTask);
+        todoItemTask.setOwner(indexMaintainer);
+        published = published.with(todoItemTask.getId(), todoItemTask);
+        return todoItemTask;
+    }
+
+    @Override
+    public Collection<TodoItemTask> persistAll(Collection<TodoItemTask> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("TodoItemTasks cannot be null.");
+        }
+        Set<Integer> batchIds = new HashSet<>();
+        for (TodoItemTask todoItemTask : batch) {
+            if (todoItemTask == null) {
+                throw new IllegalArgumentException("TodoItemTask cannot be null.");
+            }
+            if (todoItemTasks.containsKey(todoItemTask.getId()) || !batchIds.add(todoItemTask.getId())) {
+                throw new IllegalArgumentException("TodoItemTask with this ID already exists.");
+            }
+            if (todoItemTask.getOwner() != null) {
+                throw new IllegalArgumentException("TodoItemTask is already stored in another DAO.");
+            }
+        }
+        PersistentMap<Integer, TodoItemTask> next = published;
+        for (TodoItemTask todoItemTask : batch) {
+            todoItemTasks.put(todoItemTask.getId(), todoItemTask);
+            tasksInIdOrder.put(todoItemTask.getId(), todoItemTask);
+            index(todoItemTask, todoItemTask.getAssignee());
+            addToBucket(tasksByTodoItem, todoItemTask.getTodoItem().getId(), todoItemTask);
+            todoItemTask.setOwner(indexMaintainer);
+            next = next.with(todoItemTask.getId(), todoItemTask);
+        }
+        published = next;
+        return batch;
+    }
+
+    @Override
+    public TodoItemTask findById(int id) {
+        return todoItemTasks.get(id);
+    }
+
+    @Override
+    public Collection<TodoItemTask> findAll() {
+        return readView();
+    }
+
+    @Override
+    public ReadView<TodoItemTask> readView() {
+        return published.values();
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByAssignedStatus(boolean status) {
+        return new ArrayList<>(partition(status).values());
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByPersonId(int personId) {
+        return new ArrayList<>(tasksByAssignee.getOrDefault(personId, Collections.emptyNavigableMap()).values());
+    }
+
+    @Override
+    public Collection<TodoItemTask> findByTodoItemId(int todoItemId) {
+        return new ArrayList<>(tasksByTodoItem.getOrDefault(todoItemId, Collections.emptyNavigableMap()).values());
+    }
+
+    @Override
+    public Stream<TodoItemTask> stream() {
+        return todoItemTasks.values().stream();
+    }
+
+    @Override
+    public Stream<TodoItemTask> streamByAssignedStatus(boolean status) {
+        return partition(status).values().stream();
+    }
+
+    @Override
+    public Stream<TodoItemTask> streamByPersonId(int personId) {
+        return tasksByAssignee.getOrDefault(personId, Collections.emptyNavigableMap()).values().stream();
+    }
+
+    @Override
+    public Page<TodoItemTask> findPage(PageCursor after, int pageSize) {
+        PageCursor.check(after, PageOrder.ID);
+        Page.checkPageSize(pageSize);
+        return Page.of(Page.afterId(tasksInIdOrder, after), pageSize, TodoItemTaskDAOCollection::cursorOf);
+    }
+
+    @Override
+    public Page<TodoItemTask> findPageByPersonId(int personId, PageCursor after, int pageSize) {
+        PageCursor.check(after, PageOrder.ID);
+        Page.checkPageSize(pageSize);
+        NavigableMap<Integer, TodoItemTask> assigned = tasksByAssignee.getOrDefault(personId, Collections.emptyNavigableMap());
+        return Page.of(Page.afterId(assigned, after), pageSize, TodoItemTaskDAOCollection::cursorOf);
+    }
+
+    @Override
+    public void remove(int id) {
+        TodoItemTask removed = todoItemTasks.remove(id);
+        if (removed != null) {
+            tasksInIdOrder.remove(id);
+            unindex(removed, removed.getAssignee());
+            removeFromBucket(tasksByTodoItem, removed.getTodoItem().getId(), removed);
+            removed.setOwner(null);
+            published = published.without(id);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> ids) {
+        for (int id : BatchKeys.ids(ids)) {
+            remove(id);
+        }
+    }
+
+    private Map<Integer, TodoItemTask> partition(boolean assigned) {
+        return assigned ? assignedTasks : unassignedTasks;
+    }
+
+    private static PageCursor cursorOf(TodoItemTask todoItemTask) {
+        return new PageCursor(PageOrder.ID, 0, todoItemTask.getId());
+    }
+
+    private void index(TodoItemTask todoItemTask, Person assignee) {
+        partition(assignee != null).put(todoItemTask.getId(), todoItemTask);
+        if (assignee != null) {
+            addToBucket(tasksByAssignee, assignee.getId(), todoItemTask);
+        }
+    }
+
+    private void unindex(TodoItemTask todoItemTask, Person assignee) {
+        partition(assignee != null).remove(todoItemTask.getId());
+        if (assignee != null) {
+            removeFromBucket(tasksByAssignee, assignee.getId(), todoItemTask);
+        }
+    }
+
+    private static void addToBucket(Map<Integer, NavigableMap<Integer, TodoItemTask>> index, int key,
+                                    TodoItemTask todoItemTask) {
+        index.computeIfAbsent(key, k -> new TreeMap<>()).put(todoItemTask.getId(), todoItemTask);
+    }
+
+    private static void removeFromBucket(Map<Integer, NavigableMap<Integer, TodoItemTask>> index, int key,
+                                         TodoItemTask todoItemTask) {
+        Map<Integer, TodoItemTask> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(todoItemTask.getId());
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private class IndexMaintainer implements TodoItemTaskOwner {
+        @Override
+        public void assigneeChanging(TodoItemTask todoItemTask, Person assignee) {
+            unindex(todoItemTask, todoItemTask.getAssignee());
+            index(todoItemTask, assignee);
+        }
+
+        @Override
+        public void todoItemChanging(TodoItemTask todoItemTask, TodoItem todoItem) {
+            removeFromBucket(tasksByTodoItem, todoItemTask.getTodoItem().getId(), todoItemTask);
+            addToBucket(tasksByTodoItem, todoItem.getId(), todoItemTask);
+        }
+    }
+}
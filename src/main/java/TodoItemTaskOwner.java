@@ -0,0 +1,12 @@
+/**
+ * Callback from a {@link TodoItemTask} to the DAO that stores it, invoked by the setters
+ * before the field is assigned and only when the value changes. Throwing aborts the change.
+ * The item and the assignee count as changed when another instance is set, even an equal one.
+ */
+interface TodoItemTaskOwner {
+    default void todoItemChanging(TodoItemTask todoItemTask, TodoItem todoItem) {
+    }
+
+    default void assigneeChanging(TodoItemTask todoItemTask, Person assignee) {
+    }
+}
@@ -1,15 +1,15 @@
 public class TodoItemTaskSequencer {
-    private static int currentId = 0;
+    private static final BlockIdSequencer sequencer = new BlockIdSequencer();
 
     public static int nextId() {
-        return ++currentId;
+        return sequencer.nextId();
     }
 
     public static int getCurrentId() {
-        return currentId;
+        return sequencer.getCurrentId();
     }
 
     public static void setCurrentId(int id) {
-        currentId = id;
+        sequencer.setCurrentId(id);
     }
-}
\ No newline at end of file
+}
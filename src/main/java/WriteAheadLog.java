@@ -0,0 +1,456 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records in one local file. Each record is framed by its length
+ * and a CRC32C of its payload; on open, the file is cut back to the last intact record, so a
+ * write torn by a crash is dropped instead of failing the replay.
+ *
+ * <p>Writing is split in two steps so that callers can order records under their own lock
+ * and wait for the disk outside it: {@link #append} queues a record and returns its sequence
+ * number, {@link #awaitDurable} blocks until that record is as durable as the
+ * {@link FsyncPolicy} makes it. Under {@link FsyncPolicy#ALWAYS} the first waiter writes and
+ * forces every queued record in one batch while the others wait for it, so concurrent
+ * writers share an fsync. An I/O failure is sticky: every later call rethrows it. File I/O
+ * runs with the caller's interrupt status cleared and restored afterwards, since an interrupt
+ * during a {@link FileChannel} call would close the channel for every writer.
+ *
+ * <p>{@link #abort} cancels the last record with a marker frame, so a caller can log a change
+ * before applying it and still take it back if applying it fails. Replay holds each record
+ * back until the next frame shows it was not aborted.
+ */
+public final class WriteAheadLog implements Closeable {
+    static final int HEADER_BYTES = 8;
+    static final int MAX_RECORD_BYTES = 64 << 20;
+    private static final int ABORT_LENGTH = -1;
+    private static final int ABORT_CHECK = 0x41424F52;
+    private static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    private static final int INITIAL_BUFFER_BYTES = 8 << 10;
+    private static final int MAX_RETAINED_BUFFER_BYTES = 1 << 20;
+
+    private final Path file;
+    private volatile FileChannel channel;
+    private final FsyncPolicy policy;
+    private final ScheduledExecutorService forcer;
+    private final long recoveredEnd;
+    private final ReentrantLock lock;
+    private final Condition synced;
+    private final CRC32C crc;
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private long end;
+    private long appended;
+    private long aborted;
+    private long durable;
+    private boolean syncing;
+    private boolean closed;
+    private boolean released;
+    private IOException failure;
+    private long syncCount;
+
+    public WriteAheadLog(Path file, FsyncPolicy policy) {
+        this(file, policy, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    public WriteAheadLog(Path file, FsyncPolicy policy, long intervalMillis) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Fsync policy cannot be null.");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be positive.");
+        }
+        this.file = file;
+        this.policy = policy;
+        this.lock = new ReentrantLock();
+        this.synced = lock.newCondition();
+        this.crc = new CRC32C();
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log " + file + ".", e);
+        }
+        try {
+            this.recoveredEnd = scan(null);
+            if (io(FileChannel::size) > recoveredEnd) {
+                io(current -> current.truncate(recoveredEnd));
+                force();
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException("Cannot recover write-ahead log " + file + ".", e);
+        }
+        this.end = recoveredEnd;
+        if (policy == FsyncPolicy.INTERVAL) {
+            this.forcer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "wal-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            forcer.scheduleWithFixedDelay(this::forceWritten, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.forcer = null;
+        }
+    }
+
+    public FsyncPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Passes the payload of every record that survived recovery and was not aborted to the
+     * handler, oldest first. Records appended since this log was opened are not included. A
+     * crash can keep the last record but lose its abort; if the handler rejects that record
+     * with a {@link RejectedRecordException}, it is skipped. Any other exception propagates.
+     */
+    public void replay(Consumer<ByteBuffer> handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null.");
+        }
+        try {
+            scan(handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay write-ahead log.", e);
+        }
+    }
+
+    /**
+     * Queues a record and returns its sequence number for {@link #awaitDurable}. Unless the
+     * policy is {@link FsyncPolicy#ALWAYS}, the record is handed to the OS before returning.
+     */
+    public long append(byte[] payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload cannot be null.");
+        }
+        if (payload.length == 0 || payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Payload size must be between 1 and " + MAX_RECORD_BYTES + " bytes.");
+        }
+        lock.lock();
+        try {
+            checkUsable();
+            crc.reset();
+            crc.update(payload);
+            pending = ensureRemaining(pending, HEADER_BYTES + payload.length);
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            long sequence = ++appended;
+            writeUnlessAlways();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the record with the given sequence number, which must be the last one appended,
+     * so replay skips it. The marker is written like a record and is durable with the records
+     * after it.
+     */
+    public void abort(long sequence) {
+        lock.lock();
+        try {
+            checkUsable();
+            if (sequence != appended || sequence == aborted) {
+                throw new IllegalArgumentException("Only the last appended record can be aborted.");
+            }
+            pending = ensureRemaining(pending, HEADER_BYTES);
+            pending.putInt(ABORT_LENGTH).putInt(ABORT_CHECK);
+            aborted = sequence;
+            writeUnlessAlways();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Under {@link FsyncPolicy#ALWAYS}, blocks until the record with the given sequence number
+     * has been forced to disk; under the other policies it returns at once.
+     */
+    public void awaitDurable(long sequence) {
+        if (policy != FsyncPolicy.ALWAYS) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durable < sequence) {
+                checkUsable();
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                long batchEnd = appended;
+                ByteBuffer batch = pending;
+                pending = spare != null ? spare : ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+                spare = null;
+                batch.flip();
+                IOException error = null;
+                lock.unlock();
+                try {
+                    write(batch);
+                    force();
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                batch.clear();
+                if (batch.capacity() <= MAX_RETAINED_BUFFER_BYTES) {
+                    spare = batch;
+                }
+                syncing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = batchEnd;
+                    syncCount++;
+                }
+                synced.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes out any queued records, forces them unless the policy is
+     * {@link FsyncPolicy#NEVER}, and closes the file.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            while (syncing) {
+                synced.awaitUninterruptibly();
+            }
+            closed = true;
+            if (forcer != null) {
+                // Not shutdownNow: interrupting a force in progress would close the channel.
+                forcer.shutdown();
+            }
+            if (failure == null) {
+                try {
+                    pending.flip();
+                    write(pending);
+                    pending.clear();
+                    if (policy != FsyncPolicy.NEVER) {
+                        force();
+                    }
+                    durable = appended;
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            released = true;
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly();
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log close failed.", failure);
+        }
+    }
+
+    long syncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forceWritten() {
+        try {
+            force();
+        } catch (IOException e) {
+            lock.lock();
+            try {
+                if (!closed && failure == null) {
+                    failure = e;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeUnlessAlways() {
+        if (policy == FsyncPolicy.ALWAYS) {
+            return;
+        }
+        try {
+            pending.flip();
+            write(pending);
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Write-ahead log append failed.", e);
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /** Only one thread writes at a time: appenders hold the lock and the sync leader is alone. */
+    private void write(ByteBuffer buffer) throws IOException {
+        long base = end - buffer.position();
+        while (buffer.hasRemaining()) {
+            io(current -> current.write(buffer, base + buffer.position()));
+        }
+        end = base + buffer.position();
+    }
+
+    private void force() throws IOException {
+        io(current -> {
+            current.force(false);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a channel call with the caller's interrupt status cleared. An interrupt that arrives
+     * during the call closes the channel anyway, for this and any concurrent call; the channel
+     * is then reopened and the call retried. Positional writes make the retry idempotent.
+     */
+    private <T> T io(ChannelCall<T> call) throws IOException {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                FileChannel current = channel;
+                try {
+                    return call.run(current);
+                } catch (ClosedChannelException e) {
+                    if (e instanceof ClosedByInterruptException) {
+                        interrupted = true;
+                        Thread.interrupted();
+                    }
+                    reopen(current, e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void reopen(FileChannel stale, ClosedChannelException cause) throws IOException {
+        lock.lock();
+        try {
+            if (released) {
+                throw cause;
+            }
+            if (channel == stale) {
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long scan(Consumer<ByteBuffer> handler) throws IOException {
+        long size = handler == null ? io(FileChannel::size) : recoveredEnd;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32C check = new CRC32C();
+        ByteBuffer held = null;
+        long position = 0;
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int expected = header.getInt(4);
+            if (length == ABORT_LENGTH && expected == ABORT_CHECK) {
+                held = null;
+                position += HEADER_BYTES;
+                continue;
+            }
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            check.reset();
+            check.update(payload.array(), 0, length);
+            if ((int) check.getValue() != expected) {
+                break;
+            }
+            if (handler != null) {
+                if (held != null) {
+                    handler.accept(held);
+                }
+                held = payload.asReadOnlyBuffer();
+            }
+            position += HEADER_BYTES + length;
+        }
+        if (held != null) {
+            try {
+                handler.accept(held);
+            } catch (RejectedRecordException rejected) {
+                // A change refused just before a crash, whose abort did not reach the file.
+            }
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = io(current -> current.read(buffer, position + buffer.position()));
+            if (read < 0) {
+                throw new IOException("Unexpected end of write-ahead log.");
+            }
+        }
+        buffer.flip();
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed.", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed.");
+        }
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        return grown.put(buffer);
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do with a failure to release the handle.
+        }
+    }
+
+    private interface ChannelCall<T> {
+        T run(FileChannel channel) throws IOException;
+    }
+}
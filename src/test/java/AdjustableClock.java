@@ -0,0 +1,36 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock for tests that stands still until it is advanced.
+ */
+class AdjustableClock extends Clock {
+    private volatile Instant instant;
+
+    AdjustableClock(LocalDate date) {
+        this.instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -3,6 +3,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,4 +89,98 @@ public class AppUserDAOCollectionTest {
         });
         assertEquals("Username cannot be null.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindByUsernameIgnoresCase() {
+        AppUser user1 = new AppUser("User1", "pass1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+
+        assertEquals(user1, appUserDAO.findByUsername("user1"));
+        assertEquals(user1, appUserDAO.findByUsername("USER1"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persist(new AppUser("uSeR1", "pass2", AppRole.ROLE_APP_USER));
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+
+        appUserDAO.remove("USER1");
+        assertTrue(appUserDAO.findAll().isEmpty());
+    }
+
+    @Test
+    void testSetUsernameUpdatesIndex() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+
+        user1.setUsername("renamed");
+        assertNull(appUserDAO.findByUsername("user1"));
+        assertEquals(user1, appUserDAO.findByUsername("Renamed"));
+    }
+
+    @Test
+    void testSetUsernameToExistingUsernameThrowsException() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+        appUserDAO.persist(user2);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            user2.setUsername("USER1");
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+        assertEquals("user2", user2.getUsername());
+        assertEquals(user2, appUserDAO.findByUsername("user2"));
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+
+        appUserDAO.persistAll(List.of(user1, user2));
+        assertEquals(2, appUserDAO.findAll().size());
+
+        appUserDAO.removeAll(List.of("USER1", "missing"));
+        assertNull(appUserDAO.findByUsername("user1"));
+        assertEquals(user2, appUserDAO.findByUsername("user2"));
+    }
+
+    @Test
+    void testPersistAllRejectsDuplicateUsernameWithinBatch() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("User1", "pass2", AppRole.ROLE_APP_USER);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persistAll(List.of(user1, user2));
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+        assertTrue(appUserDAO.findAll().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> appUserDAO.removeAll(Arrays.asList("user1", null)));
+    }
+
+    @Test
+    void testRolePartitionsFollowPersistRenameRoleChangeAndRemove() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+        AppUser user3 = new AppUser("user3", "pass3", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+        appUserDAO.persistAll(List.of(user2, user3));
+
+        assertEquals(List.of(user2), List.copyOf(appUserDAO.findByRole(AppRole.ROLE_APP_ADMIN)));
+        assertEquals(2, appUserDAO.countByRole(AppRole.ROLE_APP_USER));
+
+        user1.setUsername("renamed");
+        user1.setRole(AppRole.ROLE_APP_ADMIN);
+        assertEquals(2, appUserDAO.countByRole(AppRole.ROLE_APP_ADMIN));
+        assertTrue(appUserDAO.findByRole(AppRole.ROLE_APP_ADMIN).contains(user1));
+
+        appUserDAO.remove("RENAMED");
+        appUserDAO.removeAll(List.of("user3"));
+        assertEquals(List.of(user2), List.copyOf(appUserDAO.findByRole(AppRole.ROLE_APP_ADMIN)));
+        assertEquals(0, appUserDAO.countByRole(AppRole.ROLE_APP_USER));
+
+        user1.setRole(AppRole.ROLE_APP_USER);
+        assertEquals(0, appUserDAO.countByRole(AppRole.ROLE_APP_USER), "removed users are no longer tracked");
+        assertThrows(IllegalArgumentException.class, () -> appUserDAO.findByRole(null));
+    }
+}
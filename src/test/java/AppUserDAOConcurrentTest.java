@@ -0,0 +1,249 @@
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppUserDAOConcurrentTest {
+
+    private AppUserDAOConcurrent appUserDAO;
+
+    @BeforeEach
+    void setUp() {
+        appUserDAO = new AppUserDAOConcurrent();
+    }
+
+    @Test
+    void testPersistAndFindAll() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+
+        appUserDAO.persist(user1);
+        appUserDAO.persist(user2);
+
+        Collection<AppUser> allUsers = appUserDAO.findAll();
+        assertEquals(2, allUsers.size());
+        assertTrue(allUsers.contains(user1));
+        assertTrue(allUsers.contains(user2));
+    }
+
+    @Test
+    void testPersistDuplicateUsernameThrowsException() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persist(new AppUser("user1", "pass3", AppRole.ROLE_APP_ADMIN));
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByUsername() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+
+        appUserDAO.persist(user1);
+        appUserDAO.persist(user2);
+
+        assertEquals(user1, appUserDAO.findByUsername("user1"));
+        assertEquals(user2, appUserDAO.findByUsername("user2"));
+        assertNull(appUserDAO.findByUsername("nonexistent"));
+    }
+
+    @Test
+    void testRemove() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+
+        appUserDAO.persist(user1);
+        appUserDAO.persist(user2);
+
+        assertEquals(2, appUserDAO.findAll().size());
+
+        appUserDAO.remove("user1");
+        assertEquals(1, appUserDAO.findAll().size());
+        assertNull(appUserDAO.findByUsername("user1"));
+        assertNotNull(appUserDAO.findByUsername("user2"));
+
+        appUserDAO.remove("nonexistent"); // Should not throw exception
+        assertEquals(1, appUserDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistNullAppUserThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persist(null);
+        });
+        assertEquals("AppUser cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByUsernameNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.findByUsername(null);
+        });
+        assertEquals("Username cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByUsernameIgnoresCase() {
+        AppUser user1 = new AppUser("User1", "pass1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+
+        assertEquals(user1, appUserDAO.findByUsername("user1"));
+        assertEquals(user1, appUserDAO.findByUsername("USER1"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persist(new AppUser("uSeR1", "pass2", AppRole.ROLE_APP_USER));
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+
+        appUserDAO.remove("USER1");
+        assertTrue(appUserDAO.findAll().isEmpty());
+    }
+
+    @Test
+    void testSetUsernameUpdatesIndex() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+
+        user1.setUsername("renamed");
+        assertNull(appUserDAO.findByUsername("user1"));
+        assertEquals(user1, appUserDAO.findByUsername("Renamed"));
+    }
+
+    @Test
+    void testSetUsernameToExistingUsernameThrowsException() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+        appUserDAO.persist(user2);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            user2.setUsername("USER1");
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+        assertEquals("user2", user2.getUsername());
+        assertEquals(user2, appUserDAO.findByUsername("user2"));
+    }
+
+    @Test
+    void testConcurrentRegistrationsWithSameUsernameOnlyOneSucceeds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String username = i % 2 == 0 ? "burst" : "BURST";
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    appUserDAO.persist(new AppUser(username, "secret", AppRole.ROLE_APP_USER));
+                    return true;
+                } catch (IllegalArgumentException expected) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int successes = 0;
+        for (Future<Boolean> future : futures) {
+            successes += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes);
+        assertEquals(1, appUserDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("user2", "pass2", AppRole.ROLE_APP_ADMIN);
+
+        appUserDAO.persistAll(List.of(user1, user2));
+        assertEquals(2, appUserDAO.findAll().size());
+
+        appUserDAO.removeAll(List.of("USER1", "missing"));
+        assertNull(appUserDAO.findByUsername("user1"));
+        assertEquals(user2, appUserDAO.findByUsername("user2"));
+    }
+
+    @Test
+    void testPersistAllRejectsDuplicateUsernameWithinBatch() {
+        AppUser user1 = new AppUser("user1", "pass1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("User1", "pass2", AppRole.ROLE_APP_USER);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            appUserDAO.persistAll(List.of(user1, user2));
+        });
+        assertEquals("AppUser with this username already exists.", exception.getMessage());
+        assertTrue(appUserDAO.findAll().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> appUserDAO.removeAll(Arrays.asList("user1", null)));
+    }
+
+    @Test
+    void testReadViewKeepsUsersRenamedOrRemovedAfterIt() {
+        AppUser user1 = new AppUser("john", "secret1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("jane", "secret2", AppRole.ROLE_APP_USER);
+        appUserDAO.persistAll(List.of(user1, user2));
+        ReadView<AppUser> view = appUserDAO.readView();
+
+        user1.setUsername("johnny");
+        appUserDAO.remove("jane");
+
+        assertEquals(2, view.size());
+        assertTrue(view.contains(user2));
+        ReadView<AppUser> after = appUserDAO.readView();
+        assertEquals(List.of(user1), new ArrayList<>(after));
+        assertTrue(after.version() > view.version());
+        assertThrows(UnsupportedOperationException.class, () -> after.add(user2));
+    }
+
+    @Test
+    void testConcurrentRoleChangesKeepPartitionsExact() throws Exception {
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            users.add(new AppUser("user" + i, "secret", AppRole.ROLE_APP_USER));
+        }
+        appUserDAO.persistAll(users);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = offset; i < users.size(); i += threads) {
+                    users.get(i).setRole(AppRole.ROLE_APP_ADMIN);
+                    if (i % 2 == 0) {
+                        users.get(i).setUsername("renamed" + i);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(200, appUserDAO.countByRole(AppRole.ROLE_APP_ADMIN));
+        assertEquals(0, appUserDAO.countByRole(AppRole.ROLE_APP_USER));
+        appUserDAO.remove("renamed0");
+        appUserDAO.remove("user1");
+        assertEquals(198, appUserDAO.findByRole(AppRole.ROLE_APP_ADMIN).size());
+    }
+}
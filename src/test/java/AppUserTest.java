@@ -8,7 +8,7 @@ public class AppUserTest {
         AppUser user = new AppUser("testuser", "password123", AppRole.ROLE_APP_USER);
         assertNotNull(user);
         assertEquals("testuser", user.getUsername());
-        assertEquals("password123", user.getPassword());
+        assertTrue(user.verifyPassword("password123"));
         assertEquals(AppRole.ROLE_APP_USER, user.getRole());
     }
 
@@ -52,7 +52,8 @@ public class AppUserTest {
         user.setUsername("newuser");
         assertEquals("newuser", user.getUsername());
         user.setPassword("newpass");
-        assertEquals("newpass", user.getPassword());
+        assertTrue(user.verifyPassword("newpass"));
+        assertFalse(user.verifyPassword("oldpass"));
         user.setRole(AppRole.ROLE_APP_ADMIN);
         assertEquals(AppRole.ROLE_APP_ADMIN, user.getRole());
     }
@@ -104,4 +105,34 @@ public class AppUserTest {
         assertNotEquals(user1, user3);
         assertNotEquals(user1, user4);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPasswordIsStoredAsSaltedHash() {
+        AppUser user = new AppUser("testuser", "password123", AppRole.ROLE_APP_USER);
+        AppUser other = new AppUser("otheruser", "password123", AppRole.ROLE_APP_USER);
+
+        assertFalse(user.getPasswordHash().contains("password123"));
+        assertNotEquals(user.getPasswordHash(), other.getPasswordHash());
+        assertFalse(user.verifyPassword("password124"));
+        assertFalse(user.verifyPassword(null));
+
+        AppUser loaded = AppUser.withPasswordHash("testuser", user.getPasswordHash(), AppRole.ROLE_APP_USER);
+        assertTrue(loaded.verifyPassword("password123"));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            AppUser.withPasswordHash("testuser", "password123", AppRole.ROLE_APP_USER);
+        });
+        assertEquals("Password hash is malformed.", exception.getMessage());
+    }
+
+    @Test
+    void testHashesRecordTheirCost() {
+        PasswordHasher weak = new PasswordHasher(10);
+        PasswordHasher strong = new PasswordHasher(20);
+        String hash = weak.hash("secret");
+
+        assertTrue(PasswordHasher.verify("secret", hash));
+        assertTrue(strong.needsRehash(hash));
+        assertFalse(weak.needsRehash(hash));
+        assertFalse(strong.needsRehash(strong.hash("secret")));
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticationServiceTest {
+
+    private AppUserDAO appUserDAO;
+    private AdjustableClock clock;
+    private AuthenticationService service;
+
+    @BeforeEach
+    void setUp() {
+        appUserDAO = new AppUserDAOConcurrent();
+        clock = new AdjustableClock(LocalDate.of(2030, 1, 1));
+        service = new AuthenticationService(appUserDAO, clock, Duration.ofMinutes(15), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    void testLoginIssuesATokenThatAuthenticatesUntilItExpires() {
+        AppUser user = appUserDAO.persist(new AppUser("john", "secret", AppRole.ROLE_APP_USER));
+
+        String token = service.login("JOHN", "secret").join();
+
+        assertNotNull(token);
+        assertSame(user, service.authenticate(token));
+        clock.advance(Duration.ofMinutes(14));
+        assertSame(user, service.authenticate(token));
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(service.authenticate(token));
+        assertEquals(0, service.sessionCount());
+    }
+
+    @Test
+    void testWrongCredentialsIssueNoToken() {
+        appUserDAO.persist(new AppUser("john", "secret", AppRole.ROLE_APP_USER));
+
+        assertNull(service.login("john", "wrong").join());
+        assertNull(service.login("nobody", "secret").join());
+        assertNull(service.authenticate("not-a-token"));
+        assertNull(service.authenticate(null));
+        assertThrows(IllegalArgumentException.class, () -> service.login("john", null));
+    }
+
+    @Test
+    void testSessionsEndOnLogoutPasswordChangeAndRemoval() {
+        AppUser john = appUserDAO.persist(new AppUser("john", "secret", AppRole.ROLE_APP_USER));
+        appUserDAO.persist(new AppUser("jane", "secret", AppRole.ROLE_APP_USER));
+        String loggedOut = service.login("john", "secret").join();
+        String beforePasswordChange = service.login("john", "secret").join();
+        String beforeRemoval = service.login("jane", "secret").join();
+
+        service.logout(loggedOut);
+        john.setPassword("changed");
+        appUserDAO.remove("jane");
+
+        assertNull(service.authenticate(loggedOut));
+        assertNull(service.authenticate(beforePasswordChange));
+        assertNull(service.authenticate(beforeRemoval));
+        assertNotNull(service.authenticate(service.login("john", "changed").join()));
+    }
+
+    @Test
+    void testLoginRehashesPasswordsMadeWithFewerIterations() {
+        String weakHash = new PasswordHasher(1).hash("secret");
+        AppUser user = appUserDAO.persist(AppUser.withPasswordHash("john", weakHash, AppRole.ROLE_APP_USER));
+
+        String token = service.login("john", "secret").join();
+
+        assertNotEquals(weakHash, user.getPasswordHash());
+        assertFalse(PasswordHasher.defaultHasher().needsRehash(user.getPasswordHash()));
+        assertTrue(user.verifyPassword("secret"));
+        assertSame(user, service.authenticate(token));
+    }
+
+    @Test
+    void testConcurrentLoginsThatRehashKeepEachOthersSessions() {
+        String weakHash = new PasswordHasher(1).hash("secret");
+        AppUser user = appUserDAO.persist(AppUser.withPasswordHash("john", weakHash, AppRole.ROLE_APP_USER));
+
+        CompletableFuture<String> first = service.login("john", "secret");
+        CompletableFuture<String> second = service.login("john", "secret");
+
+        assertSame(user, service.authenticate(first.join()));
+        assertSame(user, service.authenticate(second.join()));
+        assertFalse(PasswordHasher.defaultHasher().needsRehash(user.getPasswordHash()));
+    }
+
+    @Test
+    void testRehashDoesNotEndOpenSessions() {
+        AppUser user = appUserDAO.persist(new AppUser("john", "secret", AppRole.ROLE_APP_USER));
+        String token = service.login("john", "secret").join();
+
+        assertTrue(user.rehashPassword(user.getPasswordHash(), PasswordHasher.defaultHasher().hash("secret")));
+        assertFalse(user.rehashPassword("stale", PasswordHasher.defaultHasher().hash("secret")));
+
+        assertSame(user, service.authenticate(token));
+    }
+
+    @Test
+    void testConcurrentLoginsAllComplete() {
+        for (int i = 0; i < 20; i++) {
+            appUserDAO.persist(new AppUser("user" + i, "secret" + i, AppRole.ROLE_APP_USER));
+        }
+        List<CompletableFuture<String>> logins = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            logins.add(service.login("user" + i, "secret" + i));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("user" + i, service.authenticate(logins.get(i).join()).getUsername());
+        }
+        assertEquals(20, service.sessionCount());
+    }
+}
@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockIdSequencerTest {
+
+    @Test
+    void testSingleThreadHandsOutConsecutiveIdsAcrossBlocks() {
+        BlockIdSequencer sequencer = new BlockIdSequencer(4);
+        for (int expected = 1; expected <= 10; expected++) {
+            assertEquals(expected, sequencer.nextId());
+            assertEquals(expected, sequencer.getCurrentId());
+        }
+    }
+
+    @Test
+    void testSetCurrentIdDiscardsReservedBlock() {
+        BlockIdSequencer sequencer = new BlockIdSequencer(100);
+        sequencer.nextId();
+        sequencer.setCurrentId(500);
+        assertEquals(500, sequencer.getCurrentId());
+        assertEquals(501, sequencer.nextId());
+    }
+
+    @Test
+    void testConcurrentThreadsNeverShareAnId() throws Exception {
+        int threads = 16;
+        int idsPerThread = 10_000;
+        BlockIdSequencer sequencer = new BlockIdSequencer(64);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int[] ids = new int[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = sequencer.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        for (Future<int[]> future : futures) {
+            for (int id : future.get()) {
+                assertTrue(seen.add(id), "Duplicate id " + id);
+            }
+        }
+        executor.shutdown();
+        assertEquals(threads * idsPerThread, seen.size());
+    }
+
+    @Test
+    void testVirtualThreadsNeverShareAnId() throws Exception {
+        BlockIdSequencer sequencer = new BlockIdSequencer();
+        Set<Integer> seen = new HashSet<>();
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                futures.add(executor.submit(sequencer::nextId));
+            }
+            for (Future<Integer> future : futures) {
+                assertTrue(seen.add(future.get()));
+            }
+        }
+        assertEquals(1000, sequencer.getCurrentId());
+    }
+
+    @Test
+    void testExhaustedIdSpaceThrowsException() {
+        BlockIdSequencer sequencer = new BlockIdSequencer(10);
+        sequencer.setCurrentId(Integer.MAX_VALUE - 5);
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            assertEquals(Integer.MAX_VALUE - remaining, sequencer.nextId());
+        }
+        Exception exception = assertThrows(IllegalStateException.class, sequencer::nextId);
+        assertEquals("Id space exhausted.", exception.getMessage());
+        assertThrows(IllegalStateException.class, sequencer::nextId);
+        assertEquals(Integer.MAX_VALUE, sequencer.getCurrentId());
+    }
+
+    @Test
+    void testExhaustedIdSpaceOnVirtualThreadsKeepsCurrentIdInRange() throws Exception {
+        BlockIdSequencer sequencer = new BlockIdSequencer();
+        sequencer.setCurrentId(Integer.MAX_VALUE - 1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertEquals(Integer.MAX_VALUE, executor.submit(sequencer::nextId).get());
+            for (int i = 0; i < 3; i++) {
+                Future<Integer> exhausted = executor.submit(sequencer::nextId);
+                Exception exception = assertThrows(ExecutionException.class, exhausted::get);
+                assertInstanceOf(IllegalStateException.class, exception.getCause());
+            }
+        }
+        assertEquals(Integer.MAX_VALUE, sequencer.getCurrentId());
+    }
+}
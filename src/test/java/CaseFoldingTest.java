@@ -0,0 +1,27 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaseFoldingTest {
+
+    @Test
+    void testFoldMatchesEqualsIgnoreCase() {
+        String[][] pairs = {
+                {"Admin", "aDMIN"},
+                {"straße", "STRAßE"},
+                {"Σίσυφος", "σίσυφοσ"},
+                {"ǅemal", "ǆemal"},
+                {"user1", "user2"},
+        };
+        for (String[] pair : pairs) {
+            assertEquals(pair[0].equalsIgnoreCase(pair[1]), CaseFolding.fold(pair[0]).equals(CaseFolding.fold(pair[1])),
+                    pair[0] + " / " + pair[1]);
+        }
+    }
+
+    @Test
+    void testFoldReturnsSameInstanceWhenAlreadyFolded() {
+        String folded = "already-folded";
+        assertSame(folded, CaseFolding.fold(folded));
+    }
+}
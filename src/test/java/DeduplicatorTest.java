@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeduplicatorTest {
+    private static final long DATE_BYTES = 24;
+
+    @Test
+    void testEqualStringsAndDatesShareOneInstance() {
+        Deduplicator deduplicator = new Deduplicator();
+        String first = new String("Groceries");
+        String second = new String("Groceries");
+        LocalDate day = LocalDate.of(2030, 1, 1);
+
+        assertSame(first, deduplicator.canonical(first));
+        assertSame(first, deduplicator.canonical(second));
+        assertSame(day, deduplicator.canonical(day));
+        assertSame(day, deduplicator.canonical(LocalDate.of(2030, 1, 1)));
+        assertNull(deduplicator.canonical((String) null));
+
+        assertEquals(1, deduplicator.stringsShared());
+        assertEquals(1, deduplicator.datesShared());
+        assertEquals(24 + 32 + 24, deduplicator.bytesSaved(), "string, its 9-byte array padded to 32, and a date");
+    }
+
+    @Test
+    void testPoolIsBoundedByItsCapacity() {
+        Deduplicator deduplicator = new Deduplicator(1, 1);
+        String a = new String("a");
+        deduplicator.canonical(a);
+        deduplicator.canonical("b");
+
+        assertNotSame(a, deduplicator.canonical(new String("a")), "a collision replaces the pooled string");
+        String longText = "x".repeat(Deduplicator.MAX_LENGTH + 1);
+        deduplicator.canonical(longText);
+        assertNotSame(longText, deduplicator.canonical(new String(longText)));
+        assertThrows(IllegalArgumentException.class, () -> new Deduplicator(0, 1));
+    }
+
+    @Test
+    void testSavesAtLeastAThirdOfTheFieldHeapOnRealisticData() {
+        Deduplicator deduplicator = new Deduplicator();
+        PersonDAO people = new PersonDAOConcurrent(deduplicator);
+        TodoItemDAO todoItems = new TodoItemDAOIndexed(new AdjustableClock(LocalDate.of(2030, 1, 1)), deduplicator);
+        String[] firstNames = names("First", 300);
+        String[] lastNames = names("Last", 1_000);
+        String[] titles = names("Weekly review of project", 2_000);
+        Random random = new Random(7);
+        for (int id = 0; id < 20_000; id++) {
+            Person person = new Person(id, new String(firstNames[random.nextInt(firstNames.length)]),
+                    new String(lastNames[random.nextInt(lastNames.length)]), "person" + id + "@example.com");
+            people.persist(person);
+            todoItems.persist(new TodoItem(id, new String(titles[random.nextInt(titles.length)]), null,
+                    LocalDate.of(2030, 1, 1).plusDays(random.nextInt(365)), person));
+        }
+
+        Set<Object> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        long fieldBytes = 0;
+        long retainedBytes = 0;
+        for (Person person : people.findAll()) {
+            for (String field : List.of(person.getFirstName(), person.getLastName(), person.getEmail())) {
+                fieldBytes += size(field);
+                retainedBytes += retained.add(field) ? size(field) : 0;
+            }
+        }
+        for (TodoItem todoItem : todoItems.findAll()) {
+            fieldBytes += size(todoItem.getTitle()) + DATE_BYTES;
+            retainedBytes += retained.add(todoItem.getTitle()) ? size(todoItem.getTitle()) : 0;
+            retainedBytes += retained.add(todoItem.getDeadLine()) ? DATE_BYTES : 0;
+        }
+
+        assertTrue(retainedBytes * 3 <= fieldBytes * 2,
+                retainedBytes + " of " + fieldBytes + " field bytes still retained by " + retained.size() + " objects");
+    }
+
+    private static String[] names(String prefix, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = prefix + " " + i;
+        }
+        return names;
+    }
+
+    private static long size(String value) {
+        return 24 + ((16 + value.length() + 7) & ~7);
+    }
+}
@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableAppUserDAOTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private WriteAheadLog log;
+    private DurableAppUserDAO appUserDAO;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("app-users.wal");
+        log = new WriteAheadLog(file, FsyncPolicy.INTERVAL, 10);
+        appUserDAO = new DurableAppUserDAO(new AppUserDAOConcurrent(), log);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    private AppUserDAO reopen(AppUserDAO delegate) {
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.INTERVAL, 10);
+        return new DurableAppUserDAO(delegate, log);
+    }
+
+    @Test
+    void testReplayRestoresUsersAndUsernameChanges() {
+        AppUser user1 = new AppUser("john", "secret1", AppRole.ROLE_APP_USER);
+        AppUser user2 = new AppUser("jane", "secret2", AppRole.ROLE_APP_ADMIN);
+        AppUser user3 = new AppUser("jim", "secret3", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user1);
+        appUserDAO.persistAll(List.of(user2, user3));
+        user1.setUsername("johnny");
+        appUserDAO.remove("JIM");
+        appUserDAO.removeAll(List.of("nobody"));
+
+        AppUserDAO replayed = reopen(new AppUserDAOCollection());
+
+        assertEquals(2, replayed.findAll().size());
+        assertNull(replayed.findByUsername("john"));
+        assertTrue(replayed.findByUsername("johnny").verifyPassword("secret1"));
+        assertEquals(AppRole.ROLE_APP_ADMIN, replayed.findByUsername("jane").getRole());
+        assertNull(replayed.findByUsername("jim"));
+    }
+
+    @Test
+    void testReplayRestoresPasswordAndRoleChanges() {
+        AppUser user = new AppUser("john", "secret1", AppRole.ROLE_APP_USER);
+        appUserDAO.persist(user);
+        user.setPassword("secret2");
+        user.setRole(AppRole.ROLE_APP_ADMIN);
+        user.setUsername("johnny");
+        user.setRole(AppRole.ROLE_APP_USER);
+
+        AppUserDAO replayedDAO = reopen(new AppUserDAOConcurrent());
+        AppUser replayed = replayedDAO.findByUsername("johnny");
+
+        assertTrue(replayed.verifyPassword("secret2"));
+        assertEquals(AppRole.ROLE_APP_USER, replayed.getRole());
+        assertEquals(1, replayedDAO.countByRole(AppRole.ROLE_APP_USER));
+        assertEquals(0, replayedDAO.countByRole(AppRole.ROLE_APP_ADMIN));
+    }
+
+    @Test
+    void testRemoveNullUsernameThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> appUserDAO.remove(null));
+        assertEquals("Username cannot be null.", exception.getMessage());
+    }
+}
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurablePersonDAOTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private WriteAheadLog log;
+    private DurablePersonDAO personDAO;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("people.wal");
+        log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        personDAO = new DurablePersonDAO(new PersonDAOConcurrent(), log);
+        PersonIdSequencer.setCurrentId(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    private PersonDAO reopen(PersonDAO delegate) {
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        return new DurablePersonDAO(delegate, log);
+    }
+
+    @Test
+    void testReplayRestoresPeopleAndEmailChanges() {
+        AppUser credentials = new AppUser("john", "secret", AppRole.ROLE_APP_USER);
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com", credentials);
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+        Person person3 = new Person(PersonIdSequencer.nextId(), "Jim", "Beam", "jim.beam@example.com");
+        personDAO.persist(person1);
+        personDAO.persistAll(List.of(person2, person3));
+        person2.setEmail("jane@example.com");
+        personDAO.removeAll(List.of(person3.getId()));
+
+        PersonDAO replayed = reopen(new PersonDAOIndexed());
+
+        assertEquals(2, replayed.findAll().size());
+        assertEquals(person1, replayed.findByEmail("JOHN.DOE@example.com"));
+        assertEquals(credentials, replayed.findById(person1.getId()).getCredentials());
+        assertEquals(person2.getId(), replayed.findByEmail("jane@example.com").getId());
+        assertNull(replayed.findByEmail("jane.smith@example.com"));
+        assertNull(replayed.findById(person3.getId()));
+    }
+
+    @Test
+    void testReplayRestoresNameAndCredentialsChanges() {
+        Person person = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person);
+        person.setFirstName("Johnny");
+        person.setLastName("Dough");
+        person.setCredentials(new AppUser("johnny", "secret", AppRole.ROLE_APP_ADMIN));
+
+        Person replayed = reopen(new PersonDAOConcurrent()).findById(person.getId());
+
+        assertEquals("Johnny", replayed.getFirstName());
+        assertEquals("Dough", replayed.getLastName());
+        assertEquals(AppRole.ROLE_APP_ADMIN, replayed.getCredentials().getRole());
+
+        replayed.setCredentials(null);
+        assertNull(reopen(new PersonDAOCollection()).findById(person.getId()).getCredentials());
+    }
+
+    @Test
+    void testVetoedEmailChangeIsNotLogged() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+        personDAO.persistAll(List.of(person1, person2));
+        assertThrows(IllegalArgumentException.class, () -> person2.setEmail("john.doe@example.com"));
+        personDAO.remove(person1.getId());
+
+        PersonDAO replayed = reopen(new PersonDAOCollection());
+
+        assertEquals("jane.smith@example.com", replayed.findById(person2.getId()).getEmail());
+        assertNull(replayed.findById(person1.getId()));
+    }
+
+    @Test
+    void testChangesTheLogRefusesAreNotApplied() {
+        Person person = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person);
+        log.close();
+
+        assertThrows(IllegalStateException.class, () -> person.setEmail("johnny@example.com"));
+        assertThrows(IllegalStateException.class, () -> personDAO.persist(
+                new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com")));
+        assertThrows(IllegalStateException.class, () -> personDAO.remove(person.getId()));
+
+        assertEquals("john.doe@example.com", person.getEmail());
+        assertSame(person, personDAO.findByEmail("john.doe@example.com"));
+        assertNull(personDAO.findByEmail("johnny@example.com"));
+        assertEquals(1, personDAO.findAll().size());
+    }
+}
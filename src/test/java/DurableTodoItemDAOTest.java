@@ -0,0 +1,214 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableTodoItemDAOTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private WriteAheadLog log;
+    private DurableTodoItemDAO todoItemDAO;
+    private Person testCreator;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("todo-items.wal");
+        log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        todoItemDAO = new DurableTodoItemDAO(new TodoItemDAOIndexed(), log);
+        TodoItemIdSequencer.setCurrentId(0);
+        testCreator = new Person(1, "Test", "Creator", "test.creator@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    private TodoItemDAO reopen(TodoItemDAO delegate) {
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        return new DurableTodoItemDAO(delegate, log);
+    }
+
+    @Test
+    void testReplayRestoresPersistsAndRemoves() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", null, LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+        todoItemDAO.persist(item1);
+        todoItemDAO.persistAll(List.of(item2, item3));
+        todoItemDAO.remove(item1.getId());
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOIndexed());
+
+        assertNull(replayed.findById(item1.getId()));
+        assertEquals(item2, replayed.findById(item2.getId()));
+        assertNull(replayed.findById(item2.getId()).getDescription());
+        assertEquals(item3, replayed.findById(item3.getId()));
+        assertSame(replayed.findById(item2.getId()).getCreator(), replayed.findById(item3.getId()).getCreator());
+    }
+
+    @Test
+    void testReplayRestoresSetterChangesAndIndexes() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item);
+        item.setDone(true);
+        item.setTitle("Renamed");
+        item.setDescription("Changed");
+        item.setDeadLine(LocalDate.now().plusDays(9));
+        item.setCreator(otherCreator);
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOConcurrent());
+        TodoItem restored = replayed.findById(item.getId());
+
+        assertTrue(restored.isDone());
+        assertEquals("Renamed", restored.getTitle());
+        assertEquals("Changed", restored.getDescription());
+        assertEquals(LocalDate.now().plusDays(9), restored.getDeadLine());
+        assertEquals(otherCreator, restored.getCreator());
+        assertEquals(1, replayed.findAllByDoneStatus(true).size());
+        assertEquals(1, replayed.findByPersonId(otherCreator.getId()).size());
+        assertEquals(1, replayed.findByTitleContains("rename").size());
+    }
+
+    @Test
+    void testReplayedItemsKeepLogging() {
+        TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item);
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOIndexed());
+        replayed.findById(item.getId()).setDone(true);
+        replayed.removeAll(List.of(999));
+
+        assertTrue(reopen(new TodoItemDAOCollection()).findById(item.getId()).isDone());
+    }
+
+    @Test
+    void testRemovedItemChangesAreNotLogged() {
+        TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item);
+        todoItemDAO.removeAll(List.of(item.getId()));
+        item.setDone(true);
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOIndexed());
+
+        assertTrue(replayed.findAll().isEmpty());
+    }
+
+    @Test
+    void testRejectedChangesAreNotLogged() {
+        TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item);
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.persist(
+                new TodoItem(item.getId(), "Duplicate", "Desc", LocalDate.now(), testCreator)));
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOIndexed());
+
+        assertEquals(1, replayed.findAll().size());
+        assertEquals("Title 1", replayed.findById(item.getId()).getTitle());
+    }
+
+    @Test
+    void testPersistItemStoredInAnotherDurableDAOThrowsException() {
+        TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item);
+
+        try (WriteAheadLog otherLog = new WriteAheadLog(directory.resolve("other.wal"), FsyncPolicy.NEVER)) {
+            DurableTodoItemDAO other = new DurableTodoItemDAO(new TodoItemDAOCollection(), otherLog);
+            Exception exception = assertThrows(IllegalArgumentException.class, () -> other.persist(item));
+            assertEquals("TodoItem is already stored in another DAO.", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testConcurrentWritersReplayToSameState() throws Exception {
+        int threads = 4;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title", "Desc", LocalDate.now().plusDays(i), testCreator);
+                    todoItemDAO.persist(item);
+                    item.setDone(i % 2 == 0);
+                    if (i % 5 == 0) {
+                        todoItemDAO.remove(item.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        TodoItemDAO replayed = reopen(new TodoItemDAOConcurrent());
+
+        assertEquals(todoItemDAO.findAll().size(), replayed.findAll().size());
+        assertEquals(todoItemDAO.findAllByDoneStatus(true).size(), replayed.findAllByDoneStatus(true).size());
+    }
+
+    @Test
+    void testReplayLinksCreatorsToThePersonStore() {
+        Path personFile = directory.resolve("people.wal");
+        WriteAheadLog personLog = new WriteAheadLog(personFile, FsyncPolicy.ALWAYS);
+        PersonDAO people = new DurablePersonDAO(new PersonDAOCollection(), personLog);
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        people.persistAll(List.of(testCreator, otherCreator));
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        todoItemDAO = new DurableTodoItemDAO(new TodoItemDAOIndexed(), log, people);
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        todoItemDAO.persistAll(List.of(item1, item2));
+        item2.setCreator(otherCreator);
+        testCreator.setLastName("Renamed");
+        personLog.close();
+
+        WriteAheadLog reopenedPersonLog = new WriteAheadLog(personFile, FsyncPolicy.ALWAYS);
+        try {
+            PersonDAO replayedPeople = new DurablePersonDAO(new PersonDAOCollection(), reopenedPersonLog);
+            log.close();
+            log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+            TodoItemDAO replayed = new DurableTodoItemDAO(new TodoItemDAOIndexed(), log, replayedPeople);
+
+            assertSame(replayedPeople.findById(testCreator.getId()), replayed.findById(item1.getId()).getCreator());
+            assertSame(replayedPeople.findById(otherCreator.getId()), replayed.findById(item2.getId()).getCreator());
+            assertEquals("Renamed", replayed.findById(item1.getId()).getCreator().getLastName());
+        } finally {
+            reopenedPersonLog.close();
+        }
+    }
+
+    @Test
+    void testInvalidDelegatesThrowException() {
+        TodoItemDAOIndexed stored = new TodoItemDAOIndexed();
+        stored.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title", "Desc", LocalDate.now(), testCreator));
+
+        assertThrows(IllegalArgumentException.class, () -> new DurableTodoItemDAO(null, log));
+        assertThrows(IllegalArgumentException.class, () -> new DurableTodoItemDAO(new TodoItemDAOIndexed(), null));
+        assertThrows(IllegalArgumentException.class, () -> new DurableTodoItemDAO(new TodoItemDAOColumnar(), log));
+        assertThrows(IllegalArgumentException.class, () -> new DurableTodoItemDAO(stored, log));
+        assertThrows(IllegalArgumentException.class, () -> new DurableTodoItemDAO(new TodoItemDAOIndexed(), log, null));
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableTodoItemTaskDAOTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private WriteAheadLog log;
+    private DurableTodoItemTaskDAO todoItemTaskDAO;
+    private Person creator;
+    private Person assignee;
+    private TodoItem todoItem;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("tasks.wal");
+        log = new WriteAheadLog(file, FsyncPolicy.NEVER);
+        todoItemTaskDAO = new DurableTodoItemTaskDAO(new TodoItemTaskDAOCollection(), log);
+        TodoItemTaskSequencer.setCurrentId(0);
+        creator = new Person(1, "Test", "Creator", "test.creator@example.com");
+        assignee = new Person(2, "Test", "Assignee", "test.assignee@example.com");
+        todoItem = new TodoItem(1, "Title", "Desc", LocalDate.now().plusDays(1), creator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    private TodoItemTaskDAO reopen() {
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.NEVER);
+        return new DurableTodoItemTaskDAO(new TodoItemTaskDAOCollection(), log);
+    }
+
+    @Test
+    void testReplayRestoresTasksAndAssigneeChanges() {
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, null);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, assignee);
+        TodoItemTask task3 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, assignee);
+        todoItemTaskDAO.persist(task1);
+        todoItemTaskDAO.persistAll(List.of(task2, task3));
+        task1.setAssignee(assignee);
+        task2.setAssignee(null);
+        todoItemTaskDAO.remove(task3.getId());
+
+        TodoItemTaskDAO replayed = reopen();
+
+        assertEquals(2, replayed.findAll().size());
+        assertEquals(List.of(replayed.findById(task1.getId())), List.copyOf(replayed.findByPersonId(assignee.getId())));
+        assertFalse(replayed.findById(task2.getId()).isAssigned());
+        assertSame(replayed.findById(task1.getId()).getTodoItem(), replayed.findById(task2.getId()).getTodoItem());
+        assertNull(replayed.findById(task3.getId()));
+    }
+
+    @Test
+    void testReplayRestoresItemChanges() {
+        TodoItem other = new TodoItem(2, "Other", null, LocalDate.now().plusDays(2), assignee);
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, null);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, null);
+        todoItemTaskDAO.persistAll(List.of(task1, task2));
+        task1.setTodoItem(other);
+        task2.setTodoItem(other);
+
+        TodoItemTaskDAO replayed = reopen();
+
+        assertEquals(other, replayed.findById(task1.getId()).getTodoItem());
+        assertSame(replayed.findById(task1.getId()).getTodoItem(), replayed.findById(task2.getId()).getTodoItem());
+    }
+
+    @Test
+    void testRemoveAllIsReplayed() {
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, assignee);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, null);
+        todoItemTaskDAO.persistAll(List.of(task1, task2));
+        todoItemTaskDAO.removeAll(List.of(task1.getId(), task2.getId()));
+
+        assertTrue(reopen().findAll().isEmpty());
+    }
+
+    @Test
+    void testReplayLinksItemsAndAssigneesToTheirStores() {
+        PersonDAO people = new PersonDAOCollection();
+        people.persistAll(List.of(creator, assignee));
+        TodoItemDAO todoItems = new TodoItemDAOCollection();
+        todoItems.persist(todoItem);
+        TodoItemTask task = new TodoItemTask(TodoItemTaskSequencer.nextId(), todoItem, null);
+        todoItemTaskDAO.persist(task);
+        task.setAssignee(assignee);
+        log.close();
+        log = new WriteAheadLog(file, FsyncPolicy.NEVER);
+
+        TodoItemTask replayed = new DurableTodoItemTaskDAO(new TodoItemTaskDAOCollection(), log, todoItems, people)
+                .findById(task.getId());
+
+        assertSame(todoItem, replayed.getTodoItem());
+        assertSame(assignee, replayed.getAssignee());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DurableTodoItemTaskDAO(new TodoItemTaskDAOCollection(), log, null, people));
+    }
+}
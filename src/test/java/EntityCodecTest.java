@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCodecTest {
+
+    private final AppUser credentials = new AppUser("john", "secret", AppRole.ROLE_APP_ADMIN);
+    private final Person creator = new Person(1, "John", "Doe", "john.doe@example.com", credentials);
+    private final Person assignee = new Person(300, "Jöhn", "Dœ", "jöhn@example.com");
+
+    @Test
+    void testAppRoleRoundTrip() {
+        for (AppRole role : AppRole.values()) {
+            ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.encodedSize(role));
+            EntityCodec.encode(role, buffer);
+            assertFalse(buffer.hasRemaining());
+
+            assertEquals(role, EntityCodec.decodeAppRole(buffer.flip()));
+        }
+    }
+
+    @Test
+    void testAppUserRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.encodedSize(credentials));
+        EntityCodec.encode(credentials, buffer);
+        AppUser decoded = EntityCodec.decodeAppUser(buffer.flip());
+
+        assertEquals(credentials, decoded);
+        assertEquals(credentials.getPasswordHash(), decoded.getPasswordHash());
+        assertTrue(decoded.verifyPassword("secret"));
+    }
+
+    @Test
+    void testPersonRoundTripWithCredentials() {
+        ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.encodedSize(creator));
+        EntityCodec.encode(creator, buffer);
+        Person decoded = EntityCodec.decodePerson(buffer.flip());
+
+        assertEquals(creator, decoded);
+        assertEquals("john.doe@example.com", decoded.getEmail());
+        assertEquals(credentials, decoded.getCredentials());
+    }
+
+    @Test
+    void testTodoItemRoundTrip() {
+        TodoItem todoItem = new TodoItem(70000, "Send invoice €", null, LocalDate.of(1969, 12, 31), creator);
+        todoItem.setDone(true);
+        ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.encodedSize(todoItem));
+        EntityCodec.encode(todoItem, buffer);
+        assertFalse(buffer.hasRemaining(), "encodedSize is exact");
+
+        TodoItem decoded = EntityCodec.decodeTodoItem(buffer.flip());
+
+        assertEquals(todoItem, decoded);
+        assertTrue(decoded.isDone());
+        assertNull(decoded.getDescription());
+        assertEquals(LocalDate.of(1969, 12, 31), decoded.getDeadLine());
+        assertEquals(creator, decoded.getCreator());
+    }
+
+    @Test
+    void testTodoItemTaskRoundTripFromDirectBuffer() {
+        TodoItem todoItem = new TodoItem(2, "Review report", "Desc", LocalDate.of(2026, 3, 1), creator);
+        TodoItemTask assigned = new TodoItemTask(5, todoItem, assignee);
+        TodoItemTask unassigned = new TodoItemTask(6, todoItem, null);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(EntityCodec.encodedSize(assigned) + EntityCodec.encodedSize(unassigned));
+        EntityCodec.encode(assigned, buffer);
+        EntityCodec.encode(unassigned, buffer);
+        buffer.flip();
+
+        TodoItemTask decodedAssigned = EntityCodec.decodeTodoItemTask(buffer);
+        TodoItemTask decodedUnassigned = EntityCodec.decodeTodoItemTask(buffer);
+
+        assertEquals(assigned, decodedAssigned);
+        assertEquals("Jöhn", decodedAssigned.getAssignee().getFirstName());
+        assertEquals(unassigned, decodedUnassigned);
+        assertFalse(decodedUnassigned.isAssigned());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testEncodingIsCompact() {
+        Person person = new Person(1, "A", "B", "c");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        EntityCodec.encode(person, buffer);
+
+        assertEquals(1 + 1 + 1 + 3 * 2, buffer.position(), "version, flags, one-byte id and three short strings");
+    }
+
+    @Test
+    void testStringsMatchJdkUtf8() {
+        String[] values = {"", "ascii", "Grüße", "日本語", "emoji 😀", "lone \uD800 surrogate"};
+        for (String value : values) {
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.stringSize(value));
+            EntityCodec.putString(buffer, value);
+            assertFalse(buffer.hasRemaining(), value);
+
+            buffer.flip();
+            assertEquals(expected.length, EntityCodec.getVarInt(buffer));
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+            assertArrayEquals(expected, actual, value);
+            assertEquals(new String(expected, StandardCharsets.UTF_8),
+                    EntityCodec.getString(buffer.flip().asReadOnlyBuffer()));
+        }
+    }
+
+    @Test
+    void testVarIntSizes() {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        for (int value : values) {
+            ByteBuffer buffer = ByteBuffer.allocate(5);
+            EntityCodec.putVarInt(buffer, value);
+            assertEquals(EntityCodec.varIntSize(value), buffer.position());
+            assertEquals(value, EntityCodec.getVarInt(buffer.flip()));
+        }
+        for (long value : new long[]{0, -1, 1, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            long zigZag = EntityCodec.zigZag(value);
+            ByteBuffer buffer = ByteBuffer.allocate(10);
+            EntityCodec.putVarLong(buffer, zigZag);
+            assertEquals(EntityCodec.varLongSize(zigZag), buffer.position());
+            assertEquals(value, EntityCodec.unZigZag(EntityCodec.getVarLong(buffer.flip())));
+        }
+    }
+
+    @Test
+    void testUnsupportedVersionThrowsException() {
+        ByteBuffer buffer = ByteBuffer.allocate(EntityCodec.encodedSize(creator));
+        EntityCodec.encode(creator, buffer);
+        buffer.put(0, (byte) (EntityCodec.SCHEMA_VERSION + 1));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> EntityCodec.decodePerson(buffer.flip()));
+        assertEquals("Unsupported schema version " + (EntityCodec.SCHEMA_VERSION + 1) + ".", exception.getMessage());
+    }
+
+    @Test
+    void testMalformedInputThrowsException() {
+        ByteBuffer unknownRole = ByteBuffer.wrap(new byte[]{EntityCodec.SCHEMA_VERSION, 99});
+        assertThrows(IllegalArgumentException.class, () -> EntityCodec.decodeAppRole(unknownRole));
+
+        ByteBuffer overlongString = ByteBuffer.wrap(new byte[]{EntityCodec.SCHEMA_VERSION, 0, 50, 'a'});
+        assertThrows(IllegalArgumentException.class, () -> EntityCodec.decodeAppUser(overlongString));
+    }
+
+    @Test
+    void testTooSmallBufferAndNullsThrowException() {
+        assertThrows(BufferOverflowException.class, () -> EntityCodec.encode(creator, ByteBuffer.allocate(4)));
+        assertThrows(IllegalArgumentException.class, () -> EntityCodec.encode((Person) null, ByteBuffer.allocate(4)));
+        assertThrows(IllegalArgumentException.class, () -> EntityCodec.encode(creator, null));
+        assertThrows(IllegalArgumentException.class, () -> EntityCodec.decodeTodoItem(null));
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImmutableTodoItemTest {
+
+    private ImmutablePerson createTestPerson() {
+        return new ImmutablePerson(1, "Test", "Creator", "test.creator@example.com");
+    }
+
+    @Test
+    void testWithMethodsCopyOnlyOnChange() {
+        LocalDate deadline = LocalDate.of(2030, 1, 1);
+        ImmutableTodoItem item = new ImmutableTodoItem(1, "Buy groceries", null, deadline, createTestPerson());
+
+        assertSame(item, item.withTitle("Buy groceries"));
+        assertSame(item, item.withDescription(null));
+        assertSame(item, item.withDone(false));
+
+        ImmutableTodoItem done = item.withDone(true).withDeadLine(deadline.plusDays(1));
+        assertFalse(item.isDone());
+        assertEquals(deadline, item.getDeadLine());
+        assertTrue(done.isDone());
+        assertEquals(deadline.plusDays(1), done.getDeadLine());
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> item.withTitle(" "));
+        assertEquals("Title cannot be null or empty.", exception.getMessage());
+    }
+
+    @Test
+    void testIdentityIsTheIdAndContentEqualsComparesFields() {
+        ImmutableTodoItem item = new ImmutableTodoItem(7, "Title", "Description", LocalDate.of(2030, 1, 1), createTestPerson());
+        ImmutableTodoItem renamed = item.withTitle("Other");
+
+        assertEquals(item, renamed);
+        assertEquals(7, renamed.hashCode());
+        assertFalse(item.contentEquals(renamed));
+        assertTrue(item.contentEquals(renamed.withTitle("Title")));
+
+        Set<ImmutableTodoItem> set = new HashSet<>();
+        set.add(item);
+        assertFalse(set.add(renamed));
+    }
+
+    @Test
+    void testRoundTripsThroughTheMutableItem() {
+        Person creator = new Person(1, "Test", "Creator", "test.creator@example.com", new AppUser("tc", "secret", AppRole.ROLE_APP_USER));
+        TodoItem todoItem = new TodoItem(3, "Title", "Description", LocalDate.of(2030, 1, 1), creator);
+        todoItem.setDone(true);
+
+        ImmutableTodoItem immutable = ImmutableTodoItem.of(todoItem);
+        TodoItem copy = immutable.toTodoItem();
+
+        assertTrue(immutable.isDone());
+        assertEquals("tc", immutable.getCreator().getCredentials().getUsername());
+        assertEquals(todoItem, copy);
+        assertEquals(todoItem.hashCode(), copy.hashCode());
+        assertEquals(creator, copy.getCreator());
+        assertEquals(creator.getCredentials(), copy.getCreator().getCredentials());
+    }
+
+    @Test
+    void testTasksHashWithoutTheirItem() {
+        ImmutableTodoItem item = new ImmutableTodoItem(1, "Title", null, LocalDate.of(2030, 1, 1), createTestPerson());
+        ImmutableTodoItemTask task = new ImmutableTodoItemTask(5, item, null);
+        ImmutableTodoItemTask assigned = task.withAssignee(createTestPerson());
+
+        assertEquals(task, task.withTodoItem(item.withDone(true)));
+        assertFalse(task.contentEquals(task.withTodoItem(item.withDone(true))));
+        assertEquals(5, task.hashCode());
+        assertFalse(task.isAssigned());
+        assertTrue(assigned.isAssigned());
+        assertSame(assigned, assigned.withAssignee(assigned.getAssignee()));
+        assertEquals(TodoItemTask.class, assigned.toTodoItemTask().getClass());
+    }
+
+    @Test
+    void testAppUsersAreIdentifiedByTheFoldedUsername() {
+        ImmutableAppUser user = new ImmutableAppUser("Alice", "secret", AppRole.ROLE_APP_USER);
+        ImmutableAppUser other = new ImmutableAppUser("ALICE", "changed", AppRole.ROLE_APP_ADMIN);
+
+        assertEquals(user, other);
+        assertEquals(user.hashCode(), other.hashCode());
+        assertFalse(user.contentEquals(other));
+        assertTrue(user.contentEquals(ImmutableAppUser.of(user.toAppUser())));
+        assertSame(user, user.withRole(AppRole.ROLE_APP_USER));
+        assertNotEquals(user, user.withUsername("Bob"));
+    }
+
+    @Test
+    void testMutableHashCodesMatchObjectsHash() {
+        Person creator = new Person(1, "Test", "Creator", "test.creator@example.com");
+        TodoItem todoItem = new TodoItem(3, "Title", null, LocalDate.of(2030, 1, 1), creator);
+        TodoItemTask task = new TodoItemTask(4, todoItem, creator);
+
+        assertEquals(Objects.hash(1, "Test", "Creator", "test.creator@example.com"), creator.hashCode());
+        assertEquals(Objects.hash(3, "Title", null, LocalDate.of(2030, 1, 1), false), todoItem.hashCode());
+        todoItem.setDone(true);
+        assertEquals(Objects.hash(3, "Title", null, LocalDate.of(2030, 1, 1), true), todoItem.hashCode());
+        assertEquals(Objects.hash(4, todoItem), task.hashCode());
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntIntHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        map.put(-7, 0);
+        map.put(0, 3);
+        map.put(Integer.MAX_VALUE, 9);
+
+        assertEquals(0, map.get(-7));
+        assertEquals(3, map.get(0));
+        assertEquals(9, map.get(Integer.MAX_VALUE));
+        assertEquals(IntIntHashMap.MISSING, map.get(42));
+
+        assertEquals(3, map.remove(0));
+        assertEquals(IntIntHashMap.MISSING, map.get(0));
+        assertEquals(IntIntHashMap.MISSING, map.remove(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        IntIntHashMap map = new IntIntHashMap(8);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? IntIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                int value = random.nextInt(1_000_000);
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -1_000; key < 1_000; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? IntIntHashMap.MISSING : value, map.get(key));
+        }
+    }
+
+    @Test
+    void testNegativeValueThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            new IntIntHashMap(4).put(1, -1);
+        });
+        assertEquals("Value cannot be negative.", exception.getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        PageCursor cursor = new PageCursor(PageOrder.DEADLINE, -42, 7);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testIsBeforeComparesKeyThenId() {
+        PageCursor cursor = new PageCursor(PageOrder.DEADLINE, 10, 5);
+
+        assertTrue(cursor.isBefore(10, 6));
+        assertTrue(cursor.isBefore(11, 1));
+        assertFalse(cursor.isBefore(10, 5));
+        assertFalse(cursor.isBefore(9, 100));
+    }
+
+    @Test
+    void testDecodeInvalidTokenThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            PageCursor.decode("not a cursor");
+        });
+        assertEquals("Invalid cursor.", exception.getMessage());
+    }
+}
@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentMapTest {
+
+    @Test
+    void testUpdatesLeaveEarlierVersionsIntact() {
+        PersistentMap<Integer, String> empty = PersistentMap.empty();
+        PersistentMap<Integer, String> one = empty.with(1, "a");
+        PersistentMap<Integer, String> two = one.with(2, "b");
+        PersistentMap<Integer, String> replaced = two.with(1, "c");
+        PersistentMap<Integer, String> removed = replaced.without(2);
+
+        assertNull(empty.get(1));
+        assertEquals(List.of("a"), new ArrayList<>(one.values()));
+        assertEquals(List.of("a", "b"), new ArrayList<>(two.values()));
+        assertEquals(List.of("c", "b"), new ArrayList<>(replaced.values()));
+        assertEquals(List.of("c"), new ArrayList<>(removed.values()));
+        assertEquals(2, replaced.size());
+        assertEquals(4, removed.version());
+        assertSame(removed, removed.without(2), "removing an absent key is not a write");
+    }
+
+    @Test
+    void testIntegerKeysIterateInAscendingOrder() {
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        int[] keys = {7, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, 1 << 20, -(1 << 20)};
+        for (int key : keys) {
+            map = map.with(key, key);
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int key : keys) {
+            expected.add(key);
+        }
+        expected.sort(null);
+        assertEquals(expected, new ArrayList<>(map.values()));
+    }
+
+    @Test
+    void testKeysWithEqualHashCodesShareAChain() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("Aa", 1).with("BB", 2);
+
+        assertEquals(1, map.get("Aa"));
+        assertEquals(2, map.get("BB"));
+        assertEquals(2, map.size());
+        assertEquals(2, map.without("Aa").get("BB"));
+        assertNull(map.without("Aa").get("Aa"));
+        assertEquals(1, map.without("Aa").size());
+    }
+
+    @Test
+    void testMatchesTreeMapUnderRandomOperations() {
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(4_000) - 2_000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        for (int key = -2_000; key < 2_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void testViewsAreUnmodifiable() {
+        ReadView<String> view = PersistentMap.<Integer, String>empty().with(1, "a").values();
+
+        assertThrows(UnsupportedOperationException.class, () -> view.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> view.iterator().remove());
+        assertThrows(IllegalArgumentException.class, () -> PersistentMap.empty().with(null, "a"));
+    }
+}
@@ -3,6 +3,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -100,4 +101,29 @@ public class PersonDAOCollectionTest {
         });
         assertEquals("Email cannot be null.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+
+        personDAO.persistAll(List.of(person1, person2));
+        assertEquals(person2, personDAO.findByEmail("JANE.SMITH@example.com"));
+
+        personDAO.removeAll(List.of(person1.getId()));
+        assertEquals(1, personDAO.findAll().size());
+        assertNull(personDAO.findByEmail("john.doe@example.com"));
+    }
+
+    @Test
+    void testPersistAllRejectsDuplicateEmailWithinBatch() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Johnny", "Doe", "John.Doe@example.com");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persistAll(List.of(person1, person2));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+        assertTrue(personDAO.findAll().isEmpty());
+    }
+}
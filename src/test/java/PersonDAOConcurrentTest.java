@@ -0,0 +1,199 @@
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonDAOConcurrentTest {
+
+    private PersonDAOConcurrent personDAO;
+
+    @BeforeEach
+    void setUp() {
+        personDAO = new PersonDAOConcurrent();
+        PersonIdSequencer.setCurrentId(0);
+    }
+
+    @Test
+    void testPersistAndFindAll() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+
+        personDAO.persist(person1);
+        personDAO.persist(person2);
+
+        Collection<Person> allPeople = personDAO.findAll();
+        assertEquals(2, allPeople.size());
+        assertTrue(allPeople.contains(person1));
+        assertTrue(allPeople.contains(person2));
+    }
+
+    @Test
+    void testPersistDuplicateIdThrowsException() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(new Person(person1.getId(), "Jane", "Smith", "jane.smith@example.com"));
+        });
+        assertEquals("Person with this ID already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testPersistDuplicateEmailThrowsException() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "john.doe@example.com"));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testFindById() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(person1, personDAO.findById(person1.getId()));
+        assertNull(personDAO.findById(999));
+    }
+
+    @Test
+    void testFindByEmail() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(person1, personDAO.findByEmail("john.doe@example.com"));
+        assertNull(personDAO.findByEmail("nonexistent@example.com"));
+    }
+
+    @Test
+    void testRemove() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(1, personDAO.findAll().size());
+
+        personDAO.remove(person1.getId());
+        assertEquals(0, personDAO.findAll().size());
+        assertNull(personDAO.findById(person1.getId()));
+
+        personDAO.remove(999); // Should not throw exception
+        assertEquals(0, personDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistNullPersonThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(null);
+        });
+        assertEquals("Person cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByEmailNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.findByEmail(null);
+        });
+        assertEquals("Email cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testConcurrentRegistrationsWithSameEmailOnlyOneSucceeds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int id = 100 + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    personDAO.persist(new Person(id, "Same", "Email", "same@example.com"));
+                    return true;
+                } catch (IllegalArgumentException expected) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int successes = 0;
+        for (Future<Boolean> future : futures) {
+            successes += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes);
+        assertEquals(1, personDAO.findAll().size());
+    }
+
+    @Test
+    void testSetEmailUpdatesIndex() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+        personDAO.persist(person1);
+        personDAO.persist(person2);
+
+        person1.setEmail("John@Example.com");
+        assertNull(personDAO.findByEmail("john.doe@example.com"));
+        assertEquals(person1, personDAO.findByEmail("john@example.com"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            person2.setEmail("john@example.com");
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+
+        personDAO.remove(person1.getId());
+        assertNull(personDAO.findByEmail("john@example.com"));
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+
+        personDAO.persistAll(List.of(person1, person2));
+        assertEquals(person2, personDAO.findByEmail("JANE.SMITH@example.com"));
+
+        personDAO.removeAll(List.of(person1.getId()));
+        assertEquals(1, personDAO.findAll().size());
+        assertNull(personDAO.findByEmail("john.doe@example.com"));
+    }
+
+    @Test
+    void testPersistAllRejectsDuplicateEmailWithinBatch() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Johnny", "Doe", "John.Doe@example.com");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persistAll(List.of(person1, person2));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+        assertTrue(personDAO.findAll().isEmpty());
+    }
+
+    @Test
+    void testEqualNamesAreSharedOnPersistAndUpdate() {
+        Deduplicator deduplicator = new Deduplicator();
+        PersonDAO dao = new PersonDAOConcurrent(deduplicator);
+        Person person1 = new Person(PersonIdSequencer.nextId(), new String("John"), new String("Doe"), "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), new String("John"), "Smith", "john.smith@example.com");
+        dao.persist(person1);
+        dao.persist(person2);
+
+        assertSame(person1.getFirstName(), person2.getFirstName());
+        person2.setLastName(new String("Doe"));
+        assertSame(person1.getLastName(), person2.getLastName());
+        assertEquals(2, deduplicator.stringsShared());
+        assertTrue(deduplicator.bytesSaved() > 0);
+    }
+}
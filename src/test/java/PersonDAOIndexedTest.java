@@ -0,0 +1,196 @@
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonDAOIndexedTest {
+
+    private PersonDAOIndexed personDAO;
+
+    @BeforeEach
+    void setUp() {
+        personDAO = new PersonDAOIndexed();
+        PersonIdSequencer.setCurrentId(0);
+    }
+
+    @Test
+    void testPersistAndFindAll() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+
+        personDAO.persist(person1);
+        personDAO.persist(person2);
+
+        Collection<Person> allPeople = personDAO.findAll();
+        assertEquals(2, allPeople.size());
+        assertTrue(allPeople.contains(person1));
+        assertTrue(allPeople.contains(person2));
+    }
+
+    @Test
+    void testPersistDuplicateIdThrowsException() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(new Person(person1.getId(), "Jane", "Smith", "jane.smith@example.com"));
+        });
+        assertEquals("Person with this ID already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testPersistDuplicateEmailThrowsException() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "john.doe@example.com"));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testFindById() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(person1, personDAO.findById(person1.getId()));
+        assertNull(personDAO.findById(999));
+    }
+
+    @Test
+    void testFindByEmail() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(person1, personDAO.findByEmail("john.doe@example.com"));
+        assertNull(personDAO.findByEmail("nonexistent@example.com"));
+    }
+
+    @Test
+    void testRemove() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        personDAO.persist(person1);
+
+        assertEquals(1, personDAO.findAll().size());
+
+        personDAO.remove(person1.getId());
+        assertEquals(0, personDAO.findAll().size());
+        assertNull(personDAO.findById(person1.getId()));
+
+        personDAO.remove(999); // Should not throw exception
+        assertEquals(0, personDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistNullPersonThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(null);
+        });
+        assertEquals("Person cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByEmailNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.findByEmail(null);
+        });
+        assertEquals("Email cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByEmailIgnoresCase() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "John.Doe@Example.com");
+        personDAO.persist(person1);
+
+        assertEquals(person1, personDAO.findByEmail("john.doe@example.com"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persist(new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "JOHN.DOE@EXAMPLE.COM"));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testSetEmailUpdatesIndex() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+        personDAO.persist(person1);
+        personDAO.persist(person2);
+
+        person1.setEmail("john@example.com");
+        assertNull(personDAO.findByEmail("john.doe@example.com"));
+        assertEquals(person1, personDAO.findByEmail("john@example.com"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            person2.setEmail("John@example.com");
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+        assertEquals("jane.smith@example.com", person2.getEmail());
+    }
+
+    @Test
+    void testConcurrentRegistrationsWithSameEmailOnlyOneSucceeds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int id = 100 + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    personDAO.persist(new Person(id, "Same", "Email", "same@example.com"));
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException expected) {
+                    // another registration won the race
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1, successes.get());
+        assertEquals(1, personDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Jane", "Smith", "jane.smith@example.com");
+
+        personDAO.persistAll(List.of(person1, person2));
+        assertEquals(person2, personDAO.findByEmail("JANE.SMITH@example.com"));
+
+        personDAO.removeAll(List.of(person1.getId()));
+        assertEquals(1, personDAO.findAll().size());
+        assertNull(personDAO.findByEmail("john.doe@example.com"));
+    }
+
+    @Test
+    void testPersistAllRejectsDuplicateEmailWithinBatch() {
+        Person person1 = new Person(PersonIdSequencer.nextId(), "John", "Doe", "john.doe@example.com");
+        Person person2 = new Person(PersonIdSequencer.nextId(), "Johnny", "Doe", "John.Doe@example.com");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            personDAO.persistAll(List.of(person1, person2));
+        });
+        assertEquals("Person with this email already exists.", exception.getMessage());
+        assertTrue(personDAO.findAll().isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonReferencesTest {
+
+    private PersonDAO personDAO;
+    private TodoItemDAO todoItemDAO;
+    private TodoItemTaskDAO todoItemTaskDAO;
+    private PersonReferences references;
+    private Person leaving;
+    private Person staying;
+    private TodoItem createdByLeaving;
+    private TodoItem createdByStaying;
+    private TodoItemTask onLeavingsItem;
+    private TodoItemTask assignedToLeaving;
+
+    @BeforeEach
+    void setUp() {
+        personDAO = new PersonDAOIndexed();
+        todoItemDAO = new TodoItemDAOIndexed();
+        todoItemTaskDAO = new TodoItemTaskDAOCollection();
+        references = new PersonReferences(personDAO, todoItemDAO, todoItemTaskDAO);
+
+        leaving = new Person(1, "John", "Doe", "john.doe@example.com");
+        staying = new Person(2, "Jane", "Doe", "jane.doe@example.com");
+        personDAO.persistAll(List.of(leaving, staying));
+        createdByLeaving = new TodoItem(1, "Handover", "Description", LocalDate.now().plusDays(7), leaving);
+        createdByStaying = new TodoItem(2, "Review", "Description", LocalDate.now().plusDays(7), staying);
+        todoItemDAO.persistAll(List.of(createdByLeaving, createdByStaying));
+        onLeavingsItem = new TodoItemTask(1, createdByLeaving, staying);
+        assignedToLeaving = new TodoItemTask(2, createdByStaying, leaving);
+        todoItemTaskDAO.persistAll(List.of(onLeavingsItem, assignedToLeaving));
+    }
+
+    @Test
+    void testFindReferences() {
+        assertEquals(List.of(createdByLeaving), List.copyOf(references.findCreatedItems(leaving.getId())));
+        assertEquals(List.of(assignedToLeaving), List.copyOf(references.findAssignedTasks(leaving.getId())));
+    }
+
+    @Test
+    void testCascadeRemovesItemsTheirTasksAndAssignedTasks() {
+        references.remove(leaving.getId(), ReferencePolicy.CASCADE);
+
+        assertNull(personDAO.findById(leaving.getId()));
+        assertEquals(List.of(createdByStaying), List.copyOf(todoItemDAO.findAll()));
+        assertTrue(todoItemTaskDAO.findAll().isEmpty());
+    }
+
+    @Test
+    void testReassignHandsReferencesToSuccessor() {
+        references.remove(leaving.getId(), ReferencePolicy.REASSIGN, staying);
+
+        assertNull(personDAO.findById(leaving.getId()));
+        assertSame(staying, createdByLeaving.getCreator());
+        assertSame(staying, assignedToLeaving.getAssignee());
+        assertEquals(2, todoItemDAO.findByPersonId(staying.getId()).size());
+        assertEquals(2, todoItemTaskDAO.findByPersonId(staying.getId()).size());
+        assertTrue(references.findAssignedTasks(leaving.getId()).isEmpty());
+    }
+
+    @Test
+    void testReassignRejectsMissingOrUnstoredSuccessor() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> references.remove(leaving.getId(), ReferencePolicy.REASSIGN));
+        assertEquals("Successor cannot be null.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> references.remove(leaving.getId(), ReferencePolicy.REASSIGN, leaving));
+        Person stranger = new Person(3, "Jim", "Doe", "jim.doe@example.com");
+        assertThrows(IllegalArgumentException.class,
+                () -> references.remove(leaving.getId(), ReferencePolicy.REASSIGN, stranger));
+
+        assertSame(leaving, personDAO.findById(leaving.getId()));
+        assertSame(leaving, assignedToLeaving.getAssignee());
+    }
+
+    @Test
+    void testNullifyUnassignsTasks() {
+        references.remove(staying.getId(), ReferencePolicy.CASCADE);
+        Person assigneeOnly = new Person(3, "Jim", "Doe", "jim.doe@example.com");
+        personDAO.persist(assigneeOnly);
+        TodoItemTask task = new TodoItemTask(3, createdByLeaving, assigneeOnly);
+        todoItemTaskDAO.persist(task);
+
+        references.remove(assigneeOnly.getId(), ReferencePolicy.NULLIFY);
+
+        assertNull(personDAO.findById(assigneeOnly.getId()));
+        assertNull(task.getAssignee());
+        assertEquals(List.of(task), List.copyOf(todoItemTaskDAO.findByAssignedStatus(false)));
+    }
+
+    @Test
+    void testNullifyRefusedWhileCreatorOfItems() {
+        assertThrows(IllegalStateException.class, () -> references.remove(leaving.getId(), ReferencePolicy.NULLIFY));
+
+        assertSame(leaving, personDAO.findById(leaving.getId()));
+        assertSame(leaving, assignedToLeaving.getAssignee());
+    }
+
+    @Test
+    void testNullArgumentsThrowException() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> new PersonReferences(null, todoItemDAO, todoItemTaskDAO));
+        assertEquals("PersonDAO cannot be null.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> references.remove(leaving.getId(), null));
+        assertEquals("Policy cannot be null.", exception.getMessage());
+    }
+}
@@ -1,4 +1,8 @@
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PersonTest {
@@ -76,6 +80,37 @@ public class PersonTest {
         assertEquals(appUser, person.getCredentials());
     }
 
+    @Test
+    void testSettersNotifyOwnerOnlyOnChange() {
+        Person person = new Person(5, "Jane", "Smith", "jane.smith@example.com");
+        List<String> changes = new ArrayList<>();
+        person.setOwner(new PersonOwner() {
+            @Override
+            public void firstNameChanging(Person changed, String firstName) {
+                changes.add(changed.getFirstName() + "->" + firstName);
+            }
+
+            @Override
+            public void lastNameChanging(Person changed, String lastName) {
+                throw new IllegalArgumentException("Vetoed.");
+            }
+
+            @Override
+            public void credentialsChanging(Person changed, AppUser credentials) {
+                changes.add("credentials");
+            }
+        });
+
+        person.setFirstName("Jane");
+        person.setFirstName("Janet");
+        assertThrows(IllegalArgumentException.class, () -> person.setLastName("Jones"));
+        person.setCredentials(null);
+        person.setCredentials(new AppUser("janet", "pass", AppRole.ROLE_APP_USER));
+
+        assertEquals(List.of("Jane->Janet", "credentials"), changes);
+        assertEquals("Smith", person.getLastName());
+    }
+
     @Test
     void testSetInvalidFirstName() {
         Person person = new Person(6, "Test", "User", "test.user@example.com");
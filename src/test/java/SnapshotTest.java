@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private PersonDAO personDAO;
+    private AppUserDAO appUserDAO;
+    private TodoItemDAO todoItemDAO;
+    private TodoItemTaskDAO todoItemTaskDAO;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("todo.snapshot");
+        personDAO = new PersonDAOIndexed();
+        appUserDAO = new AppUserDAOCollection();
+        todoItemDAO = new TodoItemDAOIndexed();
+        todoItemTaskDAO = new TodoItemTaskDAOCollection();
+    }
+
+    @Test
+    void testLoadRestoresEveryDAO() {
+        AppUser credentials = new AppUser("john", "secret", AppRole.ROLE_APP_ADMIN);
+        Person john = new Person(1, "John", "Doe", "john.doe@example.com", credentials);
+        Person jane = new Person(2, "Jane", "Smith", "jane.smith@example.com");
+        TodoItem item1 = new TodoItem(1, "Title 1", "Desc 1", LocalDate.now().plusDays(1), john);
+        TodoItem item2 = new TodoItem(2, "Title 2", null, LocalDate.of(1960, 1, 1), john);
+        item2.setDone(true);
+        appUserDAO.persist(credentials);
+        personDAO.persistAll(List.of(john, jane));
+        todoItemDAO.persistAll(List.of(item1, item2));
+        todoItemTaskDAO.persist(new TodoItemTask(1, item1, jane));
+        todoItemTaskDAO.persist(new TodoItemTask(2, item2, null));
+
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        PersonDAO loadedPeople = new PersonDAOConcurrent();
+        AppUserDAO loadedAppUsers = new AppUserDAOConcurrent();
+        TodoItemDAO loadedItems = new TodoItemDAOColumnar();
+        TodoItemTaskDAO loadedTasks = new TodoItemTaskDAOCollection();
+        Snapshot.load(file, loadedPeople, loadedAppUsers, loadedItems, loadedTasks);
+
+        assertEquals(credentials, loadedAppUsers.findByUsername("john"));
+        assertTrue(loadedAppUsers.findByUsername("john").verifyPassword("secret"));
+        assertEquals(2, loadedPeople.findAll().size());
+        Person loadedJohn = loadedPeople.findByEmail("john.doe@example.com");
+        assertSame(loadedAppUsers.findByUsername("john"), loadedJohn.getCredentials());
+        assertEquals(item1, loadedItems.findById(1));
+        assertEquals(item2, loadedItems.findById(2));
+        assertNull(loadedItems.findById(2).getDescription());
+        assertEquals(LocalDate.of(1960, 1, 1), loadedItems.findById(2).getDeadLine());
+        assertEquals(1, loadedItems.findAllByDoneStatus(true).size());
+        assertEquals(2, loadedItems.findByPersonId(1).size());
+        assertSame(loadedJohn, loadedTasks.findById(1).getTodoItem().getCreator(),
+                "Creators are linked to the stored person, not copied");
+        assertSame(loadedPeople.findById(2), loadedTasks.findById(1).getAssignee());
+        assertFalse(loadedTasks.findById(2).isAssigned());
+    }
+
+    @Test
+    void testReferencedEntitiesAreRestoredWithoutBeingStored() {
+        Person creator = new Person(7, "Only", "Creator", "only.creator@example.com");
+        TodoItem item = new TodoItem(3, "Task item", "Desc", LocalDate.now(), creator);
+        todoItemTaskDAO.persist(new TodoItemTask(1, item, creator));
+
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        PersonDAO loadedPeople = new PersonDAOIndexed();
+        TodoItemDAO loadedItems = new TodoItemDAOIndexed();
+        TodoItemTaskDAO loadedTasks = new TodoItemTaskDAOCollection();
+        Snapshot.load(file, loadedPeople, new AppUserDAOCollection(), loadedItems, loadedTasks);
+
+        assertTrue(loadedPeople.findAll().isEmpty());
+        assertTrue(loadedItems.findAll().isEmpty());
+        TodoItemTask task = loadedTasks.findById(1);
+        assertEquals(item, task.getTodoItem());
+        assertSame(task.getAssignee(), task.getTodoItem().getCreator());
+    }
+
+    @Test
+    void testWriteReplacesPreviousSnapshot() {
+        personDAO.persist(new Person(1, "John", "Doe", "john.doe@example.com"));
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        personDAO.persist(new Person(2, "Jane", "Smith", "jane.smith@example.com"));
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+
+        PersonDAO loadedPeople = new PersonDAOCollection();
+        Snapshot.load(file, loadedPeople, new AppUserDAOCollection(), new TodoItemDAOCollection(),
+                new TodoItemTaskDAOCollection());
+
+        assertEquals(2, loadedPeople.findAll().size());
+        assertFalse(Files.exists(file.resolveSibling("todo.snapshot.tmp")));
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejectedBeforeLoading() throws IOException {
+        personDAO.persist(new Person(1, "John", "Doe", "john.doe@example.com"));
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 12);
+        }
+
+        PersonDAO loadedPeople = new PersonDAOCollection();
+        Exception exception = assertThrows(IllegalStateException.class, () -> Snapshot.load(file, loadedPeople,
+                new AppUserDAOCollection(), new TodoItemDAOCollection(), new TodoItemTaskDAOCollection()));
+        assertEquals("Snapshot checksum mismatch.", exception.getMessage());
+        assertTrue(loadedPeople.findAll().isEmpty());
+    }
+
+    @Test
+    void testUnknownRoleCodeIsRejectedAsCorrupt() throws IOException {
+        appUserDAO.persist(new AppUser("john", "secret", AppRole.ROLE_APP_USER));
+        Snapshot.write(file, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[Integer.BYTES + 2] = (byte) 0xFF;
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - Integer.BYTES);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - Integer.BYTES, (int) crc.getValue());
+        Files.write(file, bytes);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> Snapshot.load(file,
+                new PersonDAOCollection(), new AppUserDAOCollection(), new TodoItemDAOCollection(),
+                new TodoItemTaskDAOCollection()));
+        assertEquals("Unknown role code 127.", exception.getMessage());
+    }
+
+    @Test
+    void testFileThatIsNotASnapshotIsRejected() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> Snapshot.load(file, personDAO,
+                appUserDAO, todoItemDAO, todoItemTaskDAO));
+        assertEquals("File is not a snapshot.", exception.getMessage());
+    }
+
+    @Test
+    void testNullArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Snapshot.write(null, personDAO, appUserDAO, todoItemDAO, todoItemTaskDAO));
+        assertThrows(IllegalArgumentException.class, () -> Snapshot.write(file, null, appUserDAO, todoItemDAO, todoItemTaskDAO));
+        assertThrows(IllegalArgumentException.class, () -> Snapshot.load(file, personDAO, null, todoItemDAO, todoItemTaskDAO));
+        assertThrows(IllegalArgumentException.class, () -> Snapshot.load(file, personDAO, appUserDAO, null, todoItemTaskDAO));
+        assertThrows(IllegalArgumentException.class, () -> Snapshot.load(file, personDAO, appUserDAO, todoItemDAO, null));
+    }
+}
@@ -1,11 +1,16 @@
-import com.todoapp.Person;
-import com.todoapp.TodoItem;
-import com.todoapp.sequencer.TodoItemIdSequencer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -166,6 +171,45 @@ public class TodoItemDAOCollectionTest {
         assertEquals(3, afterPastDate.size());
     }
 
+    @Test
+    void testFindByDeadlineBetween() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+        TodoItem item4 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 4", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+        todoItemDAO.persist(item4);
+
+        Collection<TodoItem> thisWeek = todoItemDAO.findByDeadlineBetween(today, today.plusDays(5));
+        assertEquals(3, thisWeek.size());
+        assertTrue(thisWeek.contains(item1));
+        assertTrue(thisWeek.contains(item3));
+        assertTrue(thisWeek.contains(item4));
+
+        Collection<TodoItem> singleDay = todoItemDAO.findByDeadlineBetween(today.plusDays(1), today.plusDays(1));
+        assertEquals(2, singleDay.size());
+
+        assertTrue(todoItemDAO.findByDeadlineBetween(today.plusDays(10), today.plusDays(20)).isEmpty());
+    }
+
+    @Test
+    void testFindByDeadlineBetweenInvalidRangeThrowsException() {
+        LocalDate today = LocalDate.now();
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(today, today.minusDays(1));
+        });
+        assertEquals("Start date cannot be after end date.", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(null, today);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
     @Test
     void testRemove() {
         TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
@@ -212,4 +256,146 @@ public class TodoItemDAOCollectionTest {
         });
         assertEquals("Date cannot be null.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamIsLazyOverLiveData() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        todoItemDAO.persist(item1);
+        Stream<TodoItem> stream = todoItemDAO.stream();
+        todoItemDAO.persist(item2);
+
+        assertEquals(2, stream.count());
+        assertEquals(List.of(item1), todoItemDAO.streamByTitleContains("title").limit(1).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamIgnoresWritesMadeDuringTraversal() {
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+
+        List<TodoItem> traversed = new ArrayList<>();
+        todoItemDAO.stream().forEach(item -> {
+            traversed.add(item);
+            todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Copy", "Desc", item.getDeadLine(), testCreator));
+        });
+
+        assertEquals(2, traversed.size());
+        assertEquals(4, todoItemDAO.findAll().size());
+    }
+
+    @Test
+    void testFindPageWalksAllItemsInDeadlineOrder() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        List<TodoItem> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title " + i, "Desc", LocalDate.now().plusDays(i % 4),
+                    i % 5 == 0 ? otherCreator : testCreator);
+            todoItemDAO.persist(item);
+            expected.add(item);
+        }
+        expected.sort(Comparator.comparing(TodoItem::getDeadLine).thenComparingInt(TodoItem::getId));
+
+        List<TodoItem> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            Page<TodoItem> page = todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 7);
+            assertTrue(page.getItems().size() <= 7);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        Page<TodoItem> firstPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, null, 3);
+        assertEquals(List.of(1, 6, 11), firstPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        Page<TodoItem> lastPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, firstPage.getNextCursor(), 3);
+        assertEquals(List.of(16, 21), lastPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    void testFindPageRejectsCursorOfAnotherOrder() {
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+        PageCursor cursor = todoItemDAO.findPage(PageOrder.ID, null, 1).getNextCursor();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 1);
+        });
+        assertEquals("Cursor was issued for a different order.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.findPage(PageOrder.ID, null, 0));
+    }
+
+    @Test
+    void testQueryAppliesEveryCriterion() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        LocalDate today = LocalDate.now();
+        TodoItem match = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(match);
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), otherCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(9), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Pay rent", "Desc", today.plusDays(1), testCreator));
+        TodoItem done = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(done);
+        done.setDone(true);
+
+        TodoItemQuery query = new TodoItemQuery()
+                .done(false)
+                .creatorId(testCreator.getId())
+                .deadlineBefore(today.plusDays(5))
+                .titleContains("Invoice");
+
+        assertEquals(List.of(match), todoItemDAO.query(query).collect(Collectors.toList()));
+        assertEquals(List.of(match), todoItemDAO.query(query.id(match.getId())).collect(Collectors.toList()));
+        assertEquals(0, todoItemDAO.query(query.deadlineAfter(today.plusDays(5))).count());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persistAll(List.of(item1, item2, item3));
+        assertEquals(3, todoItemDAO.findAll().size());
+
+        todoItemDAO.removeAll(List.of(item1.getId(), item3.getId(), 999));
+        assertEquals(List.of(item2), new ArrayList<>(todoItemDAO.findAll()));
+    }
+
+    @Test
+    void testPersistAllRejectsWholeBatchOnDuplicate() {
+        TodoItem stored = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(stored);
+        TodoItem fresh = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem sameId = new TodoItem(fresh.getId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persistAll(List.of(fresh, sameId));
+        });
+        assertEquals("TodoItem with this ID already exists.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.persistAll(List.of(fresh, stored)));
+        assertEquals(1, todoItemDAO.findAll().size());
+        assertNull(todoItemDAO.findById(fresh.getId()));
+    }
+
+    @Test
+    void testFindOverdueUsesClockAndSkipsDoneItems() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T12:00:00Z"), ZoneOffset.UTC);
+        todoItemDAO = new TodoItemDAOCollection(clock);
+        TodoItem dueToday = new TodoItem(TodoItemIdSequencer.nextId(), "Today", "", LocalDate.of(2026, 3, 10), testCreator);
+        TodoItem dueYesterday = new TodoItem(TodoItemIdSequencer.nextId(), "Yesterday", "", LocalDate.of(2026, 3, 9), testCreator);
+        TodoItem doneLastWeek = new TodoItem(TodoItemIdSequencer.nextId(), "Done", "", LocalDate.of(2026, 3, 3), testCreator);
+        doneLastWeek.setDone(true);
+        todoItemDAO.persistAll(List.of(dueToday, dueYesterday, doneLastWeek));
+
+        assertEquals(List.of(dueYesterday), new ArrayList<>(todoItemDAO.findOverdue()));
+        assertEquals(List.of(dueYesterday), todoItemDAO.streamOverdue().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testNullClockThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TodoItemDAOCollection(null));
+        assertEquals("Clock cannot be null.", exception.getMessage());
+    }
+}
@@ -0,0 +1,491 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoItemDAOColumnarTest {
+
+    private TodoItemDAOColumnar todoItemDAO;
+    private Person testCreator;
+
+    @BeforeEach
+    void setUp() {
+        todoItemDAO = new TodoItemDAOColumnar();
+        TodoItemIdSequencer.setCurrentId(0);
+        testCreator = new Person(1, "Test", "Creator", "test.creator@example.com");
+    }
+
+    @Test
+    void testPersistAndFindAll() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+
+        Collection<TodoItem> allItems = todoItemDAO.findAll();
+        assertEquals(2, allItems.size());
+        assertTrue(allItems.contains(item1));
+        assertTrue(allItems.contains(item2));
+    }
+
+    @Test
+    void testPersistDuplicateIdThrowsException() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persist(new TodoItem(item1.getId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+        });
+        assertEquals("TodoItem with this ID already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testFindById() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        assertEquals(item1, todoItemDAO.findById(item1.getId()));
+        assertNull(todoItemDAO.findById(999));
+    }
+
+    @Test
+    void testFindAllByDoneStatus() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        item2.setDone(true);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> doneItems = todoItemDAO.findAllByDoneStatus(true);
+        assertEquals(1, doneItems.size());
+        assertTrue(doneItems.contains(item2));
+
+        Collection<TodoItem> notDoneItems = todoItemDAO.findAllByDoneStatus(false);
+        assertEquals(2, notDoneItems.size());
+        assertTrue(notDoneItems.contains(item1));
+        assertTrue(notDoneItems.contains(item3));
+    }
+
+    @Test
+    void testFindByTitleContains() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy milk", "", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Walk dog", "", LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy bread", "", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> results = todoItemDAO.findByTitleContains("buy");
+        assertEquals(2, results.size());
+        assertTrue(results.contains(item1));
+        assertTrue(results.contains(item3));
+
+        results = todoItemDAO.findByTitleContains("dog");
+        assertEquals(1, results.size());
+        assertTrue(results.contains(item2));
+
+        results = todoItemDAO.findByTitleContains("nonexistent");
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testFindByPersonId() {
+        Person creator1 = new Person(10, "Creator", "One", "one@example.com");
+        Person creator2 = new Person(20, "Creator", "Two", "two@example.com");
+
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task A", "", LocalDate.now().plusDays(1), creator1);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task B", "", LocalDate.now().plusDays(2), creator2);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task C", "", LocalDate.now().plusDays(3), creator1);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> itemsByCreator1 = todoItemDAO.findByPersonId(creator1.getId());
+        assertEquals(2, itemsByCreator1.size());
+        assertTrue(itemsByCreator1.contains(item1));
+        assertTrue(itemsByCreator1.contains(item3));
+
+        Collection<TodoItem> itemsByCreator2 = todoItemDAO.findByPersonId(creator2.getId());
+        assertEquals(1, itemsByCreator2.size());
+        assertTrue(itemsByCreator2.contains(item2));
+
+        Collection<TodoItem> itemsByNonExistentCreator = todoItemDAO.findByPersonId(999);
+        assertTrue(itemsByNonExistentCreator.isEmpty());
+    }
+
+    @Test
+    void testFindByDeadlineBefore() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> beforeToday = todoItemDAO.findByDeadlineBefore(today);
+        assertEquals(1, beforeToday.size());
+        assertTrue(beforeToday.contains(item2));
+
+        Collection<TodoItem> beforeFutureDate = todoItemDAO.findByDeadlineBefore(today.plusDays(2));
+        assertEquals(2, beforeFutureDate.size());
+        assertTrue(beforeFutureDate.contains(item2));
+        assertTrue(beforeFutureDate.contains(item3));
+    }
+
+    @Test
+    void testFindByDeadlineAfter() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> afterToday = todoItemDAO.findByDeadlineAfter(today);
+        assertEquals(2, afterToday.size());
+        assertTrue(afterToday.contains(item1));
+        assertTrue(afterToday.contains(item3));
+
+        Collection<TodoItem> afterPastDate = todoItemDAO.findByDeadlineAfter(today.minusDays(3));
+        assertEquals(3, afterPastDate.size());
+    }
+
+    @Test
+    void testFindByDeadlineBetween() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+        TodoItem item4 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 4", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+        todoItemDAO.persist(item4);
+
+        Collection<TodoItem> thisWeek = todoItemDAO.findByDeadlineBetween(today, today.plusDays(5));
+        assertEquals(3, thisWeek.size());
+        assertTrue(thisWeek.contains(item1));
+        assertTrue(thisWeek.contains(item3));
+        assertTrue(thisWeek.contains(item4));
+
+        Collection<TodoItem> singleDay = todoItemDAO.findByDeadlineBetween(today.plusDays(1), today.plusDays(1));
+        assertEquals(2, singleDay.size());
+
+        assertTrue(todoItemDAO.findByDeadlineBetween(today.plusDays(10), today.plusDays(20)).isEmpty());
+    }
+
+    @Test
+    void testFindByDeadlineBetweenInvalidRangeThrowsException() {
+        LocalDate today = LocalDate.now();
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(today, today.minusDays(1));
+        });
+        assertEquals("Start date cannot be after end date.", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(null, today);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testRemove() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        assertEquals(1, todoItemDAO.findAll().size());
+
+        todoItemDAO.remove(item1.getId());
+        assertEquals(0, todoItemDAO.findAll().size());
+        assertNull(todoItemDAO.findById(item1.getId()));
+
+        todoItemDAO.remove(999); // Should not throw exception
+        assertEquals(0, todoItemDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistNullTodoItemThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persist(null);
+        });
+        assertEquals("TodoItem cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByTitleContainsNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByTitleContains(null);
+        });
+        assertEquals("Title cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByDeadlineBeforeNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBefore(null);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByDeadlineAfterNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineAfter(null);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testSettersOnViewsAndPersistedItemsWriteThrough() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", today.plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        TodoItem view = todoItemDAO.findById(item1.getId());
+        view.setDone(true);
+        view.setTitle("Renamed");
+        view.setDescription("New description");
+        item1.setDeadLine(today.minusDays(3));
+
+        TodoItem stored = todoItemDAO.findById(item1.getId());
+        assertTrue(stored.isDone());
+        assertEquals("Renamed", stored.getTitle());
+        assertEquals("New description", stored.getDescription());
+        assertEquals(today.minusDays(3), stored.getDeadLine());
+        assertEquals(1, todoItemDAO.findAllByDoneStatus(true).size());
+        assertEquals(1, todoItemDAO.findByDeadlineBefore(today).size());
+    }
+
+    @Test
+    void testRemoveKeepsRemainingRowsIntact() {
+        Person creator2 = new Person(20, "Creator", "Two", "two@example.com");
+        TodoItem[] items = new TodoItem[200];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new TodoItem(TodoItemIdSequencer.nextId(), "Task " + i, "", LocalDate.now().plusDays(i), i % 2 == 0 ? testCreator : creator2);
+            items[i].setDone(i % 3 == 0);
+            todoItemDAO.persist(items[i]);
+        }
+        for (int i = 0; i < items.length; i += 4) {
+            todoItemDAO.remove(items[i].getId());
+        }
+
+        assertEquals(150, todoItemDAO.findAll().size());
+        for (int i = 0; i < items.length; i++) {
+            TodoItem stored = todoItemDAO.findById(items[i].getId());
+            if (i % 4 == 0) {
+                assertNull(stored);
+            } else {
+                assertEquals(items[i], stored);
+                assertEquals(items[i].getCreator(), stored.getCreator());
+            }
+        }
+        assertEquals(50, todoItemDAO.findByPersonId(testCreator.getId()).size());
+        assertEquals(100, todoItemDAO.findByPersonId(creator2.getId()).size());
+        for (TodoItem done : todoItemDAO.findAllByDoneStatus(true)) {
+            assertTrue(done.isDone());
+        }
+        assertEquals(150, todoItemDAO.findAllByDoneStatus(true).size() + todoItemDAO.findAllByDoneStatus(false).size());
+    }
+
+    @Test
+    void testStaleViewDoesNotWriteToReinsertedId() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Original", "", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+        TodoItem staleView = todoItemDAO.findById(item1.getId());
+        todoItemDAO.remove(item1.getId());
+
+        todoItemDAO.persist(new TodoItem(item1.getId(), "Replacement", "", LocalDate.now().plusDays(1), testCreator));
+        staleView.setTitle("Stale write");
+        item1.setDone(true);
+
+        TodoItem stored = todoItemDAO.findById(item1.getId());
+        assertEquals("Replacement", stored.getTitle());
+        assertFalse(stored.isDone());
+    }
+
+    @Test
+    void testStreamsBuildViewsLazily() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy milk", "Desc 1", today.plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy bread", "Desc 2", today.plusDays(3), testCreator);
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        item2.setDone(true);
+
+        assertEquals(List.of(item2), todoItemDAO.streamByDoneStatus(true).collect(Collectors.toList()));
+        assertEquals(List.of(item1), todoItemDAO.streamByDeadlineBefore(today.plusDays(2)).collect(Collectors.toList()));
+        assertEquals(1, todoItemDAO.streamByTitleContains("BREAD").count());
+        assertEquals(item1, todoItemDAO.stream().findFirst().orElseThrow());
+    }
+
+    @Test
+    void testStreamFailsFastWhenRowsMove() {
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+
+        assertThrows(ConcurrentModificationException.class, () ->
+                todoItemDAO.stream().forEach(item -> todoItemDAO.remove(item.getId())));
+    }
+
+    @Test
+    void testFindPageWalksAllItemsInDeadlineOrder() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        List<TodoItem> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title " + i, "Desc", LocalDate.now().plusDays(i % 4),
+                    i % 5 == 0 ? otherCreator : testCreator);
+            todoItemDAO.persist(item);
+            expected.add(item);
+        }
+        expected.sort(Comparator.comparing(TodoItem::getDeadLine).thenComparingInt(TodoItem::getId));
+
+        List<TodoItem> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            Page<TodoItem> page = todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 7);
+            assertTrue(page.getItems().size() <= 7);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        Page<TodoItem> firstPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, null, 3);
+        assertEquals(List.of(1, 6, 11), firstPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        Page<TodoItem> lastPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, firstPage.getNextCursor(), 3);
+        assertEquals(List.of(16, 21), lastPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    void testFindPageRejectsCursorOfAnotherOrder() {
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+        PageCursor cursor = todoItemDAO.findPage(PageOrder.ID, null, 1).getNextCursor();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 1);
+        });
+        assertEquals("Cursor was issued for a different order.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.findPage(PageOrder.ID, null, 0));
+    }
+
+    @Test
+    void testQueryAppliesEveryCriterion() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        LocalDate today = LocalDate.now();
+        TodoItem match = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(match);
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), otherCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(9), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Pay rent", "Desc", today.plusDays(1), testCreator));
+        TodoItem done = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(done);
+        done.setDone(true);
+
+        TodoItemQuery query = new TodoItemQuery()
+                .done(false)
+                .creatorId(testCreator.getId())
+                .deadlineBefore(today.plusDays(5))
+                .titleContains("Invoice");
+
+        assertEquals(List.of(match), todoItemDAO.query(query).collect(Collectors.toList()));
+        assertEquals(List.of(match), todoItemDAO.query(query.id(match.getId())).collect(Collectors.toList()));
+        assertEquals(0, todoItemDAO.query(query.deadlineAfter(today.plusDays(5))).count());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persistAll(List.of(item1, item2, item3));
+        assertEquals(3, todoItemDAO.findAll().size());
+
+        todoItemDAO.removeAll(List.of(item1.getId(), item3.getId(), 999));
+        assertEquals(List.of(item2), new ArrayList<>(todoItemDAO.findAll()));
+    }
+
+    @Test
+    void testPersistAllRejectsWholeBatchOnDuplicate() {
+        TodoItem stored = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(stored);
+        TodoItem fresh = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem sameId = new TodoItem(fresh.getId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persistAll(List.of(fresh, sameId));
+        });
+        assertEquals("TodoItem with this ID already exists.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.persistAll(List.of(fresh, stored)));
+        assertEquals(1, todoItemDAO.findAll().size());
+        assertNull(todoItemDAO.findById(fresh.getId()));
+    }
+
+    @Test
+    void testFindOverdueUsesClockAndSkipsDoneItems() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T12:00:00Z"), ZoneOffset.UTC);
+        todoItemDAO = new TodoItemDAOColumnar(clock);
+        TodoItem dueToday = new TodoItem(TodoItemIdSequencer.nextId(), "Today", "", LocalDate.of(2026, 3, 10), testCreator);
+        TodoItem dueYesterday = new TodoItem(TodoItemIdSequencer.nextId(), "Yesterday", "", LocalDate.of(2026, 3, 9), testCreator);
+        TodoItem doneLastWeek = new TodoItem(TodoItemIdSequencer.nextId(), "Done", "", LocalDate.of(2026, 3, 3), testCreator);
+        doneLastWeek.setDone(true);
+        todoItemDAO.persistAll(List.of(dueToday, dueYesterday, doneLastWeek));
+
+        assertEquals(List.of(dueYesterday), new ArrayList<>(todoItemDAO.findOverdue()));
+        assertEquals(List.of(dueYesterday), todoItemDAO.streamOverdue().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testNullClockThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TodoItemDAOColumnar(null));
+        assertEquals("Clock cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testReadViewIsNotAffectedByLaterWrites() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.of(2026, 3, 1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.of(2026, 3, 2), testCreator);
+        todoItemDAO.persistAll(List.of(item1, item2));
+        ReadView<TodoItem> view = todoItemDAO.readView();
+
+        item1.setTitle("Changed");
+        item1.setDone(true);
+        todoItemDAO.remove(item2.getId());
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "", LocalDate.of(2026, 3, 3), testCreator));
+
+        List<TodoItem> rows = new ArrayList<>(view);
+        assertEquals(2, rows.size());
+        assertEquals("Title 1", rows.get(0).getTitle());
+        assertFalse(rows.get(0).isDone());
+        assertEquals(item2.getId(), rows.get(1).getId());
+        assertEquals(LocalDate.of(2026, 3, 2), rows.get(1).getDeadLine());
+
+        rows.get(0).setTitle("Detached");
+        assertEquals("Changed", todoItemDAO.findById(item1.getId()).getTitle());
+        assertTrue(todoItemDAO.readView().version() > view.version());
+        assertEquals(2, todoItemDAO.readView().size());
+    }
+}
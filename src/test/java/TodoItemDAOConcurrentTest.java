@@ -0,0 +1,558 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoItemDAOConcurrentTest {
+
+    private TodoItemDAOConcurrent todoItemDAO;
+    private Person testCreator;
+
+    @BeforeEach
+    void setUp() {
+        todoItemDAO = new TodoItemDAOConcurrent();
+        TodoItemIdSequencer.setCurrentId(0);
+        testCreator = new Person(1, "Test", "Creator", "test.creator@example.com");
+    }
+
+    @Test
+    void testPersistAndFindAll() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+
+        Collection<TodoItem> allItems = todoItemDAO.findAll();
+        assertEquals(2, allItems.size());
+        assertTrue(allItems.contains(item1));
+        assertTrue(allItems.contains(item2));
+    }
+
+    @Test
+    void testPersistDuplicateIdThrowsException() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persist(new TodoItem(item1.getId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+        });
+        assertEquals("TodoItem with this ID already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testFindById() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        assertEquals(item1, todoItemDAO.findById(item1.getId()));
+        assertNull(todoItemDAO.findById(999));
+    }
+
+    @Test
+    void testFindAllByDoneStatus() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        item2.setDone(true);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> doneItems = todoItemDAO.findAllByDoneStatus(true);
+        assertEquals(1, doneItems.size());
+        assertTrue(doneItems.contains(item2));
+
+        Collection<TodoItem> notDoneItems = todoItemDAO.findAllByDoneStatus(false);
+        assertEquals(2, notDoneItems.size());
+        assertTrue(notDoneItems.contains(item1));
+        assertTrue(notDoneItems.contains(item3));
+    }
+
+    @Test
+    void testFindByTitleContains() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy milk", "", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Walk dog", "", LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Buy bread", "", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> results = todoItemDAO.findByTitleContains("buy");
+        assertEquals(2, results.size());
+        assertTrue(results.contains(item1));
+        assertTrue(results.contains(item3));
+
+        results = todoItemDAO.findByTitleContains("dog");
+        assertEquals(1, results.size());
+        assertTrue(results.contains(item2));
+
+        results = todoItemDAO.findByTitleContains("nonexistent");
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testFindByPersonId() {
+        Person creator1 = new Person(10, "Creator", "One", "one@example.com");
+        Person creator2 = new Person(20, "Creator", "Two", "two@example.com");
+
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task A", "", LocalDate.now().plusDays(1), creator1);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task B", "", LocalDate.now().plusDays(2), creator2);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task C", "", LocalDate.now().plusDays(3), creator1);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> itemsByCreator1 = todoItemDAO.findByPersonId(creator1.getId());
+        assertEquals(2, itemsByCreator1.size());
+        assertTrue(itemsByCreator1.contains(item1));
+        assertTrue(itemsByCreator1.contains(item3));
+
+        Collection<TodoItem> itemsByCreator2 = todoItemDAO.findByPersonId(creator2.getId());
+        assertEquals(1, itemsByCreator2.size());
+        assertTrue(itemsByCreator2.contains(item2));
+
+        Collection<TodoItem> itemsByNonExistentCreator = todoItemDAO.findByPersonId(999);
+        assertTrue(itemsByNonExistentCreator.isEmpty());
+    }
+
+    @Test
+    void testFindByDeadlineBefore() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> beforeToday = todoItemDAO.findByDeadlineBefore(today);
+        assertEquals(1, beforeToday.size());
+        assertTrue(beforeToday.contains(item2));
+
+        Collection<TodoItem> beforeFutureDate = todoItemDAO.findByDeadlineBefore(today.plusDays(2));
+        assertEquals(2, beforeFutureDate.size());
+        assertTrue(beforeFutureDate.contains(item2));
+        assertTrue(beforeFutureDate.contains(item3));
+    }
+
+    @Test
+    void testFindByDeadlineAfter() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+
+        Collection<TodoItem> afterToday = todoItemDAO.findByDeadlineAfter(today);
+        assertEquals(2, afterToday.size());
+        assertTrue(afterToday.contains(item1));
+        assertTrue(afterToday.contains(item3));
+
+        Collection<TodoItem> afterPastDate = todoItemDAO.findByDeadlineAfter(today.minusDays(3));
+        assertEquals(3, afterPastDate.size());
+    }
+
+    @Test
+    void testFindByDeadlineBetween() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 1", "", today.plusDays(5), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 2", "", today.minusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 3", "", today.plusDays(1), testCreator);
+        TodoItem item4 = new TodoItem(TodoItemIdSequencer.nextId(), "Task 4", "", today.plusDays(1), testCreator);
+
+        todoItemDAO.persist(item1);
+        todoItemDAO.persist(item2);
+        todoItemDAO.persist(item3);
+        todoItemDAO.persist(item4);
+
+        Collection<TodoItem> thisWeek = todoItemDAO.findByDeadlineBetween(today, today.plusDays(5));
+        assertEquals(3, thisWeek.size());
+        assertTrue(thisWeek.contains(item1));
+        assertTrue(thisWeek.contains(item3));
+        assertTrue(thisWeek.contains(item4));
+
+        Collection<TodoItem> singleDay = todoItemDAO.findByDeadlineBetween(today.plusDays(1), today.plusDays(1));
+        assertEquals(2, singleDay.size());
+
+        assertTrue(todoItemDAO.findByDeadlineBetween(today.plusDays(10), today.plusDays(20)).isEmpty());
+    }
+
+    @Test
+    void testFindByDeadlineBetweenInvalidRangeThrowsException() {
+        LocalDate today = LocalDate.now();
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(today, today.minusDays(1));
+        });
+        assertEquals("Start date cannot be after end date.", exception.getMessage());
+
+        exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBetween(null, today);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testRemove() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(item1);
+
+        assertEquals(1, todoItemDAO.findAll().size());
+
+        todoItemDAO.remove(item1.getId());
+        assertEquals(0, todoItemDAO.findAll().size());
+        assertNull(todoItemDAO.findById(item1.getId()));
+
+        todoItemDAO.remove(999); // Should not throw exception
+        assertEquals(0, todoItemDAO.findAll().size());
+    }
+
+    @Test
+    void testPersistNullTodoItemThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persist(null);
+        });
+        assertEquals("TodoItem cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByTitleContainsNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByTitleContains(null);
+        });
+        assertEquals("Title cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByDeadlineBeforeNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineBefore(null);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testFindByDeadlineAfterNullThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findByDeadlineAfter(null);
+        });
+        assertEquals("Date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void testConcurrentWritersKeepIndexesConsistent() throws Exception {
+        int threads = 8;
+        int itemsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < itemsPerThread; i++) {
+                    TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Task " + i, "", LocalDate.now().plusDays(i % 7), testCreator);
+                    todoItemDAO.persist(item);
+                    if (i % 2 == 0) {
+                        item.setDone(true);
+                    }
+                    if (i % 5 == 0) {
+                        todoItemDAO.remove(item.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int expected = threads * (itemsPerThread - itemsPerThread / 5);
+        assertEquals(expected, todoItemDAO.findAll().size());
+        assertEquals(expected, todoItemDAO.findByPersonId(testCreator.getId()).size());
+        assertEquals(expected, todoItemDAO.findAllByDoneStatus(true).size() + todoItemDAO.findAllByDoneStatus(false).size());
+        assertEquals(expected, todoItemDAO.findByDeadlineAfter(LocalDate.now().minusDays(1)).size());
+        for (TodoItem item : todoItemDAO.findAllByDoneStatus(true)) {
+            assertTrue(item.isDone());
+        }
+    }
+
+    @Test
+    void testRacingSettersLeaveFieldsAndIndexesInStep() throws Exception {
+        LocalDate today = LocalDate.now();
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Race", "", today, testCreator);
+                todoItemDAO.persist(item);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    boolean even = t % 2 == 0;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 50; i++) {
+                            item.setDone(even);
+                            item.setDeadLine(today.plusDays(even ? 1 : 2));
+                            item.setCreator(even ? testCreator : otherCreator);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                LocalDate deadLine = item.getDeadLine();
+                assertTrue(todoItemDAO.findAllByDoneStatus(item.isDone()).contains(item));
+                assertFalse(todoItemDAO.findAllByDoneStatus(!item.isDone()).contains(item));
+                assertTrue(todoItemDAO.findByDeadlineBetween(deadLine, deadLine).contains(item));
+                assertTrue(todoItemDAO.findByPersonId(item.getCreator().getId()).contains(item));
+                todoItemDAO.remove(item.getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSetDoneAndSetDeadLineMoveItemBetweenIndexes() {
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", today.plusDays(5), testCreator);
+        todoItemDAO.persist(item1);
+
+        item1.setDone(true);
+        item1.setDeadLine(today.minusDays(1));
+        assertTrue(todoItemDAO.findAllByDoneStatus(true).contains(item1));
+        assertTrue(todoItemDAO.findAllByDoneStatus(false).isEmpty());
+        assertTrue(todoItemDAO.findByDeadlineBefore(today).contains(item1));
+        assertTrue(todoItemDAO.findByDeadlineAfter(today).isEmpty());
+
+        todoItemDAO.remove(item1.getId());
+        assertTrue(todoItemDAO.findAllByDoneStatus(true).isEmpty());
+        assertTrue(todoItemDAO.findByDeadlineBefore(today).isEmpty());
+    }
+
+    @Test
+    void testStreamToleratesModificationDuringTraversal() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 10; i++) {
+            todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title " + i, "Desc", today.plusDays(i), testCreator));
+        }
+
+        todoItemDAO.streamByDeadlineAfter(today).forEach(item -> todoItemDAO.remove(item.getId()));
+
+        assertEquals(1, todoItemDAO.stream().count());
+        assertEquals(1, todoItemDAO.streamByPersonId(testCreator.getId()).count());
+    }
+
+    @Test
+    void testFindPageWalksAllItemsInDeadlineOrder() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        List<TodoItem> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TodoItem item = new TodoItem(TodoItemIdSequencer.nextId(), "Title " + i, "Desc", LocalDate.now().plusDays(i % 4),
+                    i % 5 == 0 ? otherCreator : testCreator);
+            todoItemDAO.persist(item);
+            expected.add(item);
+        }
+        expected.sort(Comparator.comparing(TodoItem::getDeadLine).thenComparingInt(TodoItem::getId));
+
+        List<TodoItem> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            Page<TodoItem> page = todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 7);
+            assertTrue(page.getItems().size() <= 7);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        Page<TodoItem> firstPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, null, 3);
+        assertEquals(List.of(1, 6, 11), firstPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        Page<TodoItem> lastPage = todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.ID, firstPage.getNextCursor(), 3);
+        assertEquals(List.of(16, 21), lastPage.getItems().stream().map(TodoItem::getId).collect(Collectors.toList()));
+        assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    void testFindPageByPersonIdInDeadlineOrderFollowsChanges() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        LocalDate today = LocalDate.now();
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc", today.plusDays(3), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc", today.plusDays(1), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc", today.plusDays(2), otherCreator);
+        TodoItem item4 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 4", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persistAll(List.of(item1, item2, item3, item4));
+
+        item2.setDeadLine(today.plusDays(4));
+        item3.setCreator(testCreator);
+        item4.setCreator(otherCreator);
+
+        Page<TodoItem> first = todoItemDAO.findPageByPersonId(testCreator.getId(), PageOrder.DEADLINE, null, 2);
+        Page<TodoItem> second = todoItemDAO.findPageByPersonId(testCreator.getId(), PageOrder.DEADLINE,
+                first.getNextCursor(), 2);
+        assertEquals(List.of(item3, item1), first.getItems());
+        assertEquals(List.of(item2), second.getItems());
+        assertFalse(second.hasNext());
+        assertEquals(List.of(item4), todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.DEADLINE, null, 5).getItems());
+
+        todoItemDAO.remove(item4.getId());
+        assertTrue(todoItemDAO.findPageByPersonId(otherCreator.getId(), PageOrder.DEADLINE, null, 5).getItems().isEmpty());
+    }
+
+    @Test
+    void testFindPageRejectsCursorOfAnotherOrder() {
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator));
+        PageCursor cursor = todoItemDAO.findPage(PageOrder.ID, null, 1).getNextCursor();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.findPage(PageOrder.DEADLINE, cursor, 1);
+        });
+        assertEquals("Cursor was issued for a different order.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.findPage(PageOrder.ID, null, 0));
+    }
+
+    @Test
+    void testQueryAppliesEveryCriterion() {
+        Person otherCreator = new Person(2, "Other", "Creator", "other.creator@example.com");
+        LocalDate today = LocalDate.now();
+        TodoItem match = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(match);
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), otherCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(9), testCreator));
+        todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "Pay rent", "Desc", today.plusDays(1), testCreator));
+        TodoItem done = new TodoItem(TodoItemIdSequencer.nextId(), "Send invoice", "Desc", today.plusDays(1), testCreator);
+        todoItemDAO.persist(done);
+        done.setDone(true);
+
+        TodoItemQuery query = new TodoItemQuery()
+                .done(false)
+                .creatorId(testCreator.getId())
+                .deadlineBefore(today.plusDays(5))
+                .titleContains("Invoice");
+
+        assertEquals(List.of(match), todoItemDAO.query(query).collect(Collectors.toList()));
+        assertEquals(List.of(match), todoItemDAO.query(query.id(match.getId())).collect(Collectors.toList()));
+        assertEquals(0, todoItemDAO.query(query.deadlineAfter(today.plusDays(5))).count());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        TodoItem item1 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        TodoItem item2 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem item3 = new TodoItem(TodoItemIdSequencer.nextId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        todoItemDAO.persistAll(List.of(item1, item2, item3));
+        assertEquals(3, todoItemDAO.findAll().size());
+
+        todoItemDAO.removeAll(List.of(item1.getId(), item3.getId(), 999));
+        assertEquals(List.of(item2), new ArrayList<>(todoItemDAO.findAll()));
+    }
+
+    @Test
+    void testPersistAllRejectsWholeBatchOnDuplicate() {
+        TodoItem stored = new TodoItem(TodoItemIdSequencer.nextId(), "Title 1", "Desc 1", LocalDate.now().plusDays(1), testCreator);
+        todoItemDAO.persist(stored);
+        TodoItem fresh = new TodoItem(TodoItemIdSequencer.nextId(), "Title 2", "Desc 2", LocalDate.now().plusDays(2), testCreator);
+        TodoItem sameId = new TodoItem(fresh.getId(), "Title 3", "Desc 3", LocalDate.now().plusDays(3), testCreator);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            todoItemDAO.persistAll(List.of(fresh, sameId));
+        });
+        assertEquals("TodoItem with this ID already exists.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> todoItemDAO.persistAll(List.of(fresh, stored)));
+        assertEquals(1, todoItemDAO.findAll().size());
+        assertNull(todoItemDAO.findById(fresh.getId()));
+    }
+
+    @Test
+    void testFindOverdueFollowsDayRolloverAndSetters() {
+        AdjustableClock clock = new AdjustableClock(LocalDate.of(2026, 3, 10));
+        todoItemDAO = new TodoItemDAOConcurrent(clock);
+        TodoItem dueToday = new TodoItem(TodoItemIdSequencer.nextId(), "Today", "", LocalDate.of(2026, 3, 10), testCreator);
+        TodoItem dueYesterday = new TodoItem(TodoItemIdSequencer.nextId(), "Yesterday", "", LocalDate.of(2026, 3, 9), testCreator);
+        TodoItem doneLastWeek = new TodoItem(TodoItemIdSequencer.nextId(), "Done", "", LocalDate.of(2026, 3, 3), testCreator);
+        doneLastWeek.setDone(true);
+        todoItemDAO.persistAll(List.of(dueToday, dueYesterday, doneLastWeek));
+
+        assertEquals(List.of(dueYesterday), new ArrayList<>(todoItemDAO.findOverdue()));
+
+        clock.advance(Duration.ofHours(23));
+        assertEquals(1, todoItemDAO.streamOverdue().count());
+        clock.advance(Duration.ofHours(1));
+        assertEquals(Set.of(dueToday, dueYesterday), Set.copyOf(todoItemDAO.findOverdue()));
+
+        dueYesterday.setDone(true);
+        dueToday.setDeadLine(LocalDate.of(2026, 3, 12));
+        assertTrue(todoItemDAO.findOverdue().isEmpty());
+
+        doneLastWeek.setDone(false);
+        assertEquals(List.of(doneLastWeek), new ArrayList<>(todoItemDAO.findOverdue()));
+
+        todoItemDAO.remove(doneLastWeek.getId());
+        assertTrue(todoItemDAO.findOverdue().isEmpty());
+    }
+
+    @Test
+    void testReadViewStaysConsistentWhileWritersContinue() throws Exception {
+        List<TodoItem> initial = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            initial.add(new TodoItem(TodoItemIdSequencer.nextId(), "Title " + i, "", LocalDate.now(), testCreator));
+        }
+        todoItemDAO.persistAll(initial);
+        ReadView<TodoItem> view = todoItemDAO.readView();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> remover = executor.submit(() -> {
+                for (TodoItem todoItem : initial) {
+                    todoItemDAO.remove(todoItem.getId());
+                }
+            });
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    todoItemDAO.persist(new TodoItem(TodoItemIdSequencer.nextId(), "New", "", LocalDate.now(), testCreator));
+                }
+            });
+            for (int pass = 0; pass < 20; pass++) {
+                assertEquals(initial, new ArrayList<>(view));
+            }
+            remover.get();
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1_000, view.size());
+        ReadView<TodoItem> after = todoItemDAO.readView();
+        assertEquals(1_000, after.size());
+        assertTrue(after.version() > view.version());
+        assertTrue(after.stream().noneMatch(initial::contains));
+    }
+}
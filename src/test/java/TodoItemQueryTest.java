@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoItemQueryTest {
+
+    private final Person creator = new Person(1, "Test", "Creator", "test.creator@example.com");
+
+    @Test
+    void testMatchesAllCriteria() {
+        LocalDate today = LocalDate.now();
+        TodoItem item = new TodoItem(1, "Send invoice", "Desc", today.plusDays(2), creator);
+        TodoItemQuery query = new TodoItemQuery()
+                .done(false)
+                .creatorId(1)
+                .deadlineBefore(today.plusDays(3))
+                .titleContains("INVOICE");
+
+        assertTrue(query.matches(item, query.criteria()));
+        assertFalse(query.creatorId(2).matches(item, query.criteria()));
+        assertFalse(query.done(true).matches(item, query.criteria()));
+    }
+
+    @Test
+    void testDeadlineBoundsNarrowTheRange() {
+        LocalDate today = LocalDate.now();
+        TodoItemQuery query = new TodoItemQuery()
+                .deadlineAfter(today)
+                .deadlineBetween(today.minusDays(10), today.plusDays(5))
+                .deadlineBefore(today.plusDays(20));
+
+        assertEquals(today.plusDays(1).toEpochDay(), query.getFromDay());
+        assertEquals(today.plusDays(5).toEpochDay(), query.getToDay());
+    }
+
+    @Test
+    void testQueriesAreImmutable() {
+        TodoItemQuery empty = new TodoItemQuery();
+        TodoItemQuery open = empty.done(false);
+
+        assertTrue(empty.criteria().isEmpty());
+        assertEquals(1, open.criteria().size());
+        assertEquals("TodoItemQuery{done = false}", open.toString());
+    }
+
+    @Test
+    void testNullTitleThrowsException() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            new TodoItemQuery().titleContains(null);
+        });
+        assertEquals("Title cannot be null.", exception.getMessage());
+    }
+}
@@ -2,6 +2,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,4 +128,93 @@ public class TodoItemTaskDAOCollectionTest {
         });
         assertEquals("TodoItemTask cannot be null.", exception.getMessage());
     }
+
+    @Test
+    void testSetAssigneeMovesStoredTaskBetweenIndexes() {
+        Person assignee1 = new Person(10, "Assignee", "One", "one@example.com");
+        Person assignee2 = new Person(20, "Assignee", "Two", "two@example.com");
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, null);
+        todoItemTaskDAO.persist(task1);
+
+        task1.setAssignee(assignee1);
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(false).isEmpty());
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(true).contains(task1));
+        assertTrue(todoItemTaskDAO.findByPersonId(assignee1.getId()).contains(task1));
+
+        task1.setAssignee(assignee2);
+        assertTrue(todoItemTaskDAO.findByPersonId(assignee1.getId()).isEmpty());
+        assertTrue(todoItemTaskDAO.findByPersonId(assignee2.getId()).contains(task1));
+
+        task1.setAssignee(null);
+        assertTrue(todoItemTaskDAO.findByPersonId(assignee2.getId()).isEmpty());
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(true).isEmpty());
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(false).contains(task1));
+    }
+
+    @Test
+    void testRemovedTaskNoLongerUpdatesIndexes() {
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, null);
+        todoItemTaskDAO.persist(task1);
+        todoItemTaskDAO.remove(task1.getId());
+
+        task1.setAssignee(testCreator);
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(true).isEmpty());
+        assertTrue(todoItemTaskDAO.findByPersonId(testCreator.getId()).isEmpty());
+    }
+
+    @Test
+    void testStreamsFollowIndexes() {
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, null);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, testCreator);
+        todoItemTaskDAO.persist(task1);
+        todoItemTaskDAO.persist(task2);
+
+        assertEquals(2, todoItemTaskDAO.stream().count());
+        assertEquals(task1, todoItemTaskDAO.streamByAssignedStatus(false).findFirst().orElseThrow());
+        assertEquals(task2, todoItemTaskDAO.streamByPersonId(testCreator.getId()).findFirst().orElseThrow());
+    }
+
+    @Test
+    void testFindPageByPersonIdContinuesAfterCursor() {
+        for (int i = 0; i < 5; i++) {
+            todoItemTaskDAO.persist(new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, i % 2 == 0 ? testCreator : null));
+        }
+
+        Page<TodoItemTask> first = todoItemTaskDAO.findPageByPersonId(testCreator.getId(), null, 2);
+        Page<TodoItemTask> second = todoItemTaskDAO.findPageByPersonId(testCreator.getId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of(1, 3), first.getItems().stream().map(TodoItemTask::getId).collect(Collectors.toList()));
+        assertEquals(List.of(5), second.getItems().stream().map(TodoItemTask::getId).collect(Collectors.toList()));
+        assertFalse(second.hasNext());
+        assertEquals(5, todoItemTaskDAO.findPage(null, 10).getItems().size());
+    }
+
+    @Test
+    void testPersistAllAndRemoveAll() {
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, null);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, testCreator);
+
+        todoItemTaskDAO.persistAll(List.of(task1, task2));
+        assertEquals(task2, todoItemTaskDAO.findByPersonId(testCreator.getId()).iterator().next());
+        assertThrows(IllegalArgumentException.class, () -> todoItemTaskDAO.persistAll(List.of(task1)));
+
+        todoItemTaskDAO.removeAll(List.of(task1.getId(), task2.getId()));
+        assertTrue(todoItemTaskDAO.findAll().isEmpty());
+        assertTrue(todoItemTaskDAO.findByAssignedStatus(true).isEmpty());
+    }
+
+    @Test
+    void testFindByTodoItemIdFollowsMovedAndRemovedTasks() {
+        TodoItem otherTodoItem = new TodoItem(2, "Other Task", "Description", LocalDate.now().plusDays(7), testCreator);
+        TodoItemTask task1 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, null);
+        TodoItemTask task2 = new TodoItemTask(TodoItemTaskSequencer.nextId(), testTodoItem, testCreator);
+        todoItemTaskDAO.persistAll(List.of(task1, task2));
+
+        task1.setTodoItem(otherTodoItem);
+        assertEquals(List.of(task2), List.copyOf(todoItemTaskDAO.findByTodoItemId(testTodoItem.getId())));
+        assertEquals(List.of(task1), List.copyOf(todoItemTaskDAO.findByTodoItemId(otherTodoItem.getId())));
+
+        todoItemTaskDAO.remove(task2.getId());
+        assertTrue(todoItemTaskDAO.findByTodoItemId(testTodoItem.getId()).isEmpty());
+    }
 }
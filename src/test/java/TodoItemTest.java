@@ -139,6 +139,15 @@ public class TodoItemTest {
         assertFalse(todayItem.isOverdue());
     }
 
+    @Test
+    void testIsOverdueOnGivenDate() {
+        TodoItem todoItem = new TodoItem(12, "Task", "", LocalDate.of(2026, 3, 10), createTestPerson());
+
+        assertFalse(todoItem.isOverdue(LocalDate.of(2026, 3, 10)));
+        assertTrue(todoItem.isOverdue(LocalDate.of(2026, 3, 11)));
+        assertThrows(IllegalArgumentException.class, () -> todoItem.isOverdue(null));
+    }
+
     @Test
     void testToString() {
         Person creator = createTestPerson();
@@ -0,0 +1,308 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> replay(WriteAheadLog log) {
+        List<String> records = new ArrayList<>();
+        log.replay(record -> {
+            byte[] payload = new byte[record.remaining()];
+            record.get(payload);
+            records.add(new String(payload, StandardCharsets.UTF_8));
+        });
+        return records;
+    }
+
+    @Test
+    void testReplayReturnsRecordsInAppendOrder() {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.ALWAYS)) {
+            log.awaitDurable(log.append(bytes("first")));
+            log.awaitDurable(log.append(bytes("second")));
+            assertTrue(replay(log).isEmpty(), "Records appended since opening are not replayed");
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("first", "second"), replay(log));
+        }
+    }
+
+    @Test
+    void testCloseWritesRecordsNobodyWaitedFor() {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.ALWAYS)) {
+            log.append(bytes("queued"));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.ALWAYS)) {
+            assertEquals(List.of("queued"), replay(log));
+        }
+    }
+
+    @Test
+    void testTornTailIsTruncatedOnOpen() throws IOException {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            log.append(bytes("kept"));
+            log.append(bytes("torn"));
+        }
+        long intactSize = WriteAheadLog.HEADER_BYTES + 4;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 2);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("kept"), replay(log));
+            assertEquals(intactSize, Files.size(file));
+            log.append(bytes("after"));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("kept", "after"), replay(log));
+        }
+    }
+
+    @Test
+    void testChecksumMismatchEndsReplay() throws IOException {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            log.append(bytes("kept"));
+            log.append(bytes("flipped"));
+            log.append(bytes("lost"));
+        }
+        long flippedPayload = 2L * WriteAheadLog.HEADER_BYTES + 4;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("F")), flippedPayload);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("kept"), replay(log));
+        }
+    }
+
+    @Test
+    void testOneFsyncCoversEveryQueuedRecord() {
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve("todo.wal"), FsyncPolicy.ALWAYS)) {
+            long first = log.append(bytes("first"));
+            long second = log.append(bytes("second"));
+            long third = log.append(bytes("third"));
+
+            log.awaitDurable(third);
+            log.awaitDurable(first);
+            log.awaitDurable(second);
+
+            assertEquals(1, log.syncCount());
+        }
+    }
+
+    @Test
+    void testConcurrentWritersShareFsyncs() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        Path file = directory.resolve("todo.wal");
+        WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.ALWAYS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    log.awaitDurable(log.append(bytes(thread + ":" + i)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertTrue(log.syncCount() <= threads * perThread);
+        log.close();
+        try (WriteAheadLog reopened = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            List<String> records = replay(reopened);
+            assertEquals(threads * perThread, records.size());
+            for (int t = 0; t < threads; t++) {
+                List<String> own = new ArrayList<>();
+                for (String record : records) {
+                    if (record.startsWith(t + ":")) {
+                        own.add(record);
+                    }
+                }
+                for (int i = 0; i < perThread; i++) {
+                    assertEquals(t + ":" + i, own.get(i), "Each writer's records keep their order");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIntervalPolicyKeepsRecordsAcrossReopen() {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.INTERVAL, 5)) {
+            log.awaitDurable(log.append(bytes("first")));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.INTERVAL, 5)) {
+            assertEquals(List.of("first"), replay(log));
+        }
+    }
+
+    @Test
+    void testAbortedRecordsAreSkippedOnReplay() {
+        Path file = directory.resolve("todo.wal");
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            try (WriteAheadLog log = new WriteAheadLog(file, policy)) {
+                log.append(bytes("kept"));
+                long rejected = log.append(bytes("rejected"));
+                log.abort(rejected);
+                assertThrows(IllegalArgumentException.class, () -> log.abort(rejected));
+                long last = log.append(bytes("last"));
+                assertThrows(IllegalArgumentException.class, () -> log.abort(last - 1));
+            }
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("kept", "last", "kept", "last", "kept", "last"), replay(log));
+        }
+    }
+
+    @Test
+    void testRejectedLastRecordIsSkippedOnReplay() {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            log.append(bytes("first"));
+            log.append(bytes("refused"));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            List<String> records = new ArrayList<>();
+            log.replay(record -> {
+                String text = StandardCharsets.UTF_8.decode(record).toString();
+                if (text.equals("refused")) {
+                    throw new RejectedRecordException(new IllegalArgumentException("Refused."));
+                }
+                records.add(text);
+            });
+            assertEquals(List.of("first"), records);
+        }
+    }
+
+    @Test
+    void testOtherReplayFailuresPropagate() {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            log.append(bytes("first"));
+            log.append(bytes("refused"));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertThrows(IllegalArgumentException.class, () -> log.replay(record -> {
+                if (StandardCharsets.UTF_8.decode(record).toString().equals("refused")) {
+                    throw new IllegalArgumentException("Corrupt.");
+                }
+            }));
+            assertThrows(RejectedRecordException.class, () -> log.replay(record -> {
+                if (StandardCharsets.UTF_8.decode(record).toString().equals("first")) {
+                    throw new RejectedRecordException(new IllegalArgumentException("Refused."));
+                }
+            }));
+        }
+    }
+
+    @Test
+    void testInterruptedWriterKeepsTheLogUsable() throws Exception {
+        Path file = directory.resolve("todo.wal");
+        for (FsyncPolicy policy : FsyncPolicy.values()) {
+            try (WriteAheadLog log = new WriteAheadLog(file, policy)) {
+                AtomicBoolean stillInterrupted = new AtomicBoolean();
+                Thread writer = new Thread(() -> {
+                    Thread.currentThread().interrupt();
+                    log.awaitDurable(log.append(bytes(policy.name())));
+                    stillInterrupted.set(Thread.currentThread().isInterrupted());
+                });
+                writer.start();
+                writer.join();
+
+                assertTrue(stillInterrupted.get());
+                log.awaitDurable(log.append(bytes("after")));
+            }
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertEquals(List.of("ALWAYS", "after", "INTERVAL", "after", "NEVER", "after"), replay(log));
+        }
+    }
+
+    @Test
+    void testWriterInterruptedDuringWritesKeepsTheLogUsable() throws Exception {
+        Path file = directory.resolve("todo.wal");
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.ALWAYS)) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    log.awaitDurable(log.append(bytes("record " + i)));
+                }
+            });
+            writer.start();
+            while (writer.isAlive()) {
+                writer.interrupt();
+                Thread.sleep(1);
+            }
+            log.awaitDurable(log.append(bytes("after")));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            List<String> records = replay(log);
+            assertEquals(201, records.size());
+            assertEquals("record 199", records.get(199));
+        }
+    }
+
+    @Test
+    void testAppendAfterCloseThrowsException() {
+        WriteAheadLog log = new WriteAheadLog(directory.resolve("todo.wal"), FsyncPolicy.ALWAYS);
+        log.close();
+        log.close();
+
+        assertThrows(IllegalStateException.class, () -> log.append(bytes("late")));
+    }
+
+    @Test
+    void testInvalidArgumentsThrowException() {
+        Path file = directory.resolve("todo.wal");
+        assertThrows(IllegalArgumentException.class, () -> new WriteAheadLog(null, FsyncPolicy.ALWAYS));
+        assertThrows(IllegalArgumentException.class, () -> new WriteAheadLog(file, null));
+        assertThrows(IllegalArgumentException.class, () -> new WriteAheadLog(file, FsyncPolicy.INTERVAL, 0));
+        try (WriteAheadLog log = new WriteAheadLog(file, FsyncPolicy.NEVER)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(null));
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[0]));
+            assertThrows(IllegalArgumentException.class, () -> log.replay(null));
+        }
+    }
+
+    @Test
+    void testUnopenableFileThrowsUncheckedIOException() {
+        Path file = directory.resolve("missing").resolve("todo.wal");
+
+        assertThrows(UncheckedIOException.class, () -> new WriteAheadLog(file, FsyncPolicy.ALWAYS));
+    }
+}